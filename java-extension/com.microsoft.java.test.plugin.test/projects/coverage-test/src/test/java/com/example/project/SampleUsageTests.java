@@ -0,0 +1,27 @@
+package com.example.project;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SampleUsageTests {
+
+    @Test
+    void testGetFoo() {
+        assertNotNull(Sample.getFoo());
+    }
+
+    @Test
+    void testNothing() {
+        assertTrue(true);
+    }
+
+    @Test
+    void testAdded() {
+        assertNotNull(new Sample());
+    }
+
+    void helper() {
+    }
+}
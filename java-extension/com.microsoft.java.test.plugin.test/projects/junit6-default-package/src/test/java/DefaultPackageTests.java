@@ -0,0 +1,8 @@
+import org.junit.jupiter.api.Test;
+
+class DefaultPackageTests {
+
+    @Test
+    void test() {
+    }
+}
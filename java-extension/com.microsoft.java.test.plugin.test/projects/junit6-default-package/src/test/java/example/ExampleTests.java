@@ -0,0 +1,10 @@
+package example;
+
+import org.junit.jupiter.api.Test;
+
+class ExampleTests {
+
+    @Test
+    void test() {
+    }
+}
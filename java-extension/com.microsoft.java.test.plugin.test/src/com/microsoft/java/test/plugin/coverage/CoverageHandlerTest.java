@@ -12,18 +12,39 @@
 package com.microsoft.java.test.plugin.coverage;
 
 import com.microsoft.java.test.plugin.AbstractProjectsManagerBasedTest;
+import com.microsoft.java.test.plugin.coverage.model.CoverageSummary;
 import com.microsoft.java.test.plugin.coverage.model.LineCoverage;
 import com.microsoft.java.test.plugin.coverage.model.MethodCoverage;
 import com.microsoft.java.test.plugin.coverage.model.SourceFileCoverage;
 
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.ls.core.internal.ProjectUtils;
+import org.jacoco.core.analysis.Analyzer;
+import org.jacoco.core.analysis.CoverageBuilder;
+import org.jacoco.core.analysis.IClassCoverage;
+import org.jacoco.core.data.ExecutionData;
+import org.jacoco.core.data.ExecutionDataStore;
+import org.jacoco.core.data.ExecutionDataWriter;
+import org.jacoco.core.data.SessionInfo;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 public class CoverageHandlerTest extends AbstractProjectsManagerBasedTest {
@@ -46,4 +67,134 @@ public class CoverageHandlerTest extends AbstractProjectsManagerBasedTest {
         }
     }
 
+    @Test
+    public void testGetCoverageSummary() throws Exception {
+        importProjects(Collections.singleton("coverage-test"));
+        final IJavaProject javaProject = ProjectUtils.getJavaProject("coverage-test");
+        final String basePath = javaProject.getProject().getLocation().toFile().getAbsolutePath();
+        final CoverageHandler coverageHandler = new CoverageHandler(javaProject, basePath);
+        final List<CoverageSummary> packageSummaries = coverageHandler.getCoverageSummary(
+                new NullProgressMonitor());
+        for (final CoverageSummary packageSummary : packageSummaries) {
+            assertNotNull(packageSummary.getChildren());
+            for (final CoverageSummary classSummary : packageSummary.getChildren()) {
+                assertTrue(classSummary.getName().startsWith(packageSummary.getName()));
+                assertTrue(classSummary.getInstructionCounter().getCovered() <=
+                        packageSummary.getInstructionCounter().getCovered());
+                for (final CoverageSummary methodSummary : classSummary.getChildren()) {
+                    assertNull(methodSummary.getChildren());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFindSourceFileFromIndex() throws Exception {
+        importProjects(Collections.singleton("coverage-test"));
+        final IJavaProject javaProject = ProjectUtils.getJavaProject("coverage-test");
+        final IPath sourceRoot = javaProject.getProject().getFolder("src/main/java").getLocation();
+        final List<IPath> sourceRoots = Collections.singletonList(sourceRoot);
+
+        final File sourceFile = SourceFileIndex.findSourceFile(sourceRoots, "com/example/project", "Sample.java");
+        assertNotNull(sourceFile);
+        assertEquals(sourceRoot.append("com/example/project/Sample.java").toFile(), sourceFile);
+        assertNull(SourceFileIndex.findSourceFile(sourceRoots, "com/example/project", "Missing.java"));
+    }
+
+    @Test
+    public void testSourceFileIndexUpdatedOnSourceFileAdded() throws Exception {
+        importProjects(Collections.singleton("coverage-test"));
+        final IJavaProject javaProject = ProjectUtils.getJavaProject("coverage-test");
+        final IFolder sourceFolder = javaProject.getProject().getFolder("src/main/java");
+        final List<IPath> sourceRoots = Collections.singletonList(sourceFolder.getLocation());
+        assertNull(SourceFileIndex.findSourceFile(sourceRoots, "com/example/project", "Added.java"));
+
+        final IFile addedFile = sourceFolder.getFile("com/example/project/Added.java");
+        addedFile.create(new ByteArrayInputStream("package com.example.project;\nclass Added {}\n".getBytes()),
+                true, new NullProgressMonitor());
+        waitForBackgroundJobs();
+        assertEquals(addedFile.getLocation().toFile(),
+                SourceFileIndex.findSourceFile(sourceRoots, "com/example/project", "Added.java"));
+    }
+
+    @Test
+    public void testGetTestsCovering() throws Exception {
+        importProjects(Collections.singleton("coverage-test"));
+        final IJavaProject javaProject = ProjectUtils.getJavaProject("coverage-test");
+        final File classFile = javaProject.getProject().getFolder("target/classes")
+                .getFile("com/example/project/Sample.class").getLocation().toFile();
+        final CoverageBuilder coverageBuilder = new CoverageBuilder();
+        new Analyzer(new ExecutionDataStore(), coverageBuilder).analyzeAll(classFile);
+        final IClassCoverage classCoverage = coverageBuilder.getClasses().iterator().next();
+
+        // every probe of the class is hit, the array may be longer than the probes of the class
+        final boolean[] probes = new boolean[1024];
+        Arrays.fill(probes, true);
+        final ExecutionData executionData = new ExecutionData(classCoverage.getId(), classCoverage.getName(), probes);
+        final Path reportBasePath = Files.createTempDirectory("coverage-test");
+        try (OutputStream out = new FileOutputStream(reportBasePath.resolve("jacoco-tests.exec").toFile())) {
+            final ExecutionDataWriter writer = new ExecutionDataWriter(out);
+            writer.visitSessionInfo(new SessionInfo("com.example.project.SampleTests#testSample", 0, 0));
+            writer.visitClassExecution(executionData);
+            writer.visitSessionInfo(new SessionInfo("com.example.project.SampleTests#testNothing", 0, 0));
+            // a later run of the test which covers nothing replaces its earlier session
+            writer.visitSessionInfo(new SessionInfo("com.example.project.SampleTests#testRerun", 0, 0));
+            writer.visitClassExecution(executionData);
+            writer.visitSessionInfo(new SessionInfo("com.example.project.SampleTests#testRerun", 1, 1));
+        }
+
+        final CoverageHandler coverageHandler = new CoverageHandler(javaProject, reportBasePath.toString());
+        final String sourceUri = javaProject.getProject().getFile("src/main/java/com/example/project/Sample.java")
+                .getLocationURI().toString();
+        assertEquals(Collections.singletonList("com.example.project.SampleTests#testSample"),
+                coverageHandler.getTestsCovering(sourceUri, 11, false, new NullProgressMonitor()));
+        assertEquals(Collections.singletonList("com.example.project.SampleTests#testSample"),
+                coverageHandler.getTestsCovering(sourceUri, 12, true, new NullProgressMonitor()));
+        assertTrue(coverageHandler.getTestsCovering(sourceUri, 1, false, new NullProgressMonitor()).isEmpty());
+    }
+
+    @Test
+    public void testMergeInvocationsOfSameRun() throws Exception {
+        importProjects(Collections.singleton("coverage-test"));
+        final IJavaProject javaProject = ProjectUtils.getJavaProject("coverage-test");
+        final ExecutionData sampleData = createFullyCoveredData(javaProject, "Sample.class");
+        final ExecutionData fooData = createFullyCoveredData(javaProject, "Sample$Foo.class");
+        final Path reportBasePath = Files.createTempDirectory("coverage-test");
+        try (OutputStream out = new FileOutputStream(reportBasePath.resolve("jacoco-tests.exec").toFile())) {
+            final ExecutionDataWriter writer = new ExecutionDataWriter(out);
+            // the invocations of a parameterized test in the same run have the same name and run start time
+            writer.visitSessionInfo(new SessionInfo("com.example.project.SampleTests#test(int)", 1, 1));
+            writer.visitClassExecution(sampleData);
+            writer.visitSessionInfo(new SessionInfo("com.example.project.SampleTests#test(int)", 1, 2));
+            writer.visitClassExecution(fooData);
+            // the session of an earlier run appended later is ignored
+            writer.visitSessionInfo(new SessionInfo("com.example.project.SampleTests#test(int)", 0, 3));
+        }
+
+        final CoverageHandler coverageHandler = new CoverageHandler(javaProject, reportBasePath.toString());
+        final String sourceUri = javaProject.getProject().getFile("src/main/java/com/example/project/Sample.java")
+                .getLocationURI().toString();
+        final List<String> expected = Collections.singletonList("com.example.project.SampleTests#test(int)");
+        // covered by the first invocation
+        assertEquals(expected, coverageHandler.getTestsCovering(sourceUri, 11, false, new NullProgressMonitor()));
+        // covered by the second invocation
+        assertEquals(expected, coverageHandler.getTestsCovering(sourceUri, 32, false, new NullProgressMonitor()));
+        assertEquals(2, coverageHandler.getCoveredClassesByTest().get(expected.get(0)).size());
+    }
+
+    /**
+     * Create the execution data where every probe of the class is hit.
+     */
+    private static ExecutionData createFullyCoveredData(IJavaProject javaProject, String classFileName)
+            throws Exception {
+        final File classFile = javaProject.getProject().getFolder("target/classes")
+                .getFile("com/example/project/" + classFileName).getLocation().toFile();
+        final CoverageBuilder coverageBuilder = new CoverageBuilder();
+        new Analyzer(new ExecutionDataStore(), coverageBuilder).analyzeAll(classFile);
+        final IClassCoverage classCoverage = coverageBuilder.getClasses().iterator().next();
+        // the array may be longer than the probes of the class
+        final boolean[] probes = new boolean[1024];
+        Arrays.fill(probes, true);
+        return new ExecutionData(classCoverage.getId(), classCoverage.getName(), probes);
+    }
 }
@@ -0,0 +1,37 @@
+/*******************************************************************************
+* Copyright (c) 2026 Microsoft Corporation and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License v1.0
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v10.html
+*
+* Contributors:
+*     Microsoft Corporation - initial API and implementation
+*******************************************************************************/
+
+
+package com.microsoft.java.test.plugin.coverage;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class MethodDescriptorsTest {
+
+    @Test
+    public void testGetDisplayName() {
+        assertEquals("foo()", MethodDescriptors.getDisplayName("foo", "()V"));
+        assertEquals("foo(int, List, String[])",
+                MethodDescriptors.getDisplayName("foo", "(ILjava/util/List;[Ljava/lang/String;)V"));
+        assertEquals("foo(int[][], long, Inner)",
+                MethodDescriptors.getDisplayName("foo", "([[IJLp/Outer$Inner;)Z"));
+    }
+
+    @Test
+    public void testGetDisplayNameWithInvalidDescriptor() {
+        assertEquals("foo", MethodDescriptors.getDisplayName("foo", "(Q)V"));
+        assertEquals("foo", MethodDescriptors.getDisplayName("foo", "(Ljava/lang/String"));
+        // the invalid descriptor is cached
+        assertEquals("bar", MethodDescriptors.getDisplayName("bar", "(Q)V"));
+    }
+}
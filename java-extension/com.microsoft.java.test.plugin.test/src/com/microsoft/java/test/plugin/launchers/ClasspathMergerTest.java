@@ -0,0 +1,68 @@
+/*******************************************************************************
+* Copyright (c) 2026 Microsoft Corporation and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License v1.0
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v10.html
+*
+* Contributors:
+*     Microsoft Corporation - initial API and implementation
+*******************************************************************************/
+
+package com.microsoft.java.test.plugin.launchers;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class ClasspathMergerTest {
+
+    @Test
+    public void testMergeCompatibleClasspaths() {
+        final ClasspathMerger merger = new ClasspathMerger();
+        assertTrue(merger.add(new String[] { "/a/bin", "/repo/junit-4.13.2.jar", "/repo/hamcrest-core-1.3.jar" }));
+        assertTrue(merger.add(new String[] { "/b/bin", "/repo/junit-4.13.2.jar", "/repo/guava-32.1.2-jre.jar" }));
+
+        assertArrayEquals(new String[] { "/a/bin", "/repo/junit-4.13.2.jar", "/repo/hamcrest-core-1.3.jar",
+            "/b/bin", "/repo/guava-32.1.2-jre.jar" }, merger.getClasspath());
+    }
+
+    @Test
+    public void testRejectConflictingVersions() {
+        final ClasspathMerger merger = new ClasspathMerger();
+        assertTrue(merger.add(new String[] { "/a/bin", "/repo/guava-31.0-jre.jar" }));
+        assertFalse(merger.add(new String[] { "/b/bin", "/repo/guava-32.1.2-jre.jar" }));
+
+        assertArrayEquals(new String[] { "/a/bin", "/repo/guava-31.0-jre.jar" }, merger.getClasspath());
+    }
+
+    @Test
+    public void testRejectDuplicateClassesInOutputFolders() throws IOException {
+        final Path root = Files.createTempDirectory("classpath-merger");
+        final String shared = createClassFile(root, "shared", "com/example/Util.class");
+        final String a = createClassFile(root, "a", "com/example/FooTest.class");
+        final String b = createClassFile(root, "b", "com/example/BarTest.class");
+        final String c = createClassFile(root, "c", "com/example/FooTest.class");
+
+        final ClasspathMerger merger = new ClasspathMerger();
+        assertTrue(merger.add(new String[] { a, shared }));
+        // the output folder of a dependency shared by both projects is not a duplicate
+        assertTrue(merger.add(new String[] { b, shared }));
+        assertFalse(merger.add(new String[] { c }));
+
+        assertArrayEquals(new String[] { a, shared, b }, merger.getClasspath());
+    }
+
+    private static String createClassFile(Path root, String folder, String classFile) throws IOException {
+        final Path path = root.resolve(folder).resolve(classFile);
+        Files.createDirectories(path.getParent());
+        Files.write(path, new byte[0]);
+        return root.resolve(folder).toString();
+    }
+}
@@ -11,10 +11,16 @@
 
 package com.microsoft.java.test.plugin.launchers;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
 
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -82,4 +88,116 @@ public class JUnitLaunchConfigurationDelegateTest extends AbstractProjectsManage
         assertEquals("--add-opens", vmArguments.get(vmArguments.indexOf(secondPackageOpen) - 1));
     }
 
+    @Test
+    public void testProjectLevelLaunchUsesPackageNameFile() throws Exception {
+        final IProject project = importProjects("junit6-nested").get(0);
+
+        final Map<String, Object> request = new LinkedHashMap<>();
+        request.put("projectName", project.getName());
+        request.put("testLevel", 3);
+        request.put("testKind", 3);
+        request.put("testNames", Arrays.asList());
+
+        final Response<JUnitLaunchArguments> response = JUnitLaunchUtils.resolveLaunchArgument(
+                Arrays.asList(new Gson().toJson(request)), new NullProgressMonitor());
+
+        assertEquals(0, response.getStatus());
+        final List<String> programArguments = Arrays.asList(response.getBody().programArguments);
+        final int index = programArguments.indexOf("-packageNameFile");
+        assertTrue(index >= 0);
+        assertFalse(programArguments.contains("-testNameFile"));
+        assertEquals(Arrays.asList("example"), Files.readAllLines(Paths.get(programArguments.get(index + 1))));
+    }
+
+    @Test
+    public void testDefaultPackageSelectsAllPackages() throws Exception {
+        final IProject project = importProjects("junit6-default-package").get(0);
+
+        final Map<String, Object> request = new LinkedHashMap<>();
+        request.put("projectName", project.getName());
+        request.put("testLevel", 3);
+        request.put("testKind", 3);
+        request.put("testNames", Arrays.asList());
+
+        final Response<JUnitLaunchArguments> response = JUnitLaunchUtils.resolveLaunchArgument(
+                Arrays.asList(new Gson().toJson(request)), new NullProgressMonitor());
+
+        assertEquals(0, response.getStatus());
+        final List<String> programArguments = Arrays.asList(response.getBody().programArguments);
+        final int index = programArguments.indexOf("-packageNameFile");
+        assertTrue(index >= 0);
+        // the default package is written as an empty line, and its sub packages are skipped
+        assertEquals(Arrays.asList(""), Files.readAllLines(Paths.get(programArguments.get(index + 1))));
+    }
+
+    @Test
+    public void testResolveLaunchArgumentsForMultipleRequests() throws Exception {
+        final IProject project = importProjects("modular-junit").get(0);
+        final IJavaProject javaProject = JavaCore.create(project);
+        final IType firstTest = javaProject.findType("p1.FirstTest");
+        final IType secondTest = javaProject.findType("p2.SecondTest");
+
+        final List<Map<String, Object>> requests = new ArrayList<>();
+        for (final IType type : Arrays.asList(firstTest, secondTest)) {
+            final Map<String, Object> request = new LinkedHashMap<>();
+            request.put("projectName", javaProject.getElementName());
+            request.put("testLevel", 5);
+            request.put("testKind", 0);
+            request.put("testNames", Arrays.asList(type.getFullyQualifiedName()));
+            requests.add(request);
+        }
+        final Map<String, Object> invalidRequest = new LinkedHashMap<>(requests.get(0));
+        invalidRequest.put("projectName", "notExist");
+        requests.add(invalidRequest);
+
+        final List<Response<JUnitLaunchArguments>> responses = JUnitLaunchUtils.resolveLaunchArguments(
+                Arrays.asList(new Gson().toJson(requests)), new NullProgressMonitor());
+
+        assertEquals(3, responses.size());
+        assertEquals(0, responses.get(0).getStatus());
+        assertEquals(0, responses.get(1).getStatus());
+        // the requests for the same project share the classpath, but not the arrays
+        assertArrayEquals(responses.get(0).getBody().classpath, responses.get(1).getBody().classpath);
+        assertNotSame(responses.get(0).getBody().classpath, responses.get(1).getBody().classpath);
+        assertEquals(1, responses.get(2).getStatus());
+    }
+
+    @Test
+    public void testResolveJUnitPlatformLauncherArguments() throws Exception {
+        final IProject project = importProjects("junit6-nested").get(0);
+
+        final Map<String, Object> request = new LinkedHashMap<>();
+        request.put("projectName", project.getName());
+        request.put("testLevel", 3);
+        request.put("testKind", 3);
+        request.put("testNames", Arrays.asList());
+        request.put("launcher", JUnitLaunchUtils.JUNIT_PLATFORM_LAUNCHER);
+
+        final Response<JUnitLaunchArguments> response = JUnitLaunchUtils.resolveLaunchArgument(
+                Arrays.asList(new Gson().toJson(request)), new NullProgressMonitor());
+
+        assertEquals(0, response.getStatus());
+        assertEquals("com.microsoft.java.test.runner.Launcher", response.getBody().mainClass);
+        // the tests are passed by the client
+        assertEquals(0, response.getBody().programArguments.length);
+        assertTrue(Arrays.stream(response.getBody().classpath).anyMatch(path -> path.contains("junit.platform")));
+    }
+
+    @Test
+    public void testRejectJUnitPlatformLauncherForJUnit4() throws Exception {
+        final IProject invisibleProject = copyAndImportFolder("simple", "src/App.java");
+
+        final Map<String, Object> request = new LinkedHashMap<>();
+        request.put("projectName", invisibleProject.getName());
+        request.put("testLevel", 5);
+        request.put("testKind", 1);
+        request.put("testNames", Arrays.asList("App"));
+        request.put("launcher", JUnitLaunchUtils.JUNIT_PLATFORM_LAUNCHER);
+
+        final Response<JUnitLaunchArguments> response = JUnitLaunchUtils.resolveLaunchArgument(
+                Arrays.asList(new Gson().toJson(request)), new NullProgressMonitor());
+
+        assertEquals(1, response.getStatus());
+    }
+
 }
@@ -0,0 +1,95 @@
+/*******************************************************************************
+* Copyright (c) 2026 Microsoft Corporation and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License v1.0
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v10.html
+*
+* Contributors:
+*     Microsoft Corporation - initial API and implementation
+*******************************************************************************/
+
+package com.microsoft.java.test.plugin.util;
+
+import com.google.gson.Gson;
+import com.microsoft.java.test.plugin.AbstractProjectsManagerBasedTest;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.ls.core.internal.ProjectUtils;
+import org.eclipse.jdt.ls.core.internal.preferences.ClientPreferences;
+import org.eclipse.lsp4j.CreateFile;
+import org.eclipse.lsp4j.ResourceOperation;
+import org.eclipse.lsp4j.TextDocumentEdit;
+import org.eclipse.lsp4j.WorkspaceEdit;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class BulkTestGenerationUtilsTest extends AbstractProjectsManagerBasedTest {
+
+    private IType sampleType;
+
+    @Before
+    public void setup() throws Exception {
+        final ClientPreferences clientPreferences = initPreferenceManager(true);
+        Mockito.lenient().when(clientPreferences.isResourceOperationSupported()).thenReturn(true);
+        importProjects(Collections.singleton("coverage-test"));
+        final IJavaProject javaProject = ProjectUtils.getJavaProject("coverage-test");
+        sampleType = javaProject.findType("com.example.project.Sample");
+        assertNotNull(sampleType);
+    }
+
+    @Test
+    public void testGenerateTestsForPackage() throws Exception {
+        final Map<String, Object> policy = new HashMap<>();
+        policy.put("handlerId", sampleType.getPackageFragment().getHandleIdentifier());
+        final WorkspaceEdit edit = BulkTestGenerationUtils.generateTestsInBulk(
+                Collections.singletonList(new Gson().toJson(policy)), new NullProgressMonitor());
+
+        assertNotNull(edit);
+        final List<Either<TextDocumentEdit, ResourceOperation>> changes = edit.getDocumentChanges();
+        assertEquals(2, changes.size());
+        final CreateFile createFile = (CreateFile) changes.get(0).getRight();
+        assertTrue(createFile.getUri().endsWith("src/test/java/com/example/project/SampleTest.java"));
+        final String content = changes.get(1).getLeft().getEdits().get(0).getNewText();
+        assertTrue(content.contains("class SampleTest"));
+        assertTrue(content.contains("org.junit.jupiter.api.Test"));
+        assertTrue(content.contains("testGetFoo()"));
+        assertTrue(content.contains("testSample()"));
+        assertTrue(content.contains("testToArray()"));
+    }
+
+    @Test
+    public void testSkipExistingTests() throws Exception {
+        final Map<String, Object> policy = new HashMap<>();
+        policy.put("handlerId", sampleType.getPackageFragment().getHandleIdentifier());
+        // SampleTests already exists
+        policy.put("namePattern", "${className}Tests");
+        final WorkspaceEdit edit = BulkTestGenerationUtils.generateTestsInBulk(
+                Collections.singletonList(new Gson().toJson(policy)), new NullProgressMonitor());
+
+        assertNull(edit);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectNamePatternWithoutClassName() throws Exception {
+        final Map<String, Object> policy = new HashMap<>();
+        policy.put("handlerId", sampleType.getPackageFragment().getHandleIdentifier());
+        policy.put("namePattern", "SampleTest");
+        BulkTestGenerationUtils.generateTestsInBulk(Collections.singletonList(new Gson().toJson(policy)),
+                new NullProgressMonitor());
+    }
+}
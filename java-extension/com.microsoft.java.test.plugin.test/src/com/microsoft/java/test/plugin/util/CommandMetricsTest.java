@@ -0,0 +1,68 @@
+/*******************************************************************************
+* Copyright (c) 2026 Microsoft Corporation and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License v1.0
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v10.html
+*
+* Contributors:
+*     Microsoft Corporation - initial API and implementation
+*******************************************************************************/
+
+package com.microsoft.java.test.plugin.util;
+
+import com.microsoft.java.test.plugin.model.Response;
+import com.microsoft.java.test.plugin.util.CommandMetrics.CommandSummary;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CommandMetricsTest {
+
+    @Test
+    public void testGetResultSize() {
+        assertEquals(0, CommandMetrics.getResultSize(null));
+        assertEquals(3, CommandMetrics.getResultSize(Arrays.asList("a", "b", "c")));
+        assertEquals(2, CommandMetrics.getResultSize(new String[] { "a", "b" }));
+        assertEquals(1, CommandMetrics.getResultSize(new Response<>(Collections.singletonList("a"), null)));
+        assertEquals(1, CommandMetrics.getResultSize("a"));
+    }
+
+    @Test
+    public void testGetBucket() {
+        assertEquals(0, CommandMetrics.getBucket(0));
+        assertEquals(1, CommandMetrics.getBucket(1));
+        assertEquals(3, CommandMetrics.getBucket(5));
+        assertEquals(16, CommandMetrics.getBucket(100000));
+    }
+
+    @Test
+    public void testGetCommandMetrics() {
+        CommandMetrics.getCommandMetrics(Collections.singletonList("{\"reset\":true}"), new NullProgressMonitor());
+
+        CommandMetrics.start("test.command").finish(Arrays.asList("a", "b"), false, false);
+        CommandMetrics.start("test.command").finish(null, true, false);
+        CommandMetrics.start("test.command").finish(null, false, true);
+
+        final List<CommandSummary> summaries = CommandMetrics.getCommandMetrics(
+                Collections.singletonList("{\"reset\":true}"), new NullProgressMonitor());
+        assertEquals(1, summaries.size());
+        final CommandSummary summary = summaries.get(0);
+        assertEquals("test.command", summary.commandId);
+        assertEquals(3, summary.count);
+        assertEquals(1, summary.cancellations);
+        assertEquals(1, summary.failures);
+        assertEquals(2, summary.totalResultSize);
+        assertEquals(3, Arrays.stream(summary.histogram).sum());
+        assertTrue(summary.p50Millis <= summary.p99Millis || summary.p99Millis == -1);
+
+        assertTrue(CommandMetrics.getCommandMetrics(null, new NullProgressMonitor()).isEmpty());
+    }
+}
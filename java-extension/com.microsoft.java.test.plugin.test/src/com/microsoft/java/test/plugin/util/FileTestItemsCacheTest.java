@@ -0,0 +1,179 @@
+/*******************************************************************************
+* Copyright (c) 2026 Microsoft Corporation and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License v1.0
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v10.html
+*
+* Contributors:
+*     Microsoft Corporation - initial API and implementation
+*******************************************************************************/
+
+package com.microsoft.java.test.plugin.util;
+
+import com.microsoft.java.test.plugin.handler.CompilationUnitUpdateHandler;
+import com.microsoft.java.test.plugin.model.JavaTestItem;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IMethod;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class FileTestItemsCacheTest {
+
+    private static final String KEY = "file:";
+
+    @After
+    public void tearDown() {
+        FileTestItemsCache.clear();
+        TestNavigationIndex.invalidateAll();
+    }
+
+    @Test
+    public void testConcurrentRequestsShareOneComputation() throws Exception {
+        final ICompilationUnit unit = mockUnit("=test/src<foo{FooTest.java");
+        final AtomicInteger computations = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<JavaTestItem> items = Collections.singletonList(new JavaTestItem());
+        final FileTestItemsCache.Finder finder = () -> {
+            computations.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return items;
+        };
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<List<JavaTestItem>>> results = new ArrayList<>();
+            final Callable<List<JavaTestItem>> request = () -> FileTestItemsCache.get(unit, KEY, finder,
+                    new NullProgressMonitor());
+            results.add(executor.submit(request));
+            started.await(10, TimeUnit.SECONDS);
+            for (int i = 0; i < 3; i++) {
+                results.add(executor.submit(request));
+            }
+            release.countDown();
+            for (final Future<List<JavaTestItem>> result : results) {
+                assertSame(items, result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, computations.get());
+
+        // memoized until the unit changes
+        FileTestItemsCache.get(unit, KEY, finder, new NullProgressMonitor());
+        assertEquals(1, computations.get());
+        FileTestItemsCache.invalidate(unit);
+        FileTestItemsCache.get(unit, KEY, finder, new NullProgressMonitor());
+        assertEquals(2, computations.get());
+    }
+
+    @Test
+    public void testCanceledComputationIsNotMemoized() throws Exception {
+        final ICompilationUnit unit = mockUnit("=test/src<foo{BarTest.java");
+        final AtomicInteger computations = new AtomicInteger();
+        final NullProgressMonitor monitor = new NullProgressMonitor();
+        FileTestItemsCache.get(unit, KEY, () -> {
+            computations.incrementAndGet();
+            monitor.setCanceled(true);
+            return Collections.emptyList();
+        }, monitor);
+
+        FileTestItemsCache.get(unit, KEY, () -> {
+            computations.incrementAndGet();
+            return Collections.emptyList();
+        }, new NullProgressMonitor());
+        assertEquals(2, computations.get());
+    }
+
+    @Test
+    public void testLastItemsKeptAfterChange() throws Exception {
+        final ICompilationUnit unit = mockUnit("=test/src<foo{BazTest.java");
+        assertNull(FileTestItemsCache.getLast(unit, KEY));
+
+        final List<JavaTestItem> items = Collections.singletonList(new JavaTestItem());
+        FileTestItemsCache.get(unit, KEY, () -> items, new NullProgressMonitor());
+        FileTestItemsCache.invalidate(unit);
+        assertSame(items, FileTestItemsCache.getLast(unit, KEY));
+        assertNull(FileTestItemsCache.getLast(unit, "class:=test/src<foo{BazTest.java[BazTest"));
+    }
+
+    @Test
+    public void testStructuralChangeInvalidatesOtherUnits() throws Exception {
+        final ICompilationUnit baseUnit = mockUnit("=test/src<foo{BaseTest.java");
+        final ICompilationUnit unit = mockUnit("=test/src<foo{FooTest.java");
+        final AtomicInteger computations = new AtomicInteger();
+        final FileTestItemsCache.Finder finder = () -> {
+            computations.incrementAndGet();
+            return Collections.emptyList();
+        };
+        FileTestItemsCache.get(unit, KEY, finder, new NullProgressMonitor());
+        final CompilationUnitUpdateHandler handler = new CompilationUnitUpdateHandler();
+
+        // the body of a method in the super class is changed
+        final IJavaElementDelta bodyChanged = mockDelta(mock(IMethod.class), IJavaElementDelta.CHANGED,
+                IJavaElementDelta.F_CONTENT);
+        handler.elementChanged(new ElementChangedEvent(mockUnitDelta(baseUnit, bodyChanged),
+                ElementChangedEvent.POST_RECONCILE));
+        FileTestItemsCache.get(unit, KEY, finder, new NullProgressMonitor());
+        assertEquals(1, computations.get());
+
+        // a method is added to the super class
+        final IJavaElementDelta methodAdded = mockDelta(mock(IMethod.class), IJavaElementDelta.ADDED, 0);
+        handler.elementChanged(new ElementChangedEvent(mockUnitDelta(baseUnit, methodAdded),
+                ElementChangedEvent.POST_RECONCILE));
+        FileTestItemsCache.get(unit, KEY, finder, new NullProgressMonitor());
+        assertEquals(2, computations.get());
+    }
+
+    private static ICompilationUnit mockUnit(String handleId) {
+        final ICompilationUnit unit = mock(ICompilationUnit.class);
+        when(unit.getPrimary()).thenReturn(unit);
+        when(unit.getHandleIdentifier()).thenReturn(handleId);
+        when(unit.getElementType()).thenReturn(IJavaElement.COMPILATION_UNIT);
+        return unit;
+    }
+
+    private static IJavaElementDelta mockUnitDelta(ICompilationUnit unit, IJavaElementDelta memberDelta) {
+        final IJavaElementDelta delta = mockDelta(unit, IJavaElementDelta.CHANGED, IJavaElementDelta.F_CONTENT |
+                IJavaElementDelta.F_CHILDREN | IJavaElementDelta.F_FINE_GRAINED);
+        when(delta.getAffectedChildren()).thenReturn(new IJavaElementDelta[] { memberDelta });
+        return delta;
+    }
+
+    private static IJavaElementDelta mockDelta(IJavaElement element, int kind, int flags) {
+        final IJavaElementDelta delta = mock(IJavaElementDelta.class);
+        when(delta.getElement()).thenReturn(element);
+        when(delta.getKind()).thenReturn(kind);
+        when(delta.getFlags()).thenReturn(flags);
+        when(delta.getAffectedChildren()).thenReturn(new IJavaElementDelta[0]);
+        return delta;
+    }
+}
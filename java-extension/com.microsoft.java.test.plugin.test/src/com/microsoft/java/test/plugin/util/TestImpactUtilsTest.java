@@ -0,0 +1,82 @@
+/*******************************************************************************
+* Copyright (c) 2026 Microsoft Corporation and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License v1.0
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v10.html
+*
+* Contributors:
+*     Microsoft Corporation - initial API and implementation
+*******************************************************************************/
+
+package com.microsoft.java.test.plugin.util;
+
+import com.microsoft.java.test.plugin.AbstractProjectsManagerBasedTest;
+import com.microsoft.java.test.plugin.model.JavaTestItem;
+import com.microsoft.java.test.plugin.model.TestLevel;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.ls.core.internal.JDTUtils;
+import org.eclipse.jdt.ls.core.internal.ProjectUtils;
+import org.jacoco.core.data.ExecutionData;
+import org.jacoco.core.data.ExecutionDataWriter;
+import org.jacoco.core.data.SessionInfo;
+import org.junit.Test;
+
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+public class TestImpactUtilsTest extends AbstractProjectsManagerBasedTest {
+
+    @Test
+    public void testFindAffectedTests() throws Exception {
+        importProjects(Collections.singleton("coverage-test"));
+        final IJavaProject javaProject = ProjectUtils.getJavaProject("coverage-test");
+        final IType sampleType = javaProject.findType("com.example.project.Sample");
+        assertNotNull(sampleType);
+
+        final String uri = JDTUtils.toURI(sampleType.getCompilationUnit());
+        final List<Object> arguments = Arrays.asList(Collections.singletonList(uri));
+        final List<JavaTestItem> items = TestImpactUtils.findAffectedTests(arguments, new NullProgressMonitor());
+        assertEquals(1, items.size());
+        assertEquals("com.example.project.SampleUsageTests", items.get(0).getFullName());
+        assertEquals(TestLevel.CLASS, items.get(0).getTestLevel());
+    }
+
+    @Test
+    public void testFindAffectedTestMethods() throws Exception {
+        importProjects(Collections.singleton("coverage-test"));
+        final IJavaProject javaProject = ProjectUtils.getJavaProject("coverage-test");
+        final IType sampleType = javaProject.findType("com.example.project.Sample");
+        assertNotNull(sampleType);
+
+        final Path reportBasePath = Files.createTempDirectory("coverage-test");
+        try (OutputStream out = new FileOutputStream(reportBasePath.resolve("jacoco-tests.exec").toFile())) {
+            final ExecutionDataWriter writer = new ExecutionDataWriter(out);
+            writer.visitSessionInfo(new SessionInfo("com.example.project.SampleUsageTests#testGetFoo()", 0, 0));
+            writer.visitClassExecution(new ExecutionData(1L, "com/example/project/Sample", new boolean[] { true }));
+            writer.visitSessionInfo(new SessionInfo("com.example.project.SampleUsageTests#testNothing()", 0, 0));
+        }
+
+        final String uri = JDTUtils.toURI(sampleType.getCompilationUnit());
+        final List<Object> arguments = Arrays.asList(Collections.singletonList(uri),
+                Collections.singletonMap("coverage-test", reportBasePath.toString()));
+        final List<JavaTestItem> items = TestImpactUtils.findAffectedTests(arguments, new NullProgressMonitor());
+        // testAdded has no coverage data, so it is selected as well
+        assertEquals(2, items.size());
+        assertEquals("com.example.project.SampleUsageTests#testGetFoo()", items.get(0).getFullName());
+        assertEquals(TestLevel.METHOD, items.get(0).getTestLevel());
+        assertEquals("com.example.project.SampleUsageTests#testAdded()", items.get(1).getFullName());
+        assertEquals(TestLevel.METHOD, items.get(1).getTestLevel());
+    }
+}
@@ -0,0 +1,107 @@
+/*******************************************************************************
+* Copyright (c) 2026 Microsoft Corporation and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License v1.0
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v10.html
+*
+* Contributors:
+*     Microsoft Corporation - initial API and implementation
+*******************************************************************************/
+
+package com.microsoft.java.test.plugin.util;
+
+import com.microsoft.java.test.plugin.model.JavaTestItem;
+import com.microsoft.java.test.plugin.model.TestKind;
+import com.microsoft.java.test.plugin.model.TestLevel;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestItemTreeTest {
+
+    @Test
+    public void testMergePackages() {
+        final TestItemTree tree = new TestItemTree();
+        final JavaTestItem mainPackage = createItem("com.example", TestLevel.PACKAGE);
+        final JavaTestItem otherPackage = createItem("com.example", TestLevel.PACKAGE);
+        tree.put("main/com.example", mainPackage);
+        tree.put("other/com.example", otherPackage);
+
+        final JavaTestItem fooTest = createItem("com.example.FooTest", TestLevel.CLASS);
+        tree.attach(mainPackage, fooTest);
+        tree.attach(mainPackage, fooTest);
+        tree.attach(otherPackage, createItem("com.example.BarTest", TestLevel.CLASS));
+        // the same class in another source set
+        tree.attach(otherPackage, createItem("com.example.FooTest", TestLevel.CLASS));
+
+        final List<JavaTestItem> packages = tree.getPackages();
+        assertEquals(1, packages.size());
+        assertEquals(2, packages.get(0).getChildren().size());
+    }
+
+    /**
+     * The items are never searched in the children of their parents, so the number of the comparisons between the
+     * items grows linearly with the number of the classes, while a quadratic implementation compares each class
+     * with all the classes attached before it.
+     */
+    @Test
+    public void testBuildInLinearComparisons() {
+        final int classCount = 2000;
+        final AtomicLong comparisons = new AtomicLong();
+        final TestItemTree tree = new TestItemTree();
+        final JavaTestItem mainPackage = new CountingTestItem("com.example", TestLevel.PACKAGE, comparisons);
+        final JavaTestItem otherPackage = new CountingTestItem("com.example", TestLevel.PACKAGE, comparisons);
+        tree.put("main/com.example", mainPackage);
+        tree.put("other/com.example", otherPackage);
+        for (int i = 0; i < classCount; i++) {
+            final String name = "com.example.Generated" + i + "Test";
+            final JavaTestItem classItem = new CountingTestItem(name, TestLevel.CLASS, comparisons);
+            tree.put("main/" + name, classItem);
+            // the same class is found by the searchers of each test kind
+            tree.attach(mainPackage, classItem);
+            tree.attach(mainPackage, classItem);
+            // the same class in another source set
+            tree.attach(otherPackage, new CountingTestItem(name, TestLevel.CLASS, comparisons));
+        }
+
+        final List<JavaTestItem> packages = tree.getPackages();
+
+        assertEquals(1, packages.size());
+        assertEquals(classCount, packages.get(0).getChildren().size());
+        assertTrue("Compared the items " + comparisons.get() + " times", comparisons.get() <= 4L * classCount);
+    }
+
+    private static JavaTestItem createItem(String fullName, TestLevel level) {
+        return new JavaTestItem(fullName, fullName, "project", null, null, level, TestKind.JUnit5);
+    }
+
+    /**
+     * Counts the comparisons with other items.
+     */
+    private static class CountingTestItem extends JavaTestItem {
+
+        private final AtomicLong comparisons;
+
+        CountingTestItem(String fullName, TestLevel level, AtomicLong comparisons) {
+            super(fullName, fullName, "project", null, null, level, TestKind.JUnit5);
+            this.comparisons = comparisons;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            comparisons.incrementAndGet();
+            return super.equals(obj);
+        }
+
+        @Override
+        public int hashCode() {
+            return super.hashCode();
+        }
+    }
+}
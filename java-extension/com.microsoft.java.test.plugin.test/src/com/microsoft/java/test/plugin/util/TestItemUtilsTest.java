@@ -0,0 +1,35 @@
+/*******************************************************************************
+* Copyright (c) 2026 Microsoft Corporation and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License v1.0
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v10.html
+*
+* Contributors:
+*     Microsoft Corporation - initial API and implementation
+*******************************************************************************/
+
+package com.microsoft.java.test.plugin.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestItemUtilsTest {
+
+    @Test
+    public void testStripTypeArguments() {
+        final String[] labels = {
+            "test()",
+            "test(List<String>)",
+            "test(Map<String, Integer>, Set<Long>)",
+            "test(Map<String, List<Integer>>)",
+            "test(T) <T>",
+            "test(a < b)",
+            "<>",
+        };
+        for (final String label : labels) {
+            assertEquals(label.replaceAll("<.*?>", ""), TestItemUtils.stripTypeArguments(label));
+        }
+    }
+}
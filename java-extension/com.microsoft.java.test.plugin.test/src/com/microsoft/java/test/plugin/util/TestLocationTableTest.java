@@ -0,0 +1,66 @@
+/*******************************************************************************
+* Copyright (c) 2026 Microsoft Corporation and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License v1.0
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v10.html
+*
+* Contributors:
+*     Microsoft Corporation - initial API and implementation
+*******************************************************************************/
+
+package com.microsoft.java.test.plugin.util;
+
+import com.microsoft.java.test.plugin.AbstractProjectsManagerBasedTest;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.lsp4j.Location;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TestLocationTableTest extends AbstractProjectsManagerBasedTest {
+
+    @Test
+    public void testFindAll() throws Exception {
+        importProjects(Collections.singleton("coverage-test"));
+        final List<Location> locations = new TestLocationTable().findAll(Arrays.asList(
+            "coverage-test@com.example.project.SampleUsageTests",
+            "coverage-test@com.example.project.SampleUsageTests#testGetFoo",
+            "coverage-test@com.example.project.SampleUsageTests#notExist",
+            "coverage-test@com.example.project.NotExist#testGetFoo",
+            "com.example.project.SampleUsageTests"
+        ), new NullProgressMonitor());
+
+        assertEquals(5, locations.size());
+        final Location typeLocation = locations.get(0);
+        assertTrue(typeLocation.getUri().endsWith("SampleUsageTests.java"));
+        assertEquals(typeLocation.getUri(), locations.get(1).getUri());
+        assertNotEquals(typeLocation.getRange(), locations.get(1).getRange());
+        // fall back to the location of the class if the method cannot be found
+        assertEquals(typeLocation, locations.get(2));
+        assertNull(locations.get(3));
+        assertNull(locations.get(4));
+    }
+
+    @Test
+    public void testKeepTableUntilRunIsDisposed() {
+        final TestLocationTable table = TestLocationTable.forRun("run");
+        assertSame(table, TestLocationTable.forRun("run"));
+        assertNotSame(table, TestLocationTable.forRun("other run"));
+
+        TestLocationTable.dispose("run");
+        assertNotSame(table, TestLocationTable.forRun("run"));
+        TestLocationTable.dispose("run");
+        TestLocationTable.dispose("other run");
+    }
+}
@@ -0,0 +1,57 @@
+/*******************************************************************************
+* Copyright (c) 2026 Microsoft Corporation and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License v1.0
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v10.html
+*
+* Contributors:
+*     Microsoft Corporation - initial API and implementation
+*******************************************************************************/
+
+package com.microsoft.java.test.plugin.util;
+
+import com.microsoft.java.test.plugin.util.TestNamingConventions.Form;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TestNamingConventionsTest {
+
+    @Test
+    public void testGuessSubjectName() {
+        assertEquals("Foo", TestNamingConventions.guessSubjectName("FooTest"));
+        assertEquals("Foo", TestNamingConventions.guessSubjectName("FooTests"));
+        assertEquals("Foo", TestNamingConventions.guessSubjectName("FooIT"));
+        assertEquals("Foo", TestNamingConventions.guessSubjectName("TestFoo"));
+        assertEquals("Testing", TestNamingConventions.guessSubjectName("Testing"));
+    }
+
+    @Test
+    public void testGetForm() {
+        assertEquals(Form.SUFFIX_TEST, TestNamingConventions.getForm("FooTest", "Foo"));
+        assertEquals(Form.SUFFIX_TESTS, TestNamingConventions.getForm("FooTests", "Foo"));
+        assertEquals(Form.PREFIX_TEST, TestNamingConventions.getForm("TestFoo", "Foo"));
+        assertNull(TestNamingConventions.getForm("FooBarTest", "Foo"));
+    }
+
+    @Test
+    public void testRank() {
+        final TestNamingConventions conventions = new TestNamingConventions();
+        conventions.record("FooIT", false);
+        conventions.record("BarIT", true);
+        conventions.record("BazTest", false);
+
+        assertEquals(0, conventions.getRank(Form.SUFFIX_IT));
+        assertEquals(1, conventions.getRank(Form.SUFFIX_TEST));
+        assertEquals(2, conventions.getRank(Form.SUFFIX_TESTS));
+        assertFalse(conventions.isMirroredLayout());
+
+        conventions.record("QuxIT", true);
+        assertTrue(conventions.isMirroredLayout());
+    }
+}
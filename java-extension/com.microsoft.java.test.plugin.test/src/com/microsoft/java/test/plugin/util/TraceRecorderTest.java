@@ -0,0 +1,85 @@
+/*******************************************************************************
+* Copyright (c) 2026 Microsoft Corporation and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License v1.0
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v10.html
+*
+* Contributors:
+*     Microsoft Corporation - initial API and implementation
+*******************************************************************************/
+
+package com.microsoft.java.test.plugin.util;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TraceRecorderTest {
+
+    @After
+    public void tearDown() throws Exception {
+        TraceRecorder.trace(Collections.singletonList("{\"enabled\":false}"), new NullProgressMonitor());
+        TraceRecorder.clear();
+    }
+
+    @Test
+    public void testDisabledByDefault() throws Exception {
+        assertFalse(TraceRecorder.isEnabled());
+        try (TraceRecorder.Span span = TraceRecorder.begin("ignored")) {
+            // no-op
+        }
+        final File file = File.createTempFile("trace-test-", ".json");
+        file.deleteOnExit();
+        TraceRecorder.export(file);
+        final JsonObject trace = parse(file);
+        assertEquals(0, trace.getAsJsonArray("traceEvents").size());
+    }
+
+    @Test
+    public void testExportNestedSpans() throws Exception {
+        assertNull(TraceRecorder.trace(Collections.singletonList("{\"enabled\":true}"), new NullProgressMonitor()));
+        try (TraceRecorder.Span outer = TraceRecorder.begin("outer", "detail")) {
+            try (TraceRecorder.Span inner = TraceRecorder.begin("inner")) {
+                Thread.sleep(1);
+            }
+        }
+
+        final String path = TraceRecorder.trace(Collections.singletonList("{\"export\":true}"),
+                new NullProgressMonitor());
+        final File file = new File(path);
+        file.deleteOnExit();
+        final JsonArray events = parse(file).getAsJsonArray("traceEvents");
+        // two complete events and the thread name metadata event
+        assertEquals(3, events.size());
+        final JsonObject inner = events.get(0).getAsJsonObject();
+        final JsonObject outer = events.get(1).getAsJsonObject();
+        assertEquals("inner", inner.get("name").getAsString());
+        assertEquals("outer", outer.get("name").getAsString());
+        assertEquals("X", outer.get("ph").getAsString());
+        assertEquals("detail", outer.getAsJsonObject("args").get("detail").getAsString());
+        assertTrue(outer.get("ts").getAsLong() <= inner.get("ts").getAsLong());
+        assertTrue(outer.get("ts").getAsLong() + outer.get("dur").getAsLong() >=
+                inner.get("ts").getAsLong() + inner.get("dur").getAsLong());
+        assertEquals("M", events.get(2).getAsJsonObject().get("ph").getAsString());
+    }
+
+    private static JsonObject parse(File file) throws Exception {
+        final String content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+        return new Gson().fromJson(content, JsonObject.class);
+    }
+}
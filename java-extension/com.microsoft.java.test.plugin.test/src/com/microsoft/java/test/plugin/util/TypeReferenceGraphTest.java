@@ -0,0 +1,57 @@
+/*******************************************************************************
+* Copyright (c) 2026 Microsoft Corporation and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License v1.0
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v10.html
+*
+* Contributors:
+*     Microsoft Corporation - initial API and implementation
+*******************************************************************************/
+
+package com.microsoft.java.test.plugin.util;
+
+import com.microsoft.java.test.plugin.AbstractProjectsManagerBasedTest;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.ls.core.internal.ProjectUtils;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertTrue;
+
+public class TypeReferenceGraphTest extends AbstractProjectsManagerBasedTest {
+
+    @Test
+    public void testUpdateDirtyUnitAgainAfterCancellation() throws Exception {
+        importProjects(Collections.singleton("coverage-test"));
+        final IJavaProject javaProject = ProjectUtils.getJavaProject("coverage-test");
+        final ICompilationUnit sample = javaProject.findType("com.example.project.Sample").getCompilationUnit();
+        final ICompilationUnit usage = javaProject.findType("com.example.project.SampleUsageTests")
+                .getCompilationUnit();
+        TypeReferenceGraph.invalidateAll();
+        assertTrue(TypeReferenceGraph.getReferencingUnits(sample, new NullProgressMonitor()).contains(usage));
+
+        TypeReferenceGraph.invalidate(usage);
+        // cancelled after the update of the dirty unit has started
+        final NullProgressMonitor monitor = new NullProgressMonitor() {
+            private int checks = 0;
+
+            @Override
+            public boolean isCanceled() {
+                return checks++ > 0;
+            }
+        };
+        try {
+            TypeReferenceGraph.getReferencingUnits(sample, monitor);
+        } catch (OperationCanceledException e) {
+            // expected if the parser checks the monitor
+        }
+
+        assertTrue(TypeReferenceGraph.getReferencingUnits(sample, new NullProgressMonitor()).contains(usage));
+    }
+}
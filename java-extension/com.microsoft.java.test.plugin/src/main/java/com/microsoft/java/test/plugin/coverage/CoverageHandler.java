@@ -12,6 +12,8 @@
 package com.microsoft.java.test.plugin.coverage;
 
 import com.microsoft.java.test.plugin.coverage.model.BranchCoverage;
+import com.microsoft.java.test.plugin.coverage.model.CoverageCounter;
+import com.microsoft.java.test.plugin.coverage.model.CoverageSummary;
 import com.microsoft.java.test.plugin.coverage.model.LineCoverage;
 import com.microsoft.java.test.plugin.coverage.model.MethodCoverage;
 import com.microsoft.java.test.plugin.coverage.model.SourceFileCoverage;
@@ -25,33 +27,46 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.core.IClasspathEntry;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaModelException;
-import org.eclipse.jdt.core.Signature;
 import org.eclipse.jdt.internal.core.ClasspathEntry;
 import org.eclipse.jdt.ls.core.internal.ProjectUtils;
 import org.eclipse.jdt.ls.core.internal.managers.ProjectsManager;
 import org.jacoco.core.analysis.Analyzer;
 import org.jacoco.core.analysis.CoverageBuilder;
+import org.jacoco.core.analysis.CoverageNodeImpl;
 import org.jacoco.core.analysis.IClassCoverage;
 import org.jacoco.core.analysis.ICounter;
+import org.jacoco.core.analysis.ICoverageNode;
+import org.jacoco.core.analysis.ICoverageNode.ElementType;
 import org.jacoco.core.analysis.ILine;
 import org.jacoco.core.analysis.IMethodCoverage;
 import org.jacoco.core.analysis.ISourceFileCoverage;
 import org.jacoco.core.analysis.ISourceNode;
+import org.jacoco.core.data.ExecutionData;
+import org.jacoco.core.data.ExecutionDataReader;
+import org.jacoco.core.data.ExecutionDataStore;
 import org.jacoco.core.tools.ExecFileLoader;
 
+import java.io.BufferedInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 
 public class CoverageHandler {
 
@@ -63,12 +78,29 @@ public class CoverageHandler {
      */
     private static final String JACOCO_EXEC = "jacoco.exec";
 
+    /**
+     * The Jacoco data file recorded by the test runner, where each test is a session.
+     */
+    private static final String JACOCO_PER_TEST_EXEC = "jacoco-tests.exec";
+
+    private static final String CLASS_FILE_EXTENSION = ".class";
+
     public CoverageHandler(IJavaProject javaProject, String basePath) {
         this.javaProject = javaProject;
         reportBasePath = Paths.get(basePath);
     }
 
     public List<SourceFileCoverage> getCoverageDetail(IProgressMonitor monitor) throws JavaModelException, IOException {
+        return getCoverageDetail(null, monitor);
+    }
+
+    /**
+     * Get the line and method coverage of the source files.
+     * @param sourceUris the uris of the source files to report, or <code>null</code> to report all the source files.
+     *                   When specified, only the classes in the packages of the given files are analyzed.
+     */
+    public List<SourceFileCoverage> getCoverageDetail(Collection<String> sourceUris, IProgressMonitor monitor)
+            throws JavaModelException, IOException {
         if (ProjectsManager.DEFAULT_PROJECT_NAME.equals(javaProject.getProject().getName())) {
             return Collections.emptyList();
         }
@@ -77,6 +109,7 @@ public class CoverageHandler {
         javaProjects.addAll(getAllJavaProjects(javaProject));
         final Map<IPath, List<IPath>> outputToSourcePaths = getOutputToSourcePathsMapping(javaProjects);
 
+        final Set<File> requestedFiles = sourceUris == null ? null : toFiles(sourceUris);
         final File executionDataFile = reportBasePath.resolve(JACOCO_EXEC).toFile();
         final ExecFileLoader execFileLoader = new ExecFileLoader();
         execFileLoader.load(executionDataFile);
@@ -88,7 +121,14 @@ public class CoverageHandler {
             if (!outputDirectory.exists()) {
                 continue;
             }
-            analyzer.analyzeAll(outputDirectory);
+            if (requestedFiles == null) {
+                analyzer.analyzeAll(outputDirectory);
+            } else {
+                for (final File classFile : getClassFilesInPackages(outputDirectory, entry.getValue(),
+                        requestedFiles)) {
+                    analyzer.analyzeAll(classFile);
+                }
+            }
             final Map<String, Collection<IClassCoverage>> classCoverageBySourceFilePath =
                     groupClassCoverageBySourceFilePath(coverageBuilder.getClasses());
             for (final ISourceFileCoverage sourceFileCoverage : coverageBuilder.getSourceFiles()) {
@@ -105,6 +145,9 @@ public class CoverageHandler {
                     JUnitPlugin.logError("Cannot find file: " + sourceFileCoverage.getName());
                     continue;
                 }
+                if (requestedFiles != null && !requestedFiles.contains(sourceFile.getAbsoluteFile())) {
+                    continue;
+                }
 
                 final URI uri = sourceFile.toURI();
                 final List<LineCoverage> lineCoverages = getLineCoverages(sourceFileCoverage);
@@ -118,6 +161,249 @@ public class CoverageHandler {
         return coverage;
     }
 
+    /**
+     * Get the instruction, branch, line and complexity counters of each package, class and method, without
+     * expanding the coverage of each line.
+     */
+    public List<CoverageSummary> getCoverageSummary(IProgressMonitor monitor) throws JavaModelException, IOException {
+        if (ProjectsManager.DEFAULT_PROJECT_NAME.equals(javaProject.getProject().getName())) {
+            return Collections.emptyList();
+        }
+        final Map<IPath, List<IPath>> outputToSourcePaths = getOutputToSourcePathsMapping(
+                new LinkedList<>(getAllJavaProjects(javaProject)));
+
+        final File executionDataFile = reportBasePath.resolve(JACOCO_EXEC).toFile();
+        final ExecFileLoader execFileLoader = new ExecFileLoader();
+        execFileLoader.load(executionDataFile);
+        // the same package may exist in multiple output folders, merge their counters by the package name
+        final Map<String, CoverageNodeImpl> packageNodes = new TreeMap<>();
+        final Map<String, List<CoverageSummary>> classSummariesByPackage = new HashMap<>();
+        for (final Map.Entry<IPath, List<IPath>> entry : outputToSourcePaths.entrySet()) {
+            final File outputDirectory = entry.getKey().toFile();
+            if (!outputDirectory.exists()) {
+                continue;
+            }
+            final CoverageBuilder coverageBuilder = new CoverageBuilder();
+            new Analyzer(execFileLoader.getExecutionDataStore(), coverageBuilder).analyzeAll(outputDirectory);
+            final Map<String, String> sourceUris = new HashMap<>();
+            for (final IClassCoverage classCoverage : coverageBuilder.getClasses()) {
+                if (monitor.isCanceled()) {
+                    return Collections.emptyList();
+                }
+
+                final String packageName = classCoverage.getPackageName();
+                packageNodes.computeIfAbsent(packageName, k -> new CoverageNodeImpl(ElementType.PACKAGE, k))
+                        .increment(classCoverage);
+
+                final List<CoverageSummary> methodSummaries = new LinkedList<>();
+                for (final IMethodCoverage methodCoverage : classCoverage.getMethods()) {
+                    methodSummaries.add(toCoverageSummary(methodCoverage, getMethodName(methodCoverage), null,
+                            methodCoverage.getFirstLine(), null));
+                }
+                final String sourceUri = classCoverage.getSourceFileName() == null ? null :
+                        sourceUris.computeIfAbsent(packageName + "/" + classCoverage.getSourceFileName(), k -> {
+                            final File sourceFile = SourceFileIndex.findSourceFile(entry.getValue(), packageName,
+                                    classCoverage.getSourceFileName());
+                            return sourceFile == null ? null : sourceFile.toURI().toString();
+                        });
+                final CoverageSummary classSummary = toCoverageSummary(classCoverage,
+                        classCoverage.getName().replace('/', '.'), sourceUri, classCoverage.getFirstLine(),
+                        methodSummaries);
+                classSummariesByPackage.computeIfAbsent(packageName, k -> new LinkedList<>()).add(classSummary);
+            }
+        }
+
+        final List<CoverageSummary> packageSummaries = new LinkedList<>();
+        for (final Map.Entry<String, CoverageNodeImpl> entry : packageNodes.entrySet()) {
+            packageSummaries.add(toCoverageSummary(entry.getValue(), entry.getKey().replace('/', '.'), null,
+                    ISourceNode.UNKNOWN_LINE, classSummariesByPackage.get(entry.getKey())));
+        }
+        return packageSummaries;
+    }
+
+    /**
+     * Get the names of the tests which cover the given line of a source file. This requires the per-test
+     * execution data recorded by the test runner.
+     * @param sourceUri the uri of the source file
+     * @param lineNumber the 1-based line number
+     * @param wholeMethod if <code>true</code>, return the tests which cover any line of the method that contains
+     *                    the given line, instead of the line itself
+     */
+    public List<String> getTestsCovering(String sourceUri, int lineNumber, boolean wholeMethod,
+            IProgressMonitor monitor) throws JavaModelException, IOException {
+        if (ProjectsManager.DEFAULT_PROJECT_NAME.equals(javaProject.getProject().getName())) {
+            return Collections.emptyList();
+        }
+        final Map<String, ExecutionDataStore> executionDataByTest = loadPerTestExecutionData();
+        if (executionDataByTest.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final IPath sourcePath = org.eclipse.core.runtime.Path.fromOSString(
+                new File(URI.create(sourceUri)).getAbsolutePath());
+        IPath outputPath = null;
+        IPath relativePath = null;
+        final Map<IPath, List<IPath>> outputToSourcePaths = getOutputToSourcePathsMapping(
+                new LinkedList<>(getAllJavaProjects(javaProject)));
+        for (final Map.Entry<IPath, List<IPath>> entry : outputToSourcePaths.entrySet()) {
+            for (final IPath sourceRoot : entry.getValue()) {
+                if (sourceRoot != null && sourceRoot.isPrefixOf(sourcePath)) {
+                    outputPath = entry.getKey();
+                    relativePath = sourcePath.makeRelativeTo(sourceRoot);
+                    break;
+                }
+            }
+            if (relativePath != null) {
+                break;
+            }
+        }
+        if (outputPath == null || relativePath == null || relativePath.segmentCount() == 0) {
+            return Collections.emptyList();
+        }
+
+        final IPath outputFolder = outputPath;
+        final String packagePath = relativePath.removeLastSegments(1).toString();
+        final String fileName = relativePath.lastSegment();
+        final int extensionIndex = fileName.lastIndexOf('.');
+        final String typeName = extensionIndex < 0 ? fileName : fileName.substring(0, extensionIndex);
+        final Map<String, byte[]> classFiles = new HashMap<>();
+        final List<String> tests = new LinkedList<>();
+        for (final Map.Entry<String, ExecutionDataStore> entry : executionDataByTest.entrySet()) {
+            if (monitor.isCanceled()) {
+                return Collections.emptyList();
+            }
+            for (final ExecutionData executionData : entry.getValue().getContents()) {
+                if (!isDeclaredInSourceFile(executionData.getName(), packagePath, typeName)) {
+                    continue;
+                }
+                final byte[] classFile = classFiles.computeIfAbsent(executionData.getName(),
+                        name -> readClassFile(outputFolder, name));
+                if (classFile.length == 0) {
+                    continue;
+                }
+                if (isCovered(executionData, classFile, fileName, lineNumber, wholeMethod)) {
+                    tests.add(entry.getKey());
+                    break;
+                }
+            }
+        }
+        return tests;
+    }
+
+    /**
+     * Get the VM names of the classes covered by each test, according to the per-test execution data
+     * recorded by the test runner.
+     */
+    public Map<String, Set<String>> getCoveredClassesByTest() throws IOException {
+        final Map<String, Set<String>> result = new LinkedHashMap<>();
+        for (final Map.Entry<String, ExecutionDataStore> entry : loadPerTestExecutionData().entrySet()) {
+            final Set<String> classNames = new LinkedHashSet<>();
+            for (final ExecutionData executionData : entry.getValue().getContents()) {
+                classNames.add(executionData.getName());
+            }
+            result.put(entry.getKey(), classNames);
+        }
+        return result;
+    }
+
+    /**
+     * Load the per-test execution data. The test runner writes a session for each test invocation, which is
+     * followed by the execution data of the classes covered by that invocation, and whose start time is the start
+     * time of the run. The sessions of a test in the same run are merged, and since the sessions are appended
+     * across runs, the sessions of a newer run replace those of the earlier runs.
+     */
+    private Map<String, ExecutionDataStore> loadPerTestExecutionData() throws IOException {
+        final File executionDataFile = reportBasePath.resolve(JACOCO_PER_TEST_EXEC).toFile();
+        if (!executionDataFile.isFile()) {
+            return Collections.emptyMap();
+        }
+
+        final Map<String, ExecutionDataStore> executionDataByTest = new LinkedHashMap<>();
+        // test -> start time of the run its execution data comes from
+        final Map<String, Long> runStartTimes = new HashMap<>();
+        try (InputStream in = new BufferedInputStream(new FileInputStream(executionDataFile))) {
+            final ExecutionDataReader reader = new ExecutionDataReader(in);
+            final ExecutionDataStore[] currentStore = { null };
+            reader.setSessionInfoVisitor(info -> {
+                final Long runStartTime = runStartTimes.get(info.getId());
+                if (runStartTime == null || runStartTime < info.getStartTimeStamp()) {
+                    runStartTimes.put(info.getId(), info.getStartTimeStamp());
+                    currentStore[0] = new ExecutionDataStore();
+                    executionDataByTest.put(info.getId(), currentStore[0]);
+                } else if (runStartTime == info.getStartTimeStamp()) {
+                    currentStore[0] = executionDataByTest.get(info.getId());
+                } else {
+                    // the session of an earlier run which is appended later is ignored
+                    currentStore[0] = null;
+                }
+            });
+            reader.setExecutionDataVisitor(data -> {
+                if (currentStore[0] != null) {
+                    currentStore[0].put(data);
+                }
+            });
+            reader.read();
+        }
+        return executionDataByTest;
+    }
+
+    /**
+     * Check whether the class is the given type or one of its nested types.
+     */
+    private static boolean isDeclaredInSourceFile(String className, String packagePath, String typeName) {
+        final String simpleName;
+        if (packagePath.isEmpty()) {
+            if (className.indexOf('/') >= 0) {
+                return false;
+            }
+            simpleName = className;
+        } else {
+            if (!className.startsWith(packagePath + "/") ||
+                    className.indexOf('/', packagePath.length() + 1) >= 0) {
+                return false;
+            }
+            simpleName = className.substring(packagePath.length() + 1);
+        }
+        return simpleName.equals(typeName) || simpleName.startsWith(typeName + "$");
+    }
+
+    private static boolean isCovered(ExecutionData executionData, byte[] classFile, String sourceFileName,
+            int lineNumber, boolean wholeMethod) {
+        final ExecutionDataStore store = new ExecutionDataStore();
+        store.put(executionData);
+        final CoverageBuilder coverageBuilder = new CoverageBuilder();
+        try {
+            new Analyzer(store, coverageBuilder).analyzeClass(classFile, executionData.getName());
+        } catch (IOException e) {
+            JUnitPlugin.logException("Failed to analyze class: " + executionData.getName(), e);
+            return false;
+        }
+        for (final IClassCoverage classCoverage : coverageBuilder.getClasses()) {
+            if (!sourceFileName.equals(classCoverage.getSourceFileName())) {
+                continue;
+            }
+            if (!wholeMethod) {
+                return classCoverage.getLine(lineNumber).getInstructionCounter().getCoveredCount() > 0;
+            }
+            for (final IMethodCoverage methodCoverage : classCoverage.getMethods()) {
+                if (methodCoverage.getFirstLine() <= lineNumber && lineNumber <= methodCoverage.getLastLine() &&
+                        methodCoverage.getInstructionCounter().getCoveredCount() > 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static byte[] readClassFile(IPath outputPath, String className) {
+        final Path classFile = outputPath.toFile().toPath().resolve(className + CLASS_FILE_EXTENSION);
+        try {
+            return Files.readAllBytes(classFile);
+        } catch (IOException e) {
+            return new byte[0];
+        }
+    }
+
     private Map<IPath, List<IPath>> getOutputToSourcePathsMapping(List<IJavaProject> javaProjects)
             throws JavaModelException {
         final Map<IPath, List<IPath>> outputToSourcePaths = new HashMap<>();
@@ -160,16 +446,8 @@ public class CoverageHandler {
      * Infer the source file for the given {@link ISourceFileCoverage}. If no file found, return <code>null</code>.
      */
     private File getSourceFile(List<IPath> sourceRoots, ISourceFileCoverage sourceFileCoverage) {
-        final String packagePath = sourceFileCoverage.getPackageName().replace(".", "/");
-        final IPath sourceRelativePath = new org.eclipse.core.runtime.Path(packagePath)
-                .append(sourceFileCoverage.getName());
-        for (final IPath sourceRoot : sourceRoots) {
-            final File sourceFile = sourceRoot.append(sourceRelativePath).toFile();
-            if (sourceFile.exists()) {
-                return sourceFile;
-            }
-        }
-        return null;
+        return SourceFileIndex.findSourceFile(sourceRoots, sourceFileCoverage.getPackageName(),
+                sourceFileCoverage.getName());
     }
 
     private List<LineCoverage> getLineCoverages(final ISourceFileCoverage sourceFileCoverage) {
@@ -218,6 +496,53 @@ public class CoverageHandler {
         return methodCoverages;
     }
 
+    private static CoverageSummary toCoverageSummary(ICoverageNode node, String name, String uriString,
+            int lineNumber, List<CoverageSummary> children) {
+        return new CoverageSummary(name, uriString, lineNumber, toCoverageCounter(node.getInstructionCounter()),
+                toCoverageCounter(node.getBranchCounter()), toCoverageCounter(node.getLineCounter()),
+                toCoverageCounter(node.getComplexityCounter()), children);
+    }
+
+    private static CoverageCounter toCoverageCounter(ICounter counter) {
+        return new CoverageCounter(counter.getCoveredCount(), counter.getMissedCount());
+    }
+
+    private static Set<File> toFiles(Collection<String> uris) {
+        final Set<File> files = new HashSet<>();
+        for (final String uri : uris) {
+            files.add(new File(URI.create(uri)).getAbsoluteFile());
+        }
+        return files;
+    }
+
+    /**
+     * Get the class files in the output folder which belong to the packages of the given source files.
+     * The sub packages are not included.
+     */
+    private static Set<File> getClassFilesInPackages(File outputDirectory, List<IPath> sourceRoots,
+            Set<File> sourceFiles) {
+        final Set<File> packageDirectories = new HashSet<>();
+        for (final File sourceFile : sourceFiles) {
+            final IPath sourcePath = org.eclipse.core.runtime.Path.fromOSString(sourceFile.getPath());
+            for (final IPath sourceRoot : sourceRoots) {
+                if (sourceRoot != null && sourceRoot.isPrefixOf(sourcePath)) {
+                    final IPath packagePath = sourcePath.makeRelativeTo(sourceRoot).removeLastSegments(1);
+                    packageDirectories.add(new File(outputDirectory, packagePath.toOSString()));
+                    break;
+                }
+            }
+        }
+
+        final Set<File> classFiles = new LinkedHashSet<>();
+        for (final File packageDirectory : packageDirectories) {
+            final File[] files = packageDirectory.listFiles((dir, name) -> name.endsWith(CLASS_FILE_EXTENSION));
+            if (files != null) {
+                classFiles.addAll(Arrays.asList(files));
+            }
+        }
+        return classFiles;
+    }
+
     private String getMethodName(IMethodCoverage methodCoverage) {
         final String methodName = methodCoverage.getName();
         if ("<clinit>".equals(methodName) || "<init>".equals(methodName)) {
@@ -227,20 +552,7 @@ public class CoverageHandler {
         if (StringUtils.isBlank(signature)) {
             return methodName;
         }
-        
-        try {
-            final String[] parameterTypes = Signature.getParameterTypes(signature);
-            final List<String> parameterNames = new LinkedList<>();
-            if (parameterTypes.length > 0) {
-                for (final String parameterType : parameterTypes) {
-                    final String simpleName = Signature.getSignatureSimpleName(parameterType.replace("/", "."));
-                    parameterNames.add(simpleName);
-                }
-            }
-            return String.format("%s(%s)", methodName, String.join(", ", parameterNames));
-        } catch (IllegalArgumentException e) {
-            return methodName;
-        }
+        return MethodDescriptors.getDisplayName(methodName, signature);
     }
 
     /**
@@ -0,0 +1,141 @@
+/*******************************************************************************
+* Copyright (c) 2026 Microsoft Corporation and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License v1.0
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v10.html
+*
+* Contributors:
+*     Microsoft Corporation - initial API and implementation
+*******************************************************************************/
+
+package com.microsoft.java.test.plugin.coverage;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Render the JVM method descriptors into the parameter lists displayed in the coverage report, e.g.
+ * <code>(ILjava/util/List;[Ljava/lang/String;)V</code> is rendered as <code>(int, List, String[])</code>.
+ *
+ * The rendered parameter lists are kept in a global LRU cache, since the same descriptors are seen
+ * again and again across the classes and the coverage runs.
+ */
+public final class MethodDescriptors {
+
+    private static final int CACHE_SIZE = 10000;
+
+    /**
+     * Used as the cached value of the invalid descriptors, a valid parameter list is never empty.
+     */
+    private static final String INVALID = "";
+
+    private static final Map<String, String> PARAMETERS_BY_DESCRIPTOR = Collections.synchronizedMap(
+            new LinkedHashMap<String, String>(16, 0.75f, true /*accessOrder*/) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                    return size() > CACHE_SIZE;
+                }
+            });
+
+    private MethodDescriptors() {}
+
+    /**
+     * Get the display name of the method, which is the method name followed by the simple names of
+     * its parameter types. If the descriptor is invalid, the method name is returned.
+     */
+    public static String getDisplayName(String methodName, String descriptor) {
+        String parameters = PARAMETERS_BY_DESCRIPTOR.get(descriptor);
+        if (parameters == null) {
+            parameters = renderParameters(descriptor);
+            PARAMETERS_BY_DESCRIPTOR.put(descriptor, parameters == null ? INVALID : parameters);
+        }
+        if (parameters == null || parameters.isEmpty()) {
+            return methodName;
+        }
+        return methodName + parameters;
+    }
+
+    /**
+     * Render the parameter list of the descriptor, or return <code>null</code> if the descriptor is invalid.
+     */
+    static String renderParameters(String descriptor) {
+        if (descriptor.isEmpty() || descriptor.charAt(0) != '(') {
+            return null;
+        }
+        final StringBuilder builder = new StringBuilder(descriptor.length());
+        builder.append('(');
+        int index = 1;
+        while (index < descriptor.length() && descriptor.charAt(index) != ')') {
+            if (index > 1) {
+                builder.append(", ");
+            }
+            int dimensions = 0;
+            while (index < descriptor.length() && descriptor.charAt(index) == '[') {
+                dimensions++;
+                index++;
+            }
+            if (index >= descriptor.length()) {
+                return null;
+            }
+            final char c = descriptor.charAt(index);
+            if (c == 'L') {
+                final int end = descriptor.indexOf(';', index);
+                if (end < 0) {
+                    return null;
+                }
+                int simpleNameStart = index + 1;
+                for (int i = end - 1; i > index; i--) {
+                    final char ch = descriptor.charAt(i);
+                    if (ch == '/' || ch == '$') {
+                        simpleNameStart = i + 1;
+                        break;
+                    }
+                }
+                builder.append(descriptor, simpleNameStart, end);
+                index = end + 1;
+            } else {
+                final String primitive = getPrimitiveTypeName(c);
+                if (primitive == null) {
+                    return null;
+                }
+                builder.append(primitive);
+                index++;
+            }
+            for (int i = 0; i < dimensions; i++) {
+                builder.append("[]");
+            }
+        }
+        if (index >= descriptor.length()) {
+            return null;
+        }
+        builder.append(')');
+        return builder.toString();
+    }
+
+    private static String getPrimitiveTypeName(char c) {
+        switch (c) {
+            case 'Z':
+                return "boolean";
+            case 'B':
+                return "byte";
+            case 'C':
+                return "char";
+            case 'S':
+                return "short";
+            case 'I':
+                return "int";
+            case 'J':
+                return "long";
+            case 'F':
+                return "float";
+            case 'D':
+                return "double";
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*******************************************************************************
+* Copyright (c) 2026 Microsoft Corporation and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License v1.0
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v10.html
+*
+* Contributors:
+*     Microsoft Corporation - initial API and implementation
+*******************************************************************************/
+
+package com.microsoft.java.test.plugin.coverage;
+
+import com.microsoft.java.test.plugin.util.JUnitPlugin;
+
+import org.eclipse.core.runtime.IPath;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An index of the files under the source roots, keyed by the relative path (package path + file name).
+ * Each source root is walked once and cached until files are added or removed in it,
+ * so that mapping coverage data to source files does not need to probe the file system per file.
+ */
+public class SourceFileIndex {
+
+    private static final Map<IPath, Map<String, File>> INDEX_BY_SOURCE_ROOT = new ConcurrentHashMap<>();
+
+    private SourceFileIndex() {}
+
+    /**
+     * Find the source file for the given package and file name from the given source roots.
+     * The source roots are searched in order. If no file found, return <code>null</code>.
+     * @param sourceRoots the absolute locations of the source roots
+     * @param packageName the package name, either '.' or '/' separated
+     * @param fileName the simple name of the source file
+     */
+    public static File findSourceFile(List<IPath> sourceRoots, String packageName, String fileName) {
+        final String relativePath = getRelativePath(packageName, fileName);
+        for (final IPath sourceRoot : sourceRoots) {
+            if (sourceRoot == null) {
+                continue;
+            }
+            final File sourceFile = getIndex(sourceRoot).get(relativePath);
+            if (sourceFile != null) {
+                return sourceFile;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Drop the cached index of the source root at the given location, which may be outside of its project if the
+     * source root is a linked folder.
+     */
+    public static void invalidate(IPath sourceRootLocation) {
+        INDEX_BY_SOURCE_ROOT.remove(sourceRootLocation);
+    }
+
+    public static void invalidateAll() {
+        INDEX_BY_SOURCE_ROOT.clear();
+    }
+
+    private static Map<String, File> getIndex(IPath sourceRoot) {
+        return INDEX_BY_SOURCE_ROOT.computeIfAbsent(sourceRoot, SourceFileIndex::buildIndex);
+    }
+
+    private static Map<String, File> buildIndex(IPath sourceRoot) {
+        final Path rootPath = sourceRoot.toFile().toPath();
+        if (!Files.isDirectory(rootPath)) {
+            return Collections.emptyMap();
+        }
+
+        final Map<String, File> index = new HashMap<>();
+        try {
+            Files.walkFileTree(rootPath, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    if (attrs.isRegularFile()) {
+                        index.put(toIndexKey(rootPath.relativize(file)), file.toFile());
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            JUnitPlugin.logException("Failed to index the source root: " + sourceRoot.toOSString(), e);
+        }
+        return index;
+    }
+
+    private static String toIndexKey(Path relativePath) {
+        final StringBuilder key = new StringBuilder();
+        for (final Path segment : relativePath) {
+            if (key.length() > 0) {
+                key.append('/');
+            }
+            key.append(segment.toString());
+        }
+        return key.toString();
+    }
+
+    private static String getRelativePath(String packageName, String fileName) {
+        if (packageName == null || packageName.isEmpty()) {
+            return fileName;
+        }
+        return packageName.replace('.', '/') + "/" + fileName;
+    }
+}
@@ -0,0 +1,39 @@
+/*******************************************************************************
+* Copyright (c) 2026 Microsoft Corporation and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License v1.0
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v10.html
+*
+* Contributors:
+*     Microsoft Corporation - initial API and implementation
+*******************************************************************************/
+
+
+package com.microsoft.java.test.plugin.coverage.model;
+
+public class CoverageCounter {
+    int covered;
+    int missed;
+
+    public CoverageCounter(int covered, int missed) {
+        this.covered = covered;
+        this.missed = missed;
+    }
+
+    public int getCovered() {
+        return covered;
+    }
+
+    public void setCovered(int covered) {
+        this.covered = covered;
+    }
+
+    public int getMissed() {
+        return missed;
+    }
+
+    public void setMissed(int missed) {
+        this.missed = missed;
+    }
+}
@@ -0,0 +1,112 @@
+/*******************************************************************************
+* Copyright (c) 2026 Microsoft Corporation and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License v1.0
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v10.html
+*
+* Contributors:
+*     Microsoft Corporation - initial API and implementation
+*******************************************************************************/
+
+
+package com.microsoft.java.test.plugin.coverage.model;
+
+import java.util.List;
+
+/**
+ * The coverage counters of a package, class or method.
+ */
+public class CoverageSummary {
+    String name;
+    /**
+     * The uri of the source file, only available for classes.
+     */
+    String uriString;
+    /**
+     * The first line of the node, or -1 if the line information is not available.
+     */
+    int lineNumber;
+    CoverageCounter instructionCounter;
+    CoverageCounter branchCounter;
+    CoverageCounter lineCounter;
+    CoverageCounter complexityCounter;
+    List<CoverageSummary> children;
+
+    public CoverageSummary(String name, String uriString, int lineNumber, CoverageCounter instructionCounter,
+            CoverageCounter branchCounter, CoverageCounter lineCounter, CoverageCounter complexityCounter,
+            List<CoverageSummary> children) {
+        this.name = name;
+        this.uriString = uriString;
+        this.lineNumber = lineNumber;
+        this.instructionCounter = instructionCounter;
+        this.branchCounter = branchCounter;
+        this.lineCounter = lineCounter;
+        this.complexityCounter = complexityCounter;
+        this.children = children;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getUriString() {
+        return uriString;
+    }
+
+    public void setUriString(String uriString) {
+        this.uriString = uriString;
+    }
+
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    public void setLineNumber(int lineNumber) {
+        this.lineNumber = lineNumber;
+    }
+
+    public CoverageCounter getInstructionCounter() {
+        return instructionCounter;
+    }
+
+    public void setInstructionCounter(CoverageCounter instructionCounter) {
+        this.instructionCounter = instructionCounter;
+    }
+
+    public CoverageCounter getBranchCounter() {
+        return branchCounter;
+    }
+
+    public void setBranchCounter(CoverageCounter branchCounter) {
+        this.branchCounter = branchCounter;
+    }
+
+    public CoverageCounter getLineCounter() {
+        return lineCounter;
+    }
+
+    public void setLineCounter(CoverageCounter lineCounter) {
+        this.lineCounter = lineCounter;
+    }
+
+    public CoverageCounter getComplexityCounter() {
+        return complexityCounter;
+    }
+
+    public void setComplexityCounter(CoverageCounter complexityCounter) {
+        this.complexityCounter = complexityCounter;
+    }
+
+    public List<CoverageSummary> getChildren() {
+        return children;
+    }
+
+    public void setChildren(List<CoverageSummary> children) {
+        this.children = children;
+    }
+}
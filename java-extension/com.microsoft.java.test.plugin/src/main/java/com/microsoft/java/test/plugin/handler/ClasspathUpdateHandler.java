@@ -12,6 +12,7 @@
 package com.microsoft.java.test.plugin.handler;
 
 import com.microsoft.java.test.plugin.provider.TestKindProvider;
+import com.microsoft.java.test.plugin.util.SearchScopeCache;
 
 import org.eclipse.jdt.core.ElementChangedEvent;
 import org.eclipse.jdt.core.IElementChangedListener;
@@ -31,6 +32,7 @@ public class ClasspathUpdateHandler implements IElementChangedListener {
         final Set<IJavaProject> projects = processDelta(event.getDelta(), null);
         if (projects != null && projects != null) {
             for (final IJavaProject project : projects) {
+                SearchScopeCache.invalidate(project);
                 TestKindProvider.updateTestKinds(project);
             }
         }
@@ -58,7 +60,10 @@ public class ClasspathUpdateHandler implements IElementChangedListener {
                 projects = processDeltaChildren(delta, projects);
                 break;
             case IJavaElement.JAVA_PROJECT:
-                if (isClasspathChanged(delta.getFlags())) {
+                // the workspace scopes span all the projects, so they are stale once a project is added or removed.
+                if (delta.getKind() != IJavaElementDelta.CHANGED) {
+                    SearchScopeCache.invalidate((IJavaProject) element);
+                } else if (isClasspathChanged(delta.getFlags())) {
                     if (projects == null) {
                         projects = new HashSet<IJavaProject>();
                     }
@@ -0,0 +1,126 @@
+/*******************************************************************************
+* Copyright (c) 2026 Microsoft Corporation and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License v1.0
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v10.html
+*
+* Contributors:
+*     Microsoft Corporation - initial API and implementation
+*******************************************************************************/
+
+package com.microsoft.java.test.plugin.handler;
+
+import com.microsoft.java.test.plugin.util.FileTestItemsCache;
+import com.microsoft.java.test.plugin.util.TestNavigationIndex;
+import com.microsoft.java.test.plugin.util.TypeReferenceGraph;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.JavaCore;
+
+/**
+ * Invalidate the caches which are built from the content of the compilation units when they are changed.
+ */
+public class CompilationUnitUpdateHandler implements IElementChangedListener {
+
+    @Override
+    public void elementChanged(ElementChangedEvent event) {
+        processDelta(event.getDelta());
+    }
+
+    public void addElementChangeListener() {
+        JavaCore.addElementChangedListener(this);
+    }
+
+    public void removeElementChangeListener() {
+        JavaCore.removeElementChangedListener(this);
+    }
+
+    private void processDelta(IJavaElementDelta delta) {
+        final IJavaElement element = delta.getElement();
+        switch (element.getElementType()) {
+            case IJavaElement.JAVA_MODEL:
+            case IJavaElement.JAVA_PROJECT:
+            case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+            case IJavaElement.PACKAGE_FRAGMENT:
+                if (isContainerChanged(delta)) {
+                    TypeReferenceGraph.invalidateAll();
+                    TestNavigationIndex.invalidateAll();
+                    FileTestItemsCache.invalidateAll();
+                    return;
+                }
+                for (final IJavaElementDelta child : delta.getAffectedChildren()) {
+                    processDelta(child);
+                }
+                break;
+            case IJavaElement.COMPILATION_UNIT:
+                if (isContentChanged(delta)) {
+                    TypeReferenceGraph.invalidate((ICompilationUnit) element);
+                    TestNavigationIndex.invalidate((ICompilationUnit) element);
+                    if (isStructureChanged(delta)) {
+                        // the test items of the other units depend on the supertypes and the (meta-)annotations
+                        // declared in this unit, e.g. the inherited test methods or @RunWith
+                        FileTestItemsCache.invalidateAll();
+                    } else {
+                        FileTestItemsCache.invalidate((ICompilationUnit) element);
+                    }
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * A container is added, removed, or its classpath is changed, so any cached reference may be stale.
+     */
+    private boolean isContainerChanged(IJavaElementDelta delta) {
+        if (delta.getElement().getElementType() == IJavaElement.JAVA_MODEL) {
+            return false;
+        }
+        return delta.getKind() != IJavaElementDelta.CHANGED ||
+                0 != (delta.getFlags() & (IJavaElementDelta.F_CLASSPATH_CHANGED |
+                IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED | IJavaElementDelta.F_CLOSED |
+                IJavaElementDelta.F_OPENED));
+    }
+
+    /**
+     * Whether any declaration of the unit may have changed, other than the bodies of its members. Without the
+     * fine grained delta of the members, e.g. when the file is changed on disk, the structure is unknown.
+     */
+    private boolean isStructureChanged(IJavaElementDelta delta) {
+        if (delta.getKind() != IJavaElementDelta.CHANGED ||
+                0 == (delta.getFlags() & IJavaElementDelta.F_FINE_GRAINED)) {
+            return true;
+        }
+        for (final IJavaElementDelta child : delta.getAffectedChildren()) {
+            if (isMemberStructureChanged(child)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isMemberStructureChanged(IJavaElementDelta delta) {
+        if (delta.getKind() != IJavaElementDelta.CHANGED ||
+                0 != (delta.getFlags() & ~(IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_CHILDREN))) {
+            return true;
+        }
+        for (final IJavaElementDelta child : delta.getAffectedChildren()) {
+            if (isMemberStructureChanged(child)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isContentChanged(IJavaElementDelta delta) {
+        return delta.getKind() != IJavaElementDelta.CHANGED ||
+                0 != (delta.getFlags() & (IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_CHILDREN |
+                IJavaElementDelta.F_FINE_GRAINED | IJavaElementDelta.F_PRIMARY_RESOURCE));
+    }
+}
@@ -0,0 +1,145 @@
+/*******************************************************************************
+* Copyright (c) 2026 Microsoft Corporation and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License v1.0
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v10.html
+*
+* Contributors:
+*     Microsoft Corporation - initial API and implementation
+*******************************************************************************/
+
+package com.microsoft.java.test.plugin.handler;
+
+import com.microsoft.java.test.plugin.coverage.SourceFileIndex;
+import com.microsoft.java.test.plugin.util.JUnitPlugin;
+
+import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Invalidate the caches which are built from the files on disk when files are added or removed in the source
+ * folders. The changes in the other folders, e.g. the output folders written by each build, are ignored.
+ */
+public class SourceFileUpdateHandler implements IResourceChangeListener {
+
+    private static final int STRUCTURE_CHANGED = IResourceDelta.ADDED | IResourceDelta.REMOVED;
+
+    /**
+     * The flags of a linked folder whose target is changed.
+     */
+    private static final int LOCATION_CHANGED = IResourceDelta.LOCAL_CHANGED | IResourceDelta.REPLACED;
+
+    @Override
+    public void resourceChanged(IResourceChangeEvent event) {
+        final IResourceDelta delta = event.getDelta();
+        if (delta == null) {
+            return;
+        }
+
+        try {
+            for (final IResourceDelta projectDelta : delta.getAffectedChildren()) {
+                if (!handleProjectDelta(projectDelta)) {
+                    SourceFileIndex.invalidateAll();
+                    return;
+                }
+            }
+        } catch (CoreException e) {
+            JUnitPlugin.log(e);
+            SourceFileIndex.invalidateAll();
+        }
+    }
+
+    /**
+     * Invalidate the source roots of the project which have files added or removed.
+     * @return <code>false</code> if the changed source roots can't be told, e.g. the project is closed or a linked
+     *         source folder is relinked, so the previous locations of its source roots are unknown.
+     */
+    private boolean handleProjectDelta(IResourceDelta projectDelta) throws CoreException {
+        final IProject project = (IProject) projectDelta.getResource();
+        if (projectDelta.getKind() != IResourceDelta.CHANGED ||
+                (projectDelta.getFlags() & IResourceDelta.OPEN) != 0) {
+            return false;
+        }
+        final IJavaProject javaProject = JavaCore.create(project);
+        if (!javaProject.exists()) {
+            return true;
+        }
+
+        final IWorkspaceRoot root = project.getWorkspace().getRoot();
+        final List<IContainer> sourceFolders = new ArrayList<>();
+        final List<IPath> outputPaths = new ArrayList<>();
+        outputPaths.add(javaProject.getOutputLocation());
+        for (final IClasspathEntry entry : javaProject.getRawClasspath()) {
+            if (entry.getEntryKind() != IClasspathEntry.CPE_SOURCE) {
+                continue;
+            }
+            sourceFolders.add(entry.getPath().equals(project.getFullPath()) ? project :
+                    root.getFolder(entry.getPath()));
+            if (entry.getOutputLocation() != null) {
+                outputPaths.add(entry.getOutputLocation());
+            }
+        }
+        if (sourceFolders.isEmpty()) {
+            return true;
+        }
+
+        final boolean[] relinked = { false };
+        projectDelta.accept(d -> {
+            final IResource resource = d.getResource();
+            final IPath path = resource.getFullPath();
+            for (final IPath outputPath : outputPaths) {
+                if (outputPath.isPrefixOf(path)) {
+                    return false;
+                }
+            }
+
+            boolean onTheWay = false;
+            for (final IContainer sourceFolder : sourceFolders) {
+                final IPath sourcePath = sourceFolder.getFullPath();
+                if (resource.getType() != IResource.PROJECT && sourcePath.equals(path) &&
+                        (d.getKind() != IResourceDelta.CHANGED || (d.getFlags() & LOCATION_CHANGED) != 0)) {
+                    relinked[0] = true;
+                    return false;
+                }
+                if (sourcePath.isPrefixOf(path)) {
+                    if ((d.getKind() & STRUCTURE_CHANGED) != 0) {
+                        // the location of a linked source folder is its target, not under the project location
+                        final IPath location = sourceFolder.getLocation();
+                        if (location != null) {
+                            SourceFileIndex.invalidate(location);
+                        }
+                        return false;
+                    }
+                    return resource.getType() != IResource.FILE;
+                }
+                onTheWay |= path.isPrefixOf(sourcePath);
+            }
+            // only the folders on the way to the source folders are visited
+            return onTheWay;
+        });
+        return !relinked[0];
+    }
+
+    public void addResourceChangeListener() {
+        ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+    }
+
+    public void removeResourceChangeListener() {
+        ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
+    }
+}
@@ -13,14 +13,19 @@ package com.microsoft.java.test.plugin.handler;
 
 import com.microsoft.java.test.plugin.coverage.CoverageHandler;
 import com.microsoft.java.test.plugin.launchers.JUnitLaunchUtils;
+import com.microsoft.java.test.plugin.util.BulkTestGenerationUtils;
+import com.microsoft.java.test.plugin.util.CommandMetrics;
 import com.microsoft.java.test.plugin.util.JUnitPlugin;
 import com.microsoft.java.test.plugin.util.ProjectTestUtils;
 import com.microsoft.java.test.plugin.util.TestGenerationUtils;
+import com.microsoft.java.test.plugin.util.TestImpactUtils;
 import com.microsoft.java.test.plugin.util.TestNavigationUtils;
 import com.microsoft.java.test.plugin.util.TestSearchUtils;
+import com.microsoft.java.test.plugin.util.TraceRecorder;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.ls.core.internal.IDelegateCommandHandler;
 import org.eclipse.jdt.ls.core.internal.ProjectUtils;
@@ -32,15 +37,25 @@ public class TestDelegateCommandHandler implements IDelegateCommandHandler {
 
     private static final String GET_TEST_SOURCE_PATH = "vscode.java.test.get.testpath";
     private static final String RESOLVE_JUNIT_ARGUMENT = "vscode.java.test.junit.argument";
+    private static final String RESOLVE_JUNIT_ARGUMENTS = "vscode.java.test.junit.arguments";
+    private static final String RESOLVE_MERGED_JUNIT_ARGUMENTS = "vscode.java.test.junit.mergedArguments";
     private static final String GENERATE_TESTS = "vscode.java.test.generateTests";
+    private static final String GENERATE_TESTS_IN_BULK = "vscode.java.test.generateTestsInBulk";
     private static final String FIND_JAVA_PROJECT = "vscode.java.test.findJavaProjects";
     private static final String FIND_PACKAGES_AND_TYPES = "vscode.java.test.findTestPackagesAndTypes";
     private static final String FIND_DIRECT_CHILDREN_FOR_CLASS = "vscode.java.test.findDirectTestChildrenForClass";
     private static final String FIND_TYPES_AND_METHODS = "vscode.java.test.findTestTypesAndMethods";
     private static final String RESOLVE_PATH = "vscode.java.test.resolvePath";
     private static final String FIND_TEST_LOCATION = "vscode.java.test.findTestLocation";
+    private static final String FIND_TEST_LOCATIONS = "vscode.java.test.findTestLocations";
+    private static final String DISPOSE_TEST_LOCATIONS = "vscode.java.test.disposeTestLocations";
     private static final String NAVIGATE_TO_TEST_OR_TARGET = "vscode.java.test.navigateToTestOrTarget";
+    private static final String FIND_AFFECTED_TESTS = "vscode.java.test.findAffectedTests";
     private static final String GET_COVERAGE_DETAIL = "vscode.java.test.jacoco.getCoverageDetail";
+    private static final String GET_COVERAGE_SUMMARY = "vscode.java.test.jacoco.getCoverageSummary";
+    private static final String GET_TESTS_COVERING = "vscode.java.test.jacoco.getTestsCovering";
+    private static final String GET_COMMAND_METRICS = "vscode.java.test.getCommandMetrics";
+    private static final String TRACE = "vscode.java.test.trace";
 
     @Override
     public Object executeCommand(String commandId, List<Object> arguments, IProgressMonitor monitor) throws Exception {
@@ -48,44 +63,113 @@ public class TestDelegateCommandHandler implements IDelegateCommandHandler {
             monitor = new NullProgressMonitor();
         }
 
+        final CommandMetrics.Sample sample = CommandMetrics.start(commandId);
+        Object result = null;
+        boolean canceled = false;
+        boolean failed = true;
+        try (TraceRecorder.Span span = TraceRecorder.begin("command", commandId)) {
+            result = dispatch(commandId, arguments, monitor);
+            failed = false;
+            return result;
+        } catch (OperationCanceledException e) {
+            canceled = true;
+            failed = false;
+            throw e;
+        } finally {
+            sample.finish(result, canceled || monitor.isCanceled(), failed);
+        }
+    }
+
+    private Object dispatch(String commandId, List<Object> arguments, IProgressMonitor monitor) throws Exception {
         switch (commandId) {
             case GET_TEST_SOURCE_PATH:
                 return ProjectTestUtils.listTestSourcePaths(arguments, monitor);
             case RESOLVE_JUNIT_ARGUMENT:
                 return JUnitLaunchUtils.resolveLaunchArgument(arguments, monitor);
+            case RESOLVE_JUNIT_ARGUMENTS:
+                return JUnitLaunchUtils.resolveLaunchArguments(arguments, monitor);
+            case RESOLVE_MERGED_JUNIT_ARGUMENTS:
+                return JUnitLaunchUtils.resolveMergedLaunchArguments(arguments, monitor);
             case GENERATE_TESTS:
                 return TestGenerationUtils.generateTests(arguments, monitor);
+            case GENERATE_TESTS_IN_BULK:
+                return BulkTestGenerationUtils.generateTestsInBulk(arguments, monitor);
             case FIND_JAVA_PROJECT:
                 return TestSearchUtils.findJavaProjects(arguments, monitor);
             case FIND_PACKAGES_AND_TYPES:
                 return TestSearchUtils.findTestPackagesAndTypes(arguments, monitor);
             case FIND_DIRECT_CHILDREN_FOR_CLASS:
+                // the optional second argument is the timeout to wait for the pending document changes
+                if (arguments.size() > 1 && arguments.get(1) != null) {
+                    return TestSearchUtils.findDirectTestChildrenForClassWithTimeout(arguments, monitor);
+                }
                 return TestSearchUtils.findDirectTestChildrenForClass(arguments, monitor);
             case FIND_TYPES_AND_METHODS:
+                if (arguments.size() > 1 && arguments.get(1) != null) {
+                    return TestSearchUtils.findTestTypesAndMethodsWithTimeout(arguments, monitor);
+                }
                 return TestSearchUtils.findTestTypesAndMethods(arguments, monitor);
             case RESOLVE_PATH:
                 return TestSearchUtils.resolvePath(arguments, monitor);
             case FIND_TEST_LOCATION:
                 return TestSearchUtils.findTestLocation(arguments, monitor);
+            case FIND_TEST_LOCATIONS:
+                return TestSearchUtils.findTestLocations(arguments, monitor);
+            case DISPOSE_TEST_LOCATIONS:
+                return TestSearchUtils.disposeTestLocations(arguments, monitor);
             case NAVIGATE_TO_TEST_OR_TARGET:
                 return TestNavigationUtils.findTestOrTarget(arguments, monitor);
-            case GET_COVERAGE_DETAIL:
-                if (arguments == null || arguments.size() < 2) {
-                    throw new IllegalArgumentException(
-                        "The arguments for command 'vscode.java.test.jacoco.getCoverageDetail' is invalid.");
+            case FIND_AFFECTED_TESTS:
+                return TestImpactUtils.findAffectedTests(arguments, monitor);
+            case GET_COVERAGE_DETAIL: {
+                final CoverageHandler coverageHandler = createCoverageHandler(commandId, arguments, 2);
+                if (coverageHandler == null) {
+                    return null;
                 }
-                final String projectName = (String) arguments.get(0);
-                final IJavaProject javaProject = ProjectUtils.getJavaProject(projectName);
-                if (javaProject == null) {
-                    JUnitPlugin.logError("Cannot find the project: " + projectName + " for coverage generation.");
+                // the optional third argument is the uris of the source files to report
+                @SuppressWarnings("unchecked")
+                final List<String> sourceUris = arguments.size() > 2 ? (List<String>) arguments.get(2) : null;
+                return coverageHandler.getCoverageDetail(sourceUris, monitor);
+            }
+            case GET_COVERAGE_SUMMARY: {
+                final CoverageHandler coverageHandler = createCoverageHandler(commandId, arguments, 2);
+                if (coverageHandler == null) {
                     return null;
                 }
-                final String reportBasePath = (String) arguments.get(1);
-                final CoverageHandler coverageHandler = new CoverageHandler(javaProject, reportBasePath);
-                return coverageHandler.getCoverageDetail(monitor);
+                return coverageHandler.getCoverageSummary(monitor);
+            }
+            case GET_TESTS_COVERING: {
+                final CoverageHandler coverageHandler = createCoverageHandler(commandId, arguments, 4);
+                if (coverageHandler == null) {
+                    return null;
+                }
+                final String sourceUri = (String) arguments.get(2);
+                final int lineNumber = ((Number) arguments.get(3)).intValue();
+                final boolean wholeMethod = arguments.size() > 4 && Boolean.TRUE.equals(arguments.get(4));
+                return coverageHandler.getTestsCovering(sourceUri, lineNumber, wholeMethod, monitor);
+            }
+            case GET_COMMAND_METRICS:
+                return CommandMetrics.getCommandMetrics(arguments, monitor);
+            case TRACE:
+                return TraceRecorder.trace(arguments, monitor);
             default:
                 throw new UnsupportedOperationException(
                         String.format("Java test plugin doesn't support the command '%s'.", commandId));
         }
     }
+
+    private CoverageHandler createCoverageHandler(String commandId, List<Object> arguments, int minArgumentSize) {
+        if (arguments == null || arguments.size() < minArgumentSize) {
+            throw new IllegalArgumentException(
+                String.format("The arguments for command '%s' is invalid.", commandId));
+        }
+        final String projectName = (String) arguments.get(0);
+        final IJavaProject javaProject = ProjectUtils.getJavaProject(projectName);
+        if (javaProject == null) {
+            JUnitPlugin.logError("Cannot find the project: " + projectName + " for coverage generation.");
+            return null;
+        }
+        final String reportBasePath = (String) arguments.get(1);
+        return new CoverageHandler(javaProject, reportBasePath);
+    }
 }
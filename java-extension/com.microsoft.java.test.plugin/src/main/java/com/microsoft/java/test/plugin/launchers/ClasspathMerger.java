@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Microsoft Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Microsoft Corporation - initial API and implementation
+ *******************************************************************************/
+
+package com.microsoft.java.test.plugin.launchers;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Merges the classpaths of several projects into one, as long as they do not contain different versions of the
+ * same artifact, and their output folders do not declare the same class, which would be shadowed by the one of
+ * the first project. The artifacts are identified by the names of the jars, e.g. <code>junit-4.13.2.jar</code>.
+ */
+final class ClasspathMerger {
+
+    /**
+     * &lt;artifact&gt;-&lt;version&gt;.jar, where the version starts with a digit
+     */
+    private static final Pattern VERSIONED_JAR = Pattern.compile("^(.+?)-(\\d.*)\\.jar$");
+
+    private final Set<String> classpath = new LinkedHashSet<>();
+
+    /**
+     * Artifact -> version
+     */
+    private final Map<String, String> versions = new HashMap<>();
+
+    /**
+     * Paths of the class files, relative to the output folders in the classpath
+     */
+    private final Set<String> classFiles = new HashSet<>();
+
+    /**
+     * Output folder -> paths of the class files in it, shared by the mergers of the same launch
+     */
+    private final Map<String, Set<String>> classFilesByFolder;
+
+    ClasspathMerger() {
+        this(new HashMap<>());
+    }
+
+    ClasspathMerger(Map<String, Set<String>> classFilesByFolder) {
+        this.classFilesByFolder = classFilesByFolder;
+    }
+
+    /**
+     * Add the classpath if it is compatible with the classpaths added before.
+     * @return whether the classpath is added
+     */
+    boolean add(String[] entries) {
+        final Map<String, String> added = new HashMap<>();
+        final Set<String> addedClassFiles = new HashSet<>();
+        for (final String entry : entries) {
+            if (classpath.contains(entry)) {
+                continue;
+            }
+            final File file = new File(entry);
+            if (file.isDirectory()) {
+                for (final String classFile : getClassFiles(file)) {
+                    if (classFiles.contains(classFile) || !addedClassFiles.add(classFile)) {
+                        return false;
+                    }
+                }
+                continue;
+            }
+            final Matcher matcher = VERSIONED_JAR.matcher(file.getName());
+            if (!matcher.matches()) {
+                continue;
+            }
+            final String version = versions.get(matcher.group(1));
+            if (version != null && !version.equals(matcher.group(2))) {
+                return false;
+            }
+            added.putIfAbsent(matcher.group(1), matcher.group(2));
+        }
+        for (final Map.Entry<String, String> entry : added.entrySet()) {
+            versions.putIfAbsent(entry.getKey(), entry.getValue());
+        }
+        classFiles.addAll(addedClassFiles);
+        classpath.addAll(Arrays.asList(entries));
+        return true;
+    }
+
+    String[] getClasspath() {
+        return classpath.toArray(new String[classpath.size()]);
+    }
+
+    private Set<String> getClassFiles(File folder) {
+        synchronized (classFilesByFolder) {
+            return classFilesByFolder.computeIfAbsent(folder.getAbsolutePath(), k -> {
+                final Path root = folder.toPath();
+                try (Stream<Path> paths = Files.walk(root)) {
+                    return paths.filter(path -> path.toString().endsWith(".class"))
+                            .map(path -> root.relativize(path).toString())
+                            .collect(Collectors.toSet());
+                } catch (IOException | UncheckedIOException e) {
+                    return Collections.emptySet();
+                }
+            });
+        }
+    }
+}
@@ -22,4 +22,8 @@ public class JUnitLaunchArguments {
     public String[] modulepath;
     public String[] vmArguments;
     public String[] programArguments;
+    /**
+     * The projects whose tests are run by the launch, set when the launches are resolved for a merged run.
+     */
+    public String[] projectNames;
 }
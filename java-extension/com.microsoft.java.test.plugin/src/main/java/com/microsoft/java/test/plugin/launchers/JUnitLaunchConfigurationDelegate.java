@@ -16,7 +16,9 @@ import com.microsoft.java.test.plugin.model.Response;
 import com.microsoft.java.test.plugin.model.TestKind;
 import com.microsoft.java.test.plugin.model.TestLevel;
 import com.microsoft.java.test.plugin.util.JUnitPlugin;
+import com.microsoft.java.test.plugin.util.SearchScopeCache;
 import com.microsoft.java.test.plugin.util.TestSearchUtils;
+import com.microsoft.java.test.plugin.util.TraceRecorder;
 
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.core.runtime.CoreException;
@@ -32,6 +34,8 @@ import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IMember;
 import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.dom.CompilationUnit;
@@ -40,6 +44,7 @@ import org.eclipse.jdt.core.dom.MethodDeclaration;
 import org.eclipse.jdt.core.dom.SingleVariableDeclaration;
 import org.eclipse.jdt.internal.corext.refactoring.structure.ASTNodeSearchUtil;
 import org.eclipse.jdt.launching.VMRunnerConfiguration;
+import org.eclipse.jdt.ls.core.internal.ProjectUtils;
 
 import java.io.BufferedWriter;
 import java.io.File;
@@ -54,23 +59,106 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public class JUnitLaunchConfigurationDelegate extends org.eclipse.jdt.junit.launcher.JUnitLaunchConfigurationDelegate {
 
     private Argument args;
 
+    /**
+     * Project name + '@' + test kind -> the classpath and modulepath, shared by the delegates resolving the
+     * launch arguments of one batch. <code>null</code> if the delegate is not part of a batch.
+     */
+    private final Map<String, CompletableFuture<String[][]>> classpathCache;
+
+    /**
+     * The packages to run for the package and project level launches, resolved lazily.
+     */
+    private List<IPackageFragment> packages;
+
     private static final Set<String> testNameArgs = new HashSet<>(
         Arrays.asList("-test", "-classNames", "-packageNameFile", "-testNameFile"));
 
     public JUnitLaunchConfigurationDelegate(Argument args) {
+        this(args, null);
+    }
+
+    JUnitLaunchConfigurationDelegate(Argument args, Map<String, CompletableFuture<String[][]>> classpathCache) {
         super();
         this.args = args;
+        this.classpathCache = classpathCache;
+    }
+
+    /**
+     * Resolve the classpath and modulepath only once for the requests in a batch which target the same project
+     * with the same test kind, the other delegates wait for the one which is resolving them.
+     */
+    @Override
+    public String[][] getClasspathAndModulepath(ILaunchConfiguration configuration) throws CoreException {
+        if (this.classpathCache == null) {
+            return resolveClasspathAndModulepath(configuration);
+        }
+
+        final CompletableFuture<String[][]> future = new CompletableFuture<>();
+        final CompletableFuture<String[][]> existing = this.classpathCache.putIfAbsent(
+                this.args.projectName + "@" + this.args.testKind, future);
+        if (existing == null) {
+            try {
+                future.complete(resolveClasspathAndModulepath(configuration));
+            } catch (CoreException | RuntimeException e) {
+                future.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        final String[][] paths;
+        try {
+            paths = (existing == null ? future : existing).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof CoreException) {
+                throw (CoreException) e.getCause();
+            }
+            throw e;
+        }
+        // the arrays are owned by the caller, so each delegate gets its own copies
+        return new String[][] {
+            paths[0] == null ? null : paths[0].clone(),
+            paths[1] == null ? null : paths[1].clone()
+        };
+    }
+
+    private String[][] resolveClasspathAndModulepath(ILaunchConfiguration configuration) throws CoreException {
+        try (TraceRecorder.Span span = TraceRecorder.begin("resolveClasspath", this.args.projectName)) {
+            return super.getClasspathAndModulepath(configuration);
+        }
     }
 
     @Override
     protected IMember[] evaluateTests(ILaunchConfiguration configuration, IProgressMonitor monitor)
             throws CoreException {
+        if (isContainerLevel()) {
+            // The tests are discovered by the test runner from the package names, only one type of each package
+            // is returned so the package level arguments, e.g. --add-opens of modular projects, are computed.
+            final List<IMember> types = new ArrayList<>();
+            for (final IPackageFragment pkg : getPackages()) {
+                for (final ICompilationUnit unit : pkg.getCompilationUnits()) {
+                    final IType type = unit.findPrimaryType();
+                    if (type != null) {
+                        types.add(type);
+                        break;
+                    }
+                }
+            }
+            if (types.isEmpty()) {
+                throw new CoreException(new Status(IStatus.ERROR, JUnitPlugin.PLUGIN_ID,
+                        "No tests found in the selected packages."));
+            }
+            return types.toArray(new IMember[types.size()]);
+        }
         if (this.args.testLevel != TestLevel.CLASS || this.args.testNames == null ||
                 this.args.testNames.length < 2 || this.args.testHandles == null) {
             return super.evaluateTests(configuration, monitor);
@@ -102,8 +190,11 @@ public class JUnitLaunchConfigurationDelegate extends org.eclipse.jdt.junit.laun
                     "getVMRunnerConfiguration", ILaunchConfiguration.class, ILaunch.class, String.class,
                     IProgressMonitor.class);
             getVMRunnerConfiguration.setAccessible(true);
-            final VMRunnerConfiguration config = (VMRunnerConfiguration) getVMRunnerConfiguration.invoke(this,
-                    configuration, launch, mode, new NullProgressMonitor());
+            final VMRunnerConfiguration config;
+            try (TraceRecorder.Span span = TraceRecorder.begin("getVMRunnerConfiguration", this.args.projectName)) {
+                config = (VMRunnerConfiguration) getVMRunnerConfiguration.invoke(this, configuration, launch, mode,
+                        new NullProgressMonitor());
+            }
             final IJavaProject javaProject = getJavaProject(configuration);
             final JUnitLaunchArguments launchArguments = new JUnitLaunchArguments();
             launchArguments.workingDirectory = config.getWorkingDirectory();
@@ -166,7 +257,11 @@ public class JUnitLaunchConfigurationDelegate extends org.eclipse.jdt.junit.laun
     }
 
     private void addTestItemArgs(List<String> arguments) throws CoreException {
-        if (this.args.testLevel == TestLevel.CLASS) {
+        if (isContainerLevel()) {
+            final String fileName = createPackageNamesFile(getPackages());
+            arguments.add("-packageNameFile");
+            arguments.add(fileName);
+        } else if (this.args.testLevel == TestLevel.CLASS) {
             final String fileName = createTestNamesFile(this.args.testNames);
             arguments.add("-testNameFile");
             arguments.add(fileName);
@@ -202,6 +297,67 @@ public class JUnitLaunchConfigurationDelegate extends org.eclipse.jdt.junit.laun
         }
     }
 
+    /**
+     * Whether the launch runs whole packages or a whole project, whose tests are discovered by the JUnit Platform
+     * in the test JVM instead of being enumerated by the language server.
+     */
+    private boolean isContainerLevel() throws CoreException {
+        if (this.args.testLevel != TestLevel.PACKAGE && this.args.testLevel != TestLevel.PROJECT) {
+            return false;
+        }
+        if (this.args.testKind != TestKind.JUnit5 && this.args.testKind != TestKind.JUnit6) {
+            throw new CoreException(new Status(IStatus.ERROR, JUnitPlugin.PLUGIN_ID,
+                    "Package and project level launches are only supported by the JUnit Platform."));
+        }
+        return true;
+    }
+
+    /**
+     * Get the packages to run: the packages with the given names for a package level launch, or all the packages
+     * for a project level launch, in the test source folders of the project.
+     */
+    private List<IPackageFragment> getPackages() throws CoreException {
+        if (this.packages != null) {
+            return this.packages;
+        }
+
+        final IJavaProject javaProject = ProjectUtils.getJavaProject(this.args.projectName);
+        if (javaProject == null) {
+            throw new CoreException(new Status(IStatus.ERROR, JUnitPlugin.PLUGIN_ID,
+                    "Failed to get the project: " + this.args.projectName));
+        }
+        List<IPackageFragmentRoot> roots = SearchScopeCache.getTestRoots(javaProject);
+        if (roots.isEmpty()) {
+            // for invisible project and Eclipse project, all the package roots are both test and source
+            roots = new ArrayList<>();
+            for (final IPackageFragmentRoot root : javaProject.getPackageFragmentRoots()) {
+                if (root.getKind() == IPackageFragmentRoot.K_SOURCE) {
+                    roots.add(root);
+                }
+            }
+        }
+
+        final List<IPackageFragment> result = new ArrayList<>();
+        for (final IPackageFragmentRoot root : roots) {
+            if (this.args.testLevel == TestLevel.PROJECT) {
+                for (final IJavaElement child : root.getChildren()) {
+                    if (child instanceof IPackageFragment && ((IPackageFragment) child).containsJavaResources()) {
+                        result.add((IPackageFragment) child);
+                    }
+                }
+            } else if (this.args.testNames != null) {
+                for (final String packageName : this.args.testNames) {
+                    final IPackageFragment pkg = root.getPackageFragment(packageName);
+                    if (pkg.exists()) {
+                        result.add(pkg);
+                    }
+                }
+            }
+        }
+        this.packages = result;
+        return result;
+    }
+
     private String resolveMethodTestName(String handleId) throws CoreException {
         final IMethod method = (IMethod) JavaCore.create(handleId);
         String testName = method.getElementName();
@@ -260,6 +416,40 @@ public class JUnitLaunchConfigurationDelegate extends org.eclipse.jdt.junit.laun
         }
     }
 
+    /**
+     * Write the names of the packages, the JUnit Platform selects the sub packages of a package as well, so the
+     * packages whose parent packages are written are skipped. The default package is written as an empty line,
+     * which selects all the packages.
+     */
+    private String createPackageNamesFile(List<IPackageFragment> packages) throws CoreException {
+        final Set<String> packageNames = new TreeSet<>();
+        for (final IPackageFragment pkg : packages) {
+            packageNames.add(pkg.getElementName());
+        }
+        try {
+            final File file = File.createTempFile("packageNames", ".txt"); //$NON-NLS-1$ //$NON-NLS-2$
+            file.deleteOnExit();
+            try (BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(
+                        new FileOutputStream(file), StandardCharsets.UTF_8));) {
+                String lastWritten = null;
+                for (final String packageName : packageNames) {
+                    // the names are sorted, so the sub packages follow their parent packages, and all the packages
+                    // follow the default package
+                    if (lastWritten != null && (lastWritten.isEmpty() || packageName.startsWith(lastWritten + "."))) {
+                        continue;
+                    }
+                    bw.write(packageName);
+                    bw.newLine();
+                    lastWritten = packageName;
+                }
+            }
+            return file.getAbsolutePath();
+        } catch (IOException e) {
+            throw new CoreException(new Status(
+                    IStatus.ERROR, JUnitPlugin.PLUGIN_ID, IStatus.ERROR, "", e)); //$NON-NLS-1$
+        }
+    }
+
     private String createMethodTestNamesFile(String[] testNames) throws CoreException {
         try {
             final File file = File.createTempFile("testNames", ".txt"); //$NON-NLS-1$ //$NON-NLS-2$
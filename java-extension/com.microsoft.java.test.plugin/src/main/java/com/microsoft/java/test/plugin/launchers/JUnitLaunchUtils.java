@@ -18,6 +18,7 @@ import com.microsoft.java.test.plugin.model.TestLevel;
 import com.microsoft.java.test.plugin.util.JUnitPlugin;
 
 import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
@@ -41,11 +42,17 @@ import org.osgi.framework.Version;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public class JUnitLaunchUtils {
 
@@ -54,6 +61,13 @@ public class JUnitLaunchUtils {
     private static final String JUNIT5_LOADER = "org.eclipse.jdt.junit.loader.junit5";
     private static final String JUNIT4_LOADER = "org.eclipse.jdt.junit.loader.junit4";
 
+    /**
+     * The launcher of the bundled test runner which runs the JUnit 5 and JUnit 6 tests with the JUnit Platform
+     * launcher API instead of {@code RemoteTestRunner}.
+     */
+    public static final String JUNIT_PLATFORM_LAUNCHER = "junit-platform";
+    private static final String TEST_RUNNER_MAIN_CLASS = "com.microsoft.java.test.runner.Launcher";
+
     /**
      * Bundle that hosts {@code RemoteTestRunner}, the consumer of {@code -testNameFile}.
      * Shipped by the Eclipse Java Language Server, not by vscode-java-test itself.
@@ -103,31 +117,44 @@ public class JUnitLaunchUtils {
             throws URISyntaxException, CoreException {
         final Gson gson = new Gson();
         final Argument args = gson.fromJson((String) arguments.get(0), Argument.class);
+        return resolveLaunchArgument(args, null, monitor);
+    }
 
-        final TestInfo info = new TestInfo();
-
-        info.testKind = getEclipseTestKind(args.testKind);
-
-        final IJavaProject javaProject = ProjectUtils.getJavaProject(args.projectName);
-        if (javaProject == null || !javaProject.exists()) {
-            JUnitPlugin.logError("Failed to get the project: " + args.projectName);
-            throw new RuntimeException("Failed to get the project: " + args.projectName);
-        }
-        info.project = javaProject.getProject();
-        // TestNG's argument will be resolved at client side
-        if (!Objects.equals(info.testKind, TESTNG_LOADER)) {
-            if (ArrayUtils.isNotEmpty(args.testNames)) {
-                if (args.testLevel == TestLevel.CLASS) {
-                    info.mainType = args.testNames[0].substring(args.testNames[0].indexOf("@") + 1);
-                } else if (args.testLevel == TestLevel.METHOD) {
-                    final IMethod method = (IMethod) JavaCore.create(args.testNames[0]);
-                    info.mainType = method.getDeclaringType().getFullyQualifiedName();
-                }
+    /**
+     * Resolve the arguments to launch the Eclipse test runner for each of the requests, which usually target
+     * different projects of a multi-module workspace. The requests are resolved concurrently, and the ones
+     * targeting the same project with the same test kind share one classpath resolution.
+     * @param arguments the requests serialized as a JSON array, each of them has the same format as the argument
+     *                  of {@link #resolveLaunchArgument(List, IProgressMonitor)}, and the optional working
+     *                  directory of the launch configuration, which defaults to the location of the project
+     * @param monitor
+     * @return the responses in the same order as the requests, a request which cannot be resolved gets a response
+     *         with the error message
+     */
+    public static List<Response<JUnitLaunchArguments>> resolveLaunchArguments(List<Object> arguments,
+            IProgressMonitor monitor) {
+        final Gson gson = new Gson();
+        final Argument[] args = gson.fromJson((String) arguments.get(0), Argument[].class);
+        final Map<String, CompletableFuture<String[][]>> classpathCache = new ConcurrentHashMap<>();
+        return Arrays.stream(args).parallel().map(arg -> {
+            try {
+                return resolveLaunchArgument(arg, classpathCache, monitor);
+            } catch (URISyntaxException | CoreException | RuntimeException e) {
+                JUnitPlugin.logException("Failed to resolve the launch arguments for the project: " +
+                        arg.projectName, e);
+                return new Response<JUnitLaunchArguments>(null, e.getMessage());
             }
-        }
+        }).collect(Collectors.toList());
+    }
 
+    private static Response<JUnitLaunchArguments> resolveLaunchArgument(Argument args,
+            Map<String, CompletableFuture<String[][]>> classpathCache, IProgressMonitor monitor)
+            throws URISyntaxException, CoreException {
+        final IJavaProject javaProject = getJavaProject(args);
+        final TestInfo info = createTestInfo(args, javaProject);
         final ILaunchConfiguration configuration = new JUnitLaunchConfiguration("JUnit Launch Configuration", info);
-        final JUnitLaunchConfigurationDelegate delegate = new JUnitLaunchConfigurationDelegate(args);
+        final JUnitLaunchConfigurationDelegate delegate = new JUnitLaunchConfigurationDelegate(args,
+                classpathCache);
 
         if (monitor.isCanceled()) {
             return null;
@@ -137,6 +164,8 @@ public class JUnitLaunchUtils {
         if (TESTNG_LOADER.equals(info.testKind)) {
             // TestNG is not suported yet, we only use the junit launch configuration to resolve the classpath
             result = resolveTestNGLaunchArguments(configuration, javaProject, delegate);
+        } else if (JUNIT_PLATFORM_LAUNCHER.equals(args.launcher)) {
+            result = resolveJUnitPlatformLaunchArguments(args, configuration, delegate, monitor);
         } else {
             result = delegate.getJUnitLaunchArguments(configuration, "run", monitor);
         }
@@ -154,6 +183,173 @@ public class JUnitLaunchUtils {
         return result;
     }
 
+    /**
+     * Resolve the arguments to launch the Eclipse test runner for the requests, and merge the JUnit class level
+     * requests into as few launches as possible, so the tests of many small projects can run in one JVM instead
+     * of paying the JVM startup for each project. The requests of the same test kind are merged when they run in
+     * the same working directory, and their classpaths neither contain different versions of the same artifact
+     * nor declare the same class in different output folders. The requests which use the modulepath or cannot be
+     * merged are resolved as they are.
+     * @param arguments the requests serialized as a JSON array, each of them has the same format as the argument
+     *                  of {@link #resolveLaunchArgument(List, IProgressMonitor)}, and the optional working
+     *                  directory of the launch configuration, which defaults to the location of the project
+     * @param monitor
+     * @return one response for each launch, whose {@link JUnitLaunchArguments#projectNames} are the projects of
+     *         the requests merged into it, the test names are passed in the order of the projects
+     */
+    public static List<Response<JUnitLaunchArguments>> resolveMergedLaunchArguments(List<Object> arguments,
+            IProgressMonitor monitor) {
+        final Gson gson = new Gson();
+        final Argument[] args = gson.fromJson((String) arguments.get(0), Argument[].class);
+        final Map<String, CompletableFuture<String[][]>> classpathCache = new ConcurrentHashMap<>();
+        final List<String[][]> paths = Arrays.stream(args).parallel()
+                .map(arg -> canMerge(arg) ? resolveClasspathAndModulepath(arg, classpathCache) : null)
+                .collect(Collectors.toList());
+
+        final List<List<Argument>> groups = new ArrayList<>();
+        final List<ClasspathMerger> mergers = new ArrayList<>();
+        final List<String> workingDirectories = new ArrayList<>();
+        final Map<String, Set<String>> classFilesByFolder = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            final String[][] path = paths.get(i);
+            final String workingDirectory = path == null ? null : getWorkingDirectory(args[i]);
+            if (path == null || path[0] == null || ArrayUtils.isNotEmpty(path[1]) || workingDirectory == null) {
+                groups.add(new ArrayList<>(Arrays.asList(args[i])));
+                mergers.add(null);
+                workingDirectories.add(null);
+                continue;
+            }
+            boolean merged = false;
+            for (int j = 0; j < groups.size() && !merged; j++) {
+                final ClasspathMerger merger = mergers.get(j);
+                if (merger != null && groups.get(j).get(0).testKind == args[i].testKind &&
+                        workingDirectory.equals(workingDirectories.get(j)) && merger.add(path[0])) {
+                    groups.get(j).add(args[i]);
+                    merged = true;
+                }
+            }
+            if (!merged) {
+                final ClasspathMerger merger = new ClasspathMerger(classFilesByFolder);
+                merger.add(path[0]);
+                groups.add(new ArrayList<>(Arrays.asList(args[i])));
+                mergers.add(merger);
+                workingDirectories.add(workingDirectory);
+            }
+        }
+
+        return IntStream.range(0, groups.size()).parallel().mapToObj(i -> {
+            final List<Argument> group = groups.get(i);
+            try {
+                final Response<JUnitLaunchArguments> result = resolveLaunchArgument(mergeArguments(group),
+                        classpathCache, monitor);
+                if (result != null && result.getStatus() == Response.OK) {
+                    result.getBody().projectNames = group.stream().map(arg -> arg.projectName).toArray(String[]::new);
+                    if (group.size() > 1) {
+                        result.getBody().classpath = mergers.get(i).getClasspath();
+                    }
+                }
+                return result;
+            } catch (URISyntaxException | CoreException | RuntimeException e) {
+                JUnitPlugin.logException("Failed to resolve the launch arguments for the project: " +
+                        group.get(0).projectName, e);
+                return new Response<JUnitLaunchArguments>(null, e.getMessage());
+            }
+        }).collect(Collectors.toList());
+    }
+
+    /**
+     * Whether the request can be merged with the others: only the JUnit class level requests are merged, since
+     * the method level requests, the TestNG requests and the JUnit Platform launcher requests are launched in
+     * their own ways.
+     */
+    private static boolean canMerge(Argument args) {
+        return args.testKind != TestKind.TestNG && args.testLevel == TestLevel.CLASS &&
+                ArrayUtils.isNotEmpty(args.testNames) && StringUtils.isBlank(args.uniqueId) &&
+                StringUtils.isBlank(args.launcher);
+    }
+
+    /**
+     * Get the classpath and modulepath of the request, or <code>null</code> if they cannot be resolved.
+     */
+    private static String[][] resolveClasspathAndModulepath(Argument args,
+            Map<String, CompletableFuture<String[][]>> classpathCache) {
+        try {
+            final IJavaProject javaProject = getJavaProject(args);
+            final ILaunchConfiguration configuration = new JUnitLaunchConfiguration("JUnit Launch Configuration",
+                    createTestInfo(args, javaProject));
+            return new JUnitLaunchConfigurationDelegate(args, classpathCache).getClasspathAndModulepath(configuration);
+        } catch (CoreException | RuntimeException e) {
+            JUnitPlugin.logException("Failed to resolve the classpath for the project: " + args.projectName, e);
+            return null;
+        }
+    }
+
+    /**
+     * Get the working directory which the request is launched in, or <code>null</code> if it cannot be resolved.
+     */
+    private static String getWorkingDirectory(Argument args) {
+        if (StringUtils.isNotBlank(args.workingDirectory)) {
+            return args.workingDirectory;
+        }
+        final IJavaProject javaProject = ProjectUtils.getJavaProject(args.projectName);
+        if (javaProject == null) {
+            return null;
+        }
+        final IPath location = ProjectUtils.isUnmanagedFolder(javaProject.getProject()) ?
+                ProjectUtils.getProjectRealFolder(javaProject.getProject()) : javaProject.getProject().getLocation();
+        return location == null ? null : location.toOSString();
+    }
+
+    /**
+     * Merge the class level requests into one request, which runs all their test classes with the project of the
+     * first request.
+     */
+    private static Argument mergeArguments(List<Argument> group) {
+        if (group.size() == 1) {
+            return group.get(0);
+        }
+        final Argument merged = new Argument();
+        merged.projectName = group.get(0).projectName;
+        merged.testLevel = TestLevel.CLASS;
+        merged.testKind = group.get(0).testKind;
+        merged.testNames = group.stream().flatMap(arg -> Arrays.stream(arg.testNames)).toArray(String[]::new);
+        // the handles are only used when all the test classes can be resolved by them
+        if (group.stream().allMatch(arg -> arg.testHandles != null &&
+                arg.testHandles.length == arg.testNames.length)) {
+            merged.testHandles = group.stream().flatMap(arg -> Arrays.stream(arg.testHandles))
+                    .toArray(String[]::new);
+        }
+        return merged;
+    }
+
+    private static IJavaProject getJavaProject(Argument args) {
+        final IJavaProject javaProject = ProjectUtils.getJavaProject(args.projectName);
+        if (javaProject == null || !javaProject.exists()) {
+            JUnitPlugin.logError("Failed to get the project: " + args.projectName);
+            throw new RuntimeException("Failed to get the project: " + args.projectName);
+        }
+        return javaProject;
+    }
+
+    private static TestInfo createTestInfo(Argument args, IJavaProject javaProject) {
+        final TestInfo info = new TestInfo();
+
+        info.testKind = getEclipseTestKind(args.testKind);
+        info.project = javaProject.getProject();
+        // TestNG's argument will be resolved at client side
+        if (!Objects.equals(info.testKind, TESTNG_LOADER)) {
+            if (ArrayUtils.isNotEmpty(args.testNames)) {
+                if (args.testLevel == TestLevel.CLASS) {
+                    info.mainType = args.testNames[0].substring(args.testNames[0].indexOf("@") + 1);
+                } else if (args.testLevel == TestLevel.METHOD) {
+                    final IMethod method = (IMethod) JavaCore.create(args.testNames[0]);
+                    info.mainType = method.getDeclaringType().getFullyQualifiedName();
+                }
+            }
+        }
+        return info;
+    }
+
     public static void addOverrideDependencies(List<String> vmArgs, String dependencies) {
         if (dependencies != null && dependencies.length() > 0) {
             final String[] parseArguments = DebugPlugin.parseArguments(dependencies);
@@ -161,6 +357,27 @@ public class JUnitLaunchUtils {
         }
     }
 
+    /**
+     * Resolve the arguments to run the JUnit 5 and JUnit 6 tests with the JUnit Platform launcher of the bundled
+     * test runner. The classpath resolved for the Eclipse test runner already contains the JUnit Platform
+     * launcher, only the main class is replaced, and the tests are passed by the client, as for TestNG.
+     */
+    private static Response<JUnitLaunchArguments> resolveJUnitPlatformLaunchArguments(Argument args,
+            ILaunchConfiguration configuration, JUnitLaunchConfigurationDelegate delegate, IProgressMonitor monitor)
+            throws CoreException {
+        if (args.testKind != TestKind.JUnit5 && args.testKind != TestKind.JUnit6) {
+            return new Response<>(null, "The JUnit Platform launcher does not support the test kind: " +
+                    args.testKind.name() + ".");
+        }
+        final Response<JUnitLaunchArguments> result = delegate.getJUnitLaunchArguments(configuration, "run",
+                monitor);
+        if (result != null && result.getStatus() == Response.OK) {
+            result.getBody().mainClass = TEST_RUNNER_MAIN_CLASS;
+            result.getBody().programArguments = new String[0];
+        }
+        return result;
+    }
+
     private static Response<JUnitLaunchArguments> resolveTestNGLaunchArguments(ILaunchConfiguration configuration,
             IJavaProject javaProject, JUnitLaunchConfigurationDelegate delegate) throws CoreException {
         final IRuntimeClasspathEntry[] unresolved = JavaRuntime.computeUnresolvedRuntimeClasspath(configuration);
@@ -253,12 +470,18 @@ public class JUnitLaunchUtils {
         }
     }
 
-    class Argument {
+    static class Argument {
         public String projectName;
         public TestLevel testLevel;
         public TestKind testKind;
         public String[] testNames;
         public String[] testHandles;
         public String uniqueId;
+        public String workingDirectory;
+        /**
+         * The launcher of the bundled test runner, e.g. {@link #JUNIT_PLATFORM_LAUNCHER}, or <code>null</code> to
+         * launch the tests with the Eclipse test runner.
+         */
+        public String launcher;
     }
 }
@@ -0,0 +1,28 @@
+/*******************************************************************************
+* Copyright (c) 2026 Microsoft Corporation and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License v1.0
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v10.html
+*
+* Contributors:
+*     Microsoft Corporation - initial API and implementation
+*******************************************************************************/
+
+package com.microsoft.java.test.plugin.model;
+
+import java.util.List;
+
+/**
+ * The test items found in a file, which are <code>stale</code> if they were found before the pending changes of
+ * the file are applied, and the caller should refresh them later.
+ */
+public class TestItemsResult {
+    public List<JavaTestItem> items;
+    public boolean stale;
+
+    public TestItemsResult(List<JavaTestItem> items, boolean stale) {
+        this.items = items;
+        this.stale = stale;
+    }
+}
@@ -15,6 +15,7 @@ import com.microsoft.java.test.plugin.model.JavaTestItem;
 import com.microsoft.java.test.plugin.model.TestKind;
 import com.microsoft.java.test.plugin.model.TestLevel;
 import com.microsoft.java.test.plugin.util.TestItemUtils;
+import com.microsoft.java.test.plugin.util.TraceRecorder;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.IPath;
@@ -36,6 +37,7 @@ public class JavaTestItemBuilder {
     private IJavaElement element;
     private TestLevel level;
     private TestKind kind;
+    private boolean lightweight;
 
     public JavaTestItemBuilder setJavaElement(IJavaElement element) {
         this.element = element;
@@ -52,11 +54,27 @@ public class JavaTestItemBuilder {
         return this;
     }
 
+    /**
+     * Build the item only from the handle of the element, for the bulk discovery of the test classes. The label
+     * of a class is its simple name, without the type parameters, and its range is not computed, so the source
+     * of the class is not read. The range can be resolved later by the location of the item.
+     */
+    public JavaTestItemBuilder setLightweight(boolean lightweight) {
+        this.lightweight = lightweight;
+        return this;
+    }
+
     public JavaTestItem build() throws JavaModelException {
         if (this.element == null || this.level == null || this.kind == null) {
             throw new IllegalArgumentException("Failed to build Java test item due to missing arguments");
         }
 
+        try (TraceRecorder.Span span = TraceRecorder.begin("buildTestItem", this.element.getElementName())) {
+            return buildTestItem();
+        }
+    }
+
+    private JavaTestItem buildTestItem() throws JavaModelException {
         final String displayName;
         String uri = null;
         if (this.element instanceof IJavaProject) {
@@ -71,6 +89,8 @@ public class JavaTestItemBuilder {
             }
         } else if (this.element instanceof IPackageFragment && ((IPackageFragment) this.element).isDefaultPackage()) {
             displayName = DEFAULT_PACKAGE_NAME;
+        } else if (this.lightweight && this.level == TestLevel.CLASS) {
+            displayName = this.element.getElementName();
         } else {
             displayName = JavaElementLabelsCore.getElementLabel(this.element, JavaElementLabelsCore.ALL_DEFAULT);
         }
@@ -79,7 +99,7 @@ public class JavaTestItemBuilder {
             uri = JDTUtils.getFileURI(this.element.getResource());
         }
         Range range = null;
-        if (this.level == TestLevel.CLASS || this.level == TestLevel.METHOD) {
+        if (!this.lightweight && (this.level == TestLevel.CLASS || this.level == TestLevel.METHOD)) {
             range = TestItemUtils.parseTestItemRange(this.element);
         }
 
@@ -0,0 +1,336 @@
+/*******************************************************************************
+* Copyright (c) 2026 Microsoft Corporation and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License v1.0
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v10.html
+*
+* Contributors:
+*     Microsoft Corporation - initial API and implementation
+*******************************************************************************/
+
+package com.microsoft.java.test.plugin.util;
+
+import com.google.gson.Gson;
+import com.microsoft.java.test.plugin.model.TestKind;
+import com.microsoft.java.test.plugin.provider.TestKindProvider;
+
+import org.apache.commons.lang3.StringUtils;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTRequestor;
+import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.eclipse.jdt.core.dom.Modifier;
+import org.eclipse.jdt.internal.corext.refactoring.changes.CreateCompilationUnitChange;
+import org.eclipse.jdt.ls.core.internal.ChangeUtil;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.lsp4j.MessageType;
+import org.eclipse.lsp4j.WorkspaceEdit;
+import org.eclipse.ltk.core.refactoring.CompositeChange;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Generate the test skeletons for all the classes in a project, a source folder or a package without asking
+ * the client, according to a generation policy.
+ */
+@SuppressWarnings("restriction")
+public class BulkTestGenerationUtils {
+
+    private static final String CLASS_NAME_PLACEHOLDER = "${className}";
+    private static final String DEFAULT_NAME_PATTERN = CLASS_NAME_PLACEHOLDER + "Test";
+
+    /**
+     * The minimum number of compilation units parsed by one parser, a parser has to build its own lookup
+     * environment, so splitting a few units across the threads does not pay off.
+     */
+    private static final int MIN_UNITS_PER_PARSER = 16;
+
+    private BulkTestGenerationUtils() {}
+
+    /**
+     * Generate a new test class for each class in the given Java element. The ASTs of the classes are parsed
+     * in parallel, and all the test classes are returned in a single workspace edit. The classes which already
+     * have a test class with the expected name are skipped.
+     *
+     * @param arguments the first argument is the JSON string of the {@link Argument}
+     * @param monitor Progress monitor
+     */
+    public static WorkspaceEdit generateTestsInBulk(List<Object> arguments, IProgressMonitor monitor)
+            throws CoreException {
+        if (arguments == null || arguments.isEmpty()) {
+            throw new IllegalArgumentException("Wrong arguments passed to generate tests in bulk");
+        }
+
+        final Argument args = new Gson().fromJson((String) arguments.get(0), Argument.class);
+        final String namePattern = StringUtils.isEmpty(args.namePattern) ? DEFAULT_NAME_PATTERN : args.namePattern;
+        if (!namePattern.contains(CLASS_NAME_PLACEHOLDER)) {
+            throw new IllegalArgumentException("The name pattern must contain " + CLASS_NAME_PLACEHOLDER);
+        }
+
+        final IJavaElement element = JavaCore.create(args.handlerId);
+        if (element == null || !element.exists()) {
+            JUnitPlugin.logError("Failed to parse the Java element from JDT handler ID: " + args.handlerId);
+            return null;
+        }
+        final IJavaProject javaProject = element.getJavaProject();
+
+        final TestKind testKind = determineTestKind(javaProject, args.testKind);
+        if (testKind == null) {
+            showError("Cannot find the unit test framework in the project, please make sure it's on the classpath.");
+            return null;
+        }
+
+        IClasspathEntry testEntry = null;
+        if (StringUtils.isNotEmpty(args.testSourcePath)) {
+            testEntry = findSourceEntry(javaProject, args.testSourcePath);
+            if (testEntry == null) {
+                showError("Cannot find the source folder: " + args.testSourcePath);
+                return null;
+            }
+        }
+
+        final List<ICompilationUnit> units = collectCompilationUnits(element);
+        final SubMonitor subMonitor = SubMonitor.convert(monitor, "Generating tests", 2 * units.size());
+        // shared by all the classes, so their common super classes are only walked once
+        final TestGenerationContext context = new TestGenerationContext();
+        final List<TypeInfo> types = collectTypes(context, javaProject, units, args.includeInheritedMethods,
+                subMonitor.split(units.size()));
+
+        final CompositeChange change = new CompositeChange("Generate tests");
+        final Set<String> testUnits = new HashSet<>();
+        final SubMonitor generationMonitor = subMonitor.split(units.size()).setWorkRemaining(types.size());
+        for (final TypeInfo type : types) {
+            generationMonitor.split(1);
+            final IClasspathEntry entry = testEntry != null ? testEntry :
+                    TestGenerationUtils.getTestClasspathEntry(javaProject, type.unit);
+            if (entry == null) {
+                continue;
+            }
+            final String testName = type.packagePrefix + namePattern.replace(CLASS_NAME_PLACEHOLDER, type.typeName);
+            final ICompilationUnit testUnit = TestGenerationUtils.getTestCompilationUnit(javaProject, entry,
+                    testName);
+            if (testUnit.exists() || !testUnits.add(testUnit.getHandleIdentifier())) {
+                continue;
+            }
+            final String content = TestGenerationUtils.constructNewCU(testUnit, type.methods, testKind);
+            change.add(new CreateCompilationUnitChange(testUnit, content, ""));
+        }
+
+        if (change.getChildren().length == 0) {
+            return null;
+        }
+        return ChangeUtil.convertToWorkspaceEdit(change);
+    }
+
+    private static TestKind determineTestKind(IJavaProject javaProject, TestKind requestedKind) {
+        final List<TestKind> testKinds = TestKindProvider.getTestKindsFromCache(javaProject);
+        if (requestedKind != null) {
+            return testKinds.contains(requestedKind) ? requestedKind : null;
+        }
+        return testKinds.isEmpty() ? null : testKinds.get(0);
+    }
+
+    private static IClasspathEntry findSourceEntry(IJavaProject javaProject, String sourcePath)
+            throws JavaModelException {
+        final Path path = new Path(sourcePath);
+        for (final IClasspathEntry entry : SearchScopeCache.getSourceEntries(javaProject)) {
+            if (entry.getPath().equals(path) || entry.getPath().equals(javaProject.getPath().append(path))) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private static List<ICompilationUnit> collectCompilationUnits(IJavaElement element) throws JavaModelException {
+        final List<IPackageFragmentRoot> roots = new LinkedList<>();
+        switch (element.getElementType()) {
+            case IJavaElement.JAVA_PROJECT:
+                roots.addAll(SearchScopeCache.getMainRoots((IJavaProject) element));
+                break;
+            case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+                roots.add((IPackageFragmentRoot) element);
+                break;
+            case IJavaElement.PACKAGE_FRAGMENT:
+                return Arrays.asList(((IPackageFragment) element).getCompilationUnits());
+            default:
+                throw new IllegalArgumentException("Tests can only be generated for a project, a source folder " +
+                        "or a package in bulk.");
+        }
+
+        final List<ICompilationUnit> units = new ArrayList<>();
+        for (final IPackageFragmentRoot root : roots) {
+            if (root.getKind() != IPackageFragmentRoot.K_SOURCE) {
+                continue;
+            }
+            for (final IJavaElement child : root.getChildren()) {
+                units.addAll(Arrays.asList(((IPackageFragment) child).getCompilationUnits()));
+            }
+        }
+        return units;
+    }
+
+    /**
+     * Parse the compilation units in parallel and collect the types to generate tests for, in the order of
+     * the compilation units.
+     */
+    private static List<TypeInfo> collectTypes(TestGenerationContext context, IJavaProject javaProject,
+            List<ICompilationUnit> units, boolean includeInheritedMethods, SubMonitor monitor) {
+        final int parserCount = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(),
+                units.size() / MIN_UNITS_PER_PARSER));
+        final List<List<ICompilationUnit>> chunks = new ArrayList<>(parserCount);
+        final int chunkSize = (units.size() + parserCount - 1) / parserCount;
+        for (int i = 0; i < units.size(); i += chunkSize) {
+            chunks.add(units.subList(i, Math.min(units.size(), i + chunkSize)));
+        }
+
+        final Map<ICompilationUnit, List<TypeInfo>> typesByUnit = new ConcurrentHashMap<>();
+        chunks.parallelStream().forEach(chunk -> {
+            final ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
+            parser.setProject(javaProject);
+            parser.setResolveBindings(true);
+            parser.setBindingsRecovery(true);
+            parser.createASTs(chunk.toArray(new ICompilationUnit[0]), new String[0], new ASTRequestor() {
+                @Override
+                public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+                    if (monitor.isCanceled()) {
+                        throw new OperationCanceledException();
+                    }
+                    typesByUnit.put(source, getTypes(context, source, ast, includeInheritedMethods));
+                    synchronized (monitor) {
+                        monitor.worked(1);
+                    }
+                }
+            }, null);
+        });
+
+        final List<TypeInfo> types = new ArrayList<>();
+        for (final ICompilationUnit unit : units) {
+            types.addAll(typesByUnit.getOrDefault(unit, Collections.emptyList()));
+        }
+        return types;
+    }
+
+    private static List<TypeInfo> getTypes(TestGenerationContext context, ICompilationUnit unit,
+            CompilationUnit ast, boolean includeInheritedMethods) {
+        final List<TypeInfo> types = new LinkedList<>();
+        for (final Object node : ast.types()) {
+            final ITypeBinding binding = ((AbstractTypeDeclaration) node).resolveBinding();
+            // interfaces and annotations have nothing to test, and the existing tests are skipped.
+            if (binding == null || binding.isInterface() || binding.getName().endsWith("Test") ||
+                    binding.getName().endsWith("Tests")) {
+                continue;
+            }
+            final String className = TestGenerationUtils.getClassName(binding);
+            final int lastDot = className.lastIndexOf('.');
+            types.add(new TypeInfo(unit, className.substring(0, lastDot + 1), className.substring(lastDot + 1),
+                    getMethodsToTest(context, binding, includeInheritedMethods)));
+        }
+        return types;
+    }
+
+    /**
+     * The non-interactive version of TestGenerationUtils#getMethodsToTest(), the overloaded methods share
+     * one test method.
+     */
+    private static List<String> getMethodsToTest(TestGenerationContext context, ITypeBinding typeBinding,
+            boolean includeInheritedMethods) {
+        final Set<String> methods = new LinkedHashSet<>();
+        for (final IMethodBinding method : context.getDeclaredMethods(typeBinding)) {
+            if (!method.isConstructor() && !Modifier.isPrivate(method.getModifiers()) && !method.isSynthetic()) {
+                methods.add(method.getName());
+            }
+        }
+
+        if (includeInheritedMethods) {
+            ITypeBinding superClass = typeBinding.getSuperclass();
+            while (superClass != null && !"java.lang.Object".equals(superClass.getBinaryName())) {
+                for (final IMethodBinding method : context.getDeclaredMethods(superClass)) {
+                    if (!method.isConstructor() && !method.isSynthetic() &&
+                            TestGenerationUtils.isAccessible(method, typeBinding)) {
+                        methods.add(method.getName());
+                    }
+                }
+                superClass = superClass.getSuperclass();
+            }
+        }
+        return new ArrayList<>(methods);
+    }
+
+    private static void showError(String message) {
+        JavaLanguageServerPlugin.getInstance().getClientConnection().showNotificationMessage(MessageType.Error,
+                message);
+    }
+
+    private static class TypeInfo {
+        final ICompilationUnit unit;
+
+        /**
+         * Package name followed by '.', or empty for the default package
+         */
+        final String packagePrefix;
+        final String typeName;
+        final List<String> methods;
+
+        TypeInfo(ICompilationUnit unit, String packagePrefix, String typeName, List<String> methods) {
+            this.unit = unit;
+            this.packagePrefix = packagePrefix;
+            this.typeName = typeName;
+            this.methods = methods;
+        }
+    }
+
+    /**
+     * The policy of the bulk generation.
+     */
+    static class Argument {
+        /**
+         * JDT handler ID of the project, the source folder or the package to generate tests for
+         */
+        public String handlerId;
+
+        /**
+         * Test framework of the generated tests, defaults to the first one found in the project
+         */
+        public TestKind testKind;
+
+        /**
+         * Name of the generated test classes, where <code>${className}</code> is replaced by the name of the
+         * class to test. Defaults to <code>${className}Test</code>
+         */
+        public String namePattern;
+
+        /**
+         * Path of the source folder where the tests are generated, either relative to the project or the full
+         * path in the workspace. Defaults to the test source folder of the project
+         */
+        public String testSourcePath;
+
+        public boolean includeInheritedMethods;
+    }
+}
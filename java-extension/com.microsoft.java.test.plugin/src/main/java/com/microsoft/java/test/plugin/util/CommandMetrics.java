@@ -0,0 +1,322 @@
+/*******************************************************************************
+* Copyright (c) 2026 Microsoft Corporation and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License v1.0
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v10.html
+*
+* Contributors:
+*     Microsoft Corporation - initial API and implementation
+*******************************************************************************/
+
+package com.microsoft.java.test.plugin.util;
+
+import com.google.gson.Gson;
+import com.microsoft.java.test.plugin.model.Response;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The latency, result size, cancellation and allocation metrics of the delegate commands, recorded by
+ * {@link com.microsoft.java.test.plugin.handler.TestDelegateCommandHandler} for every command it executes.
+ *
+ * The latencies are kept in histograms with power of two millisecond buckets, so recording a command costs a few
+ * atomic increments. The allocated bytes are only recorded when the JVM supports per thread allocation counters.
+ */
+public final class CommandMetrics {
+
+    /**
+     * Upper bounds of the latency buckets in milliseconds, the last bucket holds everything above.
+     */
+    private static final long[] BUCKET_BOUNDS = { 1, 2, 4, 8, 16, 32, 64, 128, 256, 512, 1024, 2048, 4096, 8192,
+        16384, 32768 };
+
+    /**
+     * Command id -> metrics of the command
+     */
+    private static final Map<String, CommandStats> STATS = new ConcurrentHashMap<>();
+
+    private static final ThreadMXBean THREAD_BEAN = ManagementFactory.getThreadMXBean();
+
+    /**
+     * <code>com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)</code>, or <code>null</code> if the JVM
+     * does not support it. It's looked up reflectively since <code>com.sun.management</code> is not imported by
+     * the bundle.
+     */
+    private static final Method GET_THREAD_ALLOCATED_BYTES = findGetThreadAllocatedBytes();
+
+    private static MetricsLogJob logJob;
+
+    private CommandMetrics() {}
+
+    /**
+     * Start recording a command, the returned sample must be finished when the command completes.
+     */
+    public static Sample start(String commandId) {
+        return new Sample(commandId);
+    }
+
+    /**
+     * Get the metrics of the delegate commands. The optional argument is a JSON object with the following fields:
+     * <ul>
+     * <li><code>reset</code>: whether to clear the metrics after they are returned</li>
+     * <li><code>logIntervalSeconds</code>: write the metrics to the plugin log periodically with the given
+     * interval, <code>0</code> stops the logging</li>
+     * </ul>
+     */
+    public static List<CommandSummary> getCommandMetrics(List<Object> arguments, IProgressMonitor monitor) {
+        final Argument args = arguments == null || arguments.isEmpty() || arguments.get(0) == null ?
+                new Argument() : new Gson().fromJson((String) arguments.get(0), Argument.class);
+        final List<CommandSummary> result = getSummaries();
+        if (args.reset) {
+            STATS.clear();
+        }
+        if (args.logIntervalSeconds != null) {
+            scheduleLogging(args.logIntervalSeconds);
+        }
+        return result;
+    }
+
+    /**
+     * Stop writing the metrics to the plugin log.
+     */
+    public static synchronized void stopLogging() {
+        if (logJob != null) {
+            logJob.cancel();
+            logJob = null;
+        }
+    }
+
+    private static synchronized void scheduleLogging(int intervalSeconds) {
+        stopLogging();
+        if (intervalSeconds > 0) {
+            logJob = new MetricsLogJob(intervalSeconds * 1000L);
+            logJob.schedule(logJob.interval);
+        }
+    }
+
+    private static List<CommandSummary> getSummaries() {
+        final List<CommandSummary> result = new ArrayList<>();
+        for (final Map.Entry<String, CommandStats> entry : new TreeMap<>(STATS).entrySet()) {
+            result.add(entry.getValue().summarize(entry.getKey()));
+        }
+        return result;
+    }
+
+    private static long getAllocatedBytes() {
+        if (GET_THREAD_ALLOCATED_BYTES == null) {
+            return -1;
+        }
+        try {
+            return (long) GET_THREAD_ALLOCATED_BYTES.invoke(THREAD_BEAN, Thread.currentThread().getId());
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return -1;
+        }
+    }
+
+    private static Method findGetThreadAllocatedBytes() {
+        for (final Class<?> type : THREAD_BEAN.getClass().getInterfaces()) {
+            if (!"com.sun.management.ThreadMXBean".equals(type.getName())) {
+                continue;
+            }
+            try {
+                if (!(boolean) type.getMethod("isThreadAllocatedMemorySupported").invoke(THREAD_BEAN)) {
+                    return null;
+                }
+                type.getMethod("setThreadAllocatedMemoryEnabled", boolean.class).invoke(THREAD_BEAN, true);
+                return type.getMethod("getThreadAllocatedBytes", long.class);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the number of the items in the result of a command, which is the size of the collection, the array or
+     * the body of the {@link Response}, or 1 for any other non-null result.
+     */
+    static int getResultSize(Object result) {
+        if (result == null) {
+            return 0;
+        } else if (result instanceof Response) {
+            return getResultSize(((Response<?>) result).getBody());
+        } else if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        } else if (result instanceof Map) {
+            return ((Map<?, ?>) result).size();
+        } else if (result instanceof Object[]) {
+            return ((Object[]) result).length;
+        }
+        return 1;
+    }
+
+    static int getBucket(long millis) {
+        for (int i = 0; i < BUCKET_BOUNDS.length; i++) {
+            if (millis < BUCKET_BOUNDS[i]) {
+                return i;
+            }
+        }
+        return BUCKET_BOUNDS.length;
+    }
+
+    /**
+     * The measurement of one command execution.
+     */
+    public static final class Sample {
+        private final String commandId;
+        private final long startNanos;
+        private final long startAllocatedBytes;
+
+        private Sample(String commandId) {
+            this.commandId = commandId;
+            this.startAllocatedBytes = getAllocatedBytes();
+            this.startNanos = System.nanoTime();
+        }
+
+        /**
+         * Record the command.
+         * @param result the result of the command, <code>null</code> if it failed
+         * @param canceled whether the command was canceled
+         * @param failed whether the command threw an exception
+         */
+        public void finish(Object result, boolean canceled, boolean failed) {
+            final long elapsedNanos = System.nanoTime() - startNanos;
+            final long endAllocatedBytes = startAllocatedBytes < 0 ? -1 : getAllocatedBytes();
+            final long allocatedBytes = endAllocatedBytes < 0 ? -1 : endAllocatedBytes - startAllocatedBytes;
+            STATS.computeIfAbsent(commandId, k -> new CommandStats())
+                    .record(elapsedNanos, getResultSize(result), canceled, failed, allocatedBytes);
+        }
+    }
+
+    private static final class CommandStats {
+        final AtomicLong count = new AtomicLong();
+        final AtomicLong failures = new AtomicLong();
+        final AtomicLong cancellations = new AtomicLong();
+        final AtomicLong totalNanos = new AtomicLong();
+        final AtomicLong maxNanos = new AtomicLong();
+        final AtomicLong totalResultSize = new AtomicLong();
+        final AtomicLong allocationSamples = new AtomicLong();
+        final AtomicLong totalAllocatedBytes = new AtomicLong();
+        final AtomicLongArray histogram = new AtomicLongArray(BUCKET_BOUNDS.length + 1);
+
+        void record(long elapsedNanos, int resultSize, boolean canceled, boolean failed, long allocatedBytes) {
+            count.incrementAndGet();
+            if (failed) {
+                failures.incrementAndGet();
+            }
+            if (canceled) {
+                cancellations.incrementAndGet();
+            }
+            totalNanos.addAndGet(elapsedNanos);
+            maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+            totalResultSize.addAndGet(resultSize);
+            if (allocatedBytes >= 0) {
+                allocationSamples.incrementAndGet();
+                totalAllocatedBytes.addAndGet(allocatedBytes);
+            }
+            histogram.incrementAndGet(getBucket(elapsedNanos / 1_000_000));
+        }
+
+        CommandSummary summarize(String commandId) {
+            final CommandSummary summary = new CommandSummary();
+            summary.commandId = commandId;
+            summary.count = count.get();
+            summary.failures = failures.get();
+            summary.cancellations = cancellations.get();
+            summary.meanMillis = summary.count == 0 ? 0 : totalNanos.get() / summary.count / 1_000_000.0;
+            summary.maxMillis = maxNanos.get() / 1_000_000.0;
+            summary.totalResultSize = totalResultSize.get();
+            final long samples = allocationSamples.get();
+            summary.meanAllocatedBytes = samples == 0 ? -1 : totalAllocatedBytes.get() / samples;
+            summary.histogramBoundsMillis = BUCKET_BOUNDS.clone();
+            summary.histogram = new long[histogram.length()];
+            for (int i = 0; i < summary.histogram.length; i++) {
+                summary.histogram[i] = histogram.get(i);
+            }
+            summary.p50Millis = getPercentile(summary.histogram, summary.count, 0.5);
+            summary.p90Millis = getPercentile(summary.histogram, summary.count, 0.9);
+            summary.p99Millis = getPercentile(summary.histogram, summary.count, 0.99);
+            return summary;
+        }
+
+        /**
+         * Get the upper bound of the bucket where the percentile falls, or <code>-1</code> if it is in the last
+         * bucket, which has no upper bound.
+         */
+        private static long getPercentile(long[] histogram, long count, double percentile) {
+            long seen = 0;
+            for (int i = 0; i < histogram.length; i++) {
+                seen += histogram[i];
+                if (seen > 0 && seen >= count * percentile) {
+                    return i < BUCKET_BOUNDS.length ? BUCKET_BOUNDS[i] : -1;
+                }
+            }
+            return 0;
+        }
+    }
+
+    private static final class MetricsLogJob extends Job {
+        final long interval;
+
+        MetricsLogJob(long interval) {
+            super("Log test command metrics");
+            this.interval = interval;
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(IProgressMonitor monitor) {
+            final List<CommandSummary> summaries = getSummaries();
+            if (!summaries.isEmpty()) {
+                JUnitPlugin.logInfo("Test command metrics: " + new Gson().toJson(summaries));
+            }
+            if (!monitor.isCanceled()) {
+                schedule(interval);
+            }
+            return Status.OK_STATUS;
+        }
+    }
+
+    public static final class CommandSummary {
+        public String commandId;
+        public long count;
+        public long failures;
+        public long cancellations;
+        public double meanMillis;
+        public double maxMillis;
+        /**
+         * Upper bounds of the latency buckets where the percentiles fall, <code>-1</code> if above all of them
+         */
+        public long p50Millis;
+        public long p90Millis;
+        public long p99Millis;
+        public long[] histogramBoundsMillis;
+        public long[] histogram;
+        public long totalResultSize;
+        /**
+         * <code>-1</code> if the JVM does not support measuring the allocated bytes
+         */
+        public long meanAllocatedBytes;
+    }
+
+    private static final class Argument {
+        boolean reset;
+        Integer logIntervalSeconds;
+    }
+}
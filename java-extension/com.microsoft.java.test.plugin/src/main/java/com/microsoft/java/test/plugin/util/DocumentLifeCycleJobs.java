@@ -0,0 +1,66 @@
+/*******************************************************************************
+* Copyright (c) 2026 Microsoft Corporation and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License v1.0
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v10.html
+*
+* Contributors:
+*     Microsoft Corporation - initial API and implementation
+*******************************************************************************/
+
+package com.microsoft.java.test.plugin.util;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.jobs.IJobManager;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.ls.core.internal.handlers.DocumentLifeCycleHandler;
+
+/**
+ * Waits for the document life cycle jobs of the language server, which apply the changes of the opened documents
+ * to the Java model, so the searches see the latest content of the documents.
+ */
+@SuppressWarnings("restriction")
+final class DocumentLifeCycleJobs {
+
+    private DocumentLifeCycleJobs() {}
+
+    /**
+     * Wait until all the document life cycle jobs are done.
+     */
+    static void join(IProgressMonitor monitor) throws InterruptedException {
+        try (TraceRecorder.Span span = TraceRecorder.begin("waitForDocumentLifeCycleJobs")) {
+            Job.getJobManager().join(DocumentLifeCycleHandler.DOCUMENT_LIFE_CYCLE_JOBS, monitor);
+        }
+    }
+
+    /**
+     * Wait until all the document life cycle jobs are done, or the timeout elapses. The jobs scheduled while
+     * waiting, e.g. when the user keeps typing, are waited for as well.
+     * @param timeoutMillis the maximum time to wait, a negative value waits without a timeout
+     * @return whether all the jobs are done
+     */
+    static boolean join(long timeoutMillis, IProgressMonitor monitor) throws InterruptedException {
+        if (timeoutMillis < 0) {
+            join(monitor);
+            return true;
+        }
+
+        try (TraceRecorder.Span span = TraceRecorder.begin("waitForDocumentLifeCycleJobs", timeoutMillis + "ms")) {
+            final IJobManager jobManager = Job.getJobManager();
+            final long deadline = System.currentTimeMillis() + timeoutMillis;
+            Job[] jobs;
+            while ((jobs = jobManager.find(DocumentLifeCycleHandler.DOCUMENT_LIFE_CYCLE_JOBS)).length > 0) {
+                for (final Job job : jobs) {
+                    final long remaining = deadline - System.currentTimeMillis();
+                    // Job.join(0, monitor) waits without a timeout
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    job.join(remaining, monitor);
+                }
+            }
+            return true;
+        }
+    }
+}
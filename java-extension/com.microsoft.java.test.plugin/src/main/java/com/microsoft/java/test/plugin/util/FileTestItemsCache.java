@@ -0,0 +1,211 @@
+/*******************************************************************************
+* Copyright (c) 2026 Microsoft Corporation and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License v1.0
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v10.html
+*
+* Contributors:
+*     Microsoft Corporation - initial API and implementation
+*******************************************************************************/
+
+package com.microsoft.java.test.plugin.util;
+
+import com.microsoft.java.test.plugin.model.JavaTestItem;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.ICompilationUnit;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A cache of the test items found in the compilation units, so the bursts of requests for the same file, e.g.
+ * while the user is typing or switching between the editors, share the result instead of parsing the file and
+ * building the same test items again. The requests for a whole file and for a class declared in it are cached
+ * under different keys of the same unit.
+ *
+ * Each version of a compilation unit, i.e. its content between two changes, is computed at most once: the
+ * concurrent requests for the same version wait for the one which is in flight, and the later ones get the
+ * memoized result. A change of the unit drops its current version, so the next request computes the new one,
+ * while the last items found are kept for the requests which cannot wait for the pending changes.
+ */
+public final class FileTestItemsCache {
+
+    private static final int MAX_ENTRIES = 256;
+
+    private static final long POLL_INTERVAL_MILLIS = 50;
+
+    /**
+     * Handle identifier of the compilation unit -> the test items found in it
+     */
+    private static final Map<String, UnitEntry> ENTRIES =
+            new LinkedHashMap<String, UnitEntry>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, UnitEntry> eldest) {
+                    return size() > MAX_ENTRIES;
+                }
+            };
+
+    private FileTestItemsCache() {}
+
+    /**
+     * Get the test items of the current version of the compilation unit, computed by the given finder if no
+     * other request has computed or is computing them. An empty list is returned if the request is canceled.
+     * @param key the key of the request in the unit, e.g. the uri of the file or the handle of a class
+     */
+    static List<JavaTestItem> get(ICompilationUnit unit, String key, Finder finder, IProgressMonitor monitor)
+            throws CoreException {
+        final String handleId = unit.getPrimary().getHandleIdentifier();
+        while (!monitor.isCanceled()) {
+            final CompletableFuture<List<JavaTestItem>> future = new CompletableFuture<>();
+            final CompletableFuture<List<JavaTestItem>> existing;
+            synchronized (ENTRIES) {
+                existing = ENTRIES.computeIfAbsent(handleId, k -> new UnitEntry()).current.putIfAbsent(key, future);
+            }
+            if (existing == null) {
+                return compute(handleId, key, future, finder, monitor);
+            }
+
+            final List<JavaTestItem> result = await(existing, monitor);
+            if (result != null) {
+                return result;
+            }
+            if (monitor.isCanceled() || Thread.currentThread().isInterrupted()) {
+                break;
+            }
+            // the computation in flight is canceled or failed, compute it in this request
+            remove(handleId, key, existing);
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Get the last test items found for the key, which may be computed from an earlier version of the unit.
+     * @return the test items, or <code>null</code> if none is found yet
+     */
+    static List<JavaTestItem> getLast(ICompilationUnit unit, String key) {
+        synchronized (ENTRIES) {
+            final UnitEntry entry = ENTRIES.get(unit.getPrimary().getHandleIdentifier());
+            return entry == null ? null : entry.last.get(key);
+        }
+    }
+
+    /**
+     * Drop the current version of the test items of the compilation unit since its content has changed.
+     */
+    public static void invalidate(ICompilationUnit unit) {
+        synchronized (ENTRIES) {
+            final UnitEntry entry = ENTRIES.get(unit.getPrimary().getHandleIdentifier());
+            if (entry != null) {
+                entry.current.clear();
+            }
+        }
+    }
+
+    /**
+     * Drop the current version of the test items of all the compilation units, e.g. since the supertypes or the
+     * annotations which they depend on may have changed.
+     */
+    public static void invalidateAll() {
+        synchronized (ENTRIES) {
+            for (final UnitEntry entry : ENTRIES.values()) {
+                entry.current.clear();
+            }
+        }
+    }
+
+    /**
+     * Drop all the test items, including the last ones.
+     */
+    static void clear() {
+        synchronized (ENTRIES) {
+            ENTRIES.clear();
+        }
+    }
+
+    private static List<JavaTestItem> compute(String handleId, String key,
+            CompletableFuture<List<JavaTestItem>> future, Finder finder, IProgressMonitor monitor)
+            throws CoreException {
+        try {
+            List<JavaTestItem> result = finder.find();
+            if (result == null) {
+                result = Collections.emptyList();
+            }
+            if (monitor.isCanceled()) {
+                // the result may be incomplete, let the waiting requests compute it again
+                remove(handleId, key, future);
+                future.cancel(false);
+            } else {
+                synchronized (ENTRIES) {
+                    final UnitEntry entry = ENTRIES.get(handleId);
+                    if (entry != null) {
+                        entry.last.put(key, result);
+                    }
+                }
+                future.complete(result);
+            }
+            return result;
+        } catch (CoreException | RuntimeException e) {
+            remove(handleId, key, future);
+            future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Wait for the computation in flight, <code>null</code> is returned if it is canceled or failed, or the
+     * waiting request is canceled.
+     */
+    private static List<JavaTestItem> await(CompletableFuture<List<JavaTestItem>> future, IProgressMonitor monitor) {
+        while (!monitor.isCanceled()) {
+            try {
+                return future.get(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                continue;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (ExecutionException | CancellationException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static void remove(String handleId, String key, CompletableFuture<List<JavaTestItem>> future) {
+        synchronized (ENTRIES) {
+            final UnitEntry entry = ENTRIES.get(handleId);
+            if (entry != null) {
+                entry.current.remove(key, future);
+            }
+        }
+    }
+
+    private static class UnitEntry {
+        /**
+         * Key of the request -> the test items of the current version
+         */
+        final Map<String, CompletableFuture<List<JavaTestItem>>> current = new HashMap<>();
+
+        /**
+         * Key of the request -> the last test items found
+         */
+        final Map<String, List<JavaTestItem>> last = new HashMap<>();
+    }
+
+    interface Finder {
+        List<JavaTestItem> find() throws CoreException;
+    }
+}
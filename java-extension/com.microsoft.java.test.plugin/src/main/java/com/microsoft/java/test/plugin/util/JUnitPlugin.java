@@ -12,6 +12,8 @@
 package com.microsoft.java.test.plugin.util;
 
 import com.microsoft.java.test.plugin.handler.ClasspathUpdateHandler;
+import com.microsoft.java.test.plugin.handler.CompilationUnitUpdateHandler;
+import com.microsoft.java.test.plugin.handler.SourceFileUpdateHandler;
 import com.microsoft.java.test.plugin.model.Option;
 
 import org.eclipse.core.runtime.CoreException;
@@ -42,6 +44,8 @@ public class JUnitPlugin implements BundleActivator {
     private static final String JAVA_TEST_ADVANCED_ASK_CLIENT_FOR_CHOICE = "_java.test.advancedAskClientForChoice";
     public static final String PLUGIN_ID = "java.test.runner";
     private static ClasspathUpdateHandler handler = new ClasspathUpdateHandler();
+    private static SourceFileUpdateHandler sourceFileHandler = new SourceFileUpdateHandler();
+    private static CompilationUnitUpdateHandler compilationUnitHandler = new CompilationUnitUpdateHandler();
     private static BundleContext context;
 
     /*
@@ -52,6 +56,8 @@ public class JUnitPlugin implements BundleActivator {
     @Override
     public void start(BundleContext context) throws Exception {
         handler.addElementChangeListener();
+        sourceFileHandler.addResourceChangeListener();
+        compilationUnitHandler.addElementChangeListener();
         JUnitPlugin.context = context;
     }
 
@@ -63,6 +69,9 @@ public class JUnitPlugin implements BundleActivator {
     @Override
     public void stop(BundleContext context) throws Exception {
         handler.removeElementChangeListener();
+        sourceFileHandler.removeResourceChangeListener();
+        compilationUnitHandler.removeElementChangeListener();
+        CommandMetrics.stopLogging();
         JUnitPlugin.context = null;
     }
 
@@ -0,0 +1,214 @@
+/*******************************************************************************
+* Copyright (c) 2026 Microsoft Corporation and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License v1.0
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v10.html
+*
+* Contributors:
+*     Microsoft Corporation - initial API and implementation
+*******************************************************************************/
+
+package com.microsoft.java.test.plugin.util;
+
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.ls.core.internal.ProjectUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A cache of the source classpath entries, the package fragment roots and the search scopes derived from
+ * them, shared by the navigation, the test generation and the affected test selection.
+ *
+ * The entries of a project are resolved once and kept until its classpath changes, see
+ * {@link com.microsoft.java.test.plugin.handler.ClasspathUpdateHandler}. The workspace scopes are dropped
+ * whenever any project is invalidated, since they span all the projects.
+ */
+@SuppressWarnings("restriction")
+public final class SearchScopeCache {
+
+    private static final Map<IJavaProject, ProjectRoots> ROOTS = new ConcurrentHashMap<>();
+
+    /**
+     * Increased for each invalidation, so a value computed concurrently with an invalidation is not cached.
+     */
+    private static final AtomicLong MODIFICATION_COUNT = new AtomicLong();
+
+    private static volatile CachedScope testScope;
+    private static volatile CachedScope mainScope;
+    private static volatile CachedScope sourceScope;
+
+    private SearchScopeCache() {}
+
+    public static void invalidate(IJavaProject javaProject) {
+        ROOTS.remove(javaProject);
+        clearWorkspaceScopes();
+        MODIFICATION_COUNT.incrementAndGet();
+    }
+
+    public static void invalidateAll() {
+        ROOTS.clear();
+        clearWorkspaceScopes();
+        MODIFICATION_COUNT.incrementAndGet();
+    }
+
+    /**
+     * Get all the raw source classpath entries of the project.
+     */
+    public static List<IClasspathEntry> getSourceEntries(IJavaProject javaProject) throws JavaModelException {
+        return getProjectRoots(javaProject).sourceEntries;
+    }
+
+    /**
+     * Get the test source classpath entries of the project, see {@link ProjectTestUtils#getTestEntries}.
+     */
+    public static List<IClasspathEntry> getTestEntries(IJavaProject javaProject) throws JavaModelException {
+        return getProjectRoots(javaProject).testEntries;
+    }
+
+    /**
+     * Get the package fragment roots of the test source classpath entries of the project.
+     */
+    public static List<IPackageFragmentRoot> getTestRoots(IJavaProject javaProject) throws JavaModelException {
+        return getProjectRoots(javaProject).testRoots;
+    }
+
+    /**
+     * Get the package fragment roots of the main source classpath entries of the project.
+     */
+    public static List<IPackageFragmentRoot> getMainRoots(IJavaProject javaProject) throws JavaModelException {
+        return getProjectRoots(javaProject).mainRoots;
+    }
+
+    /**
+     * Return the search scope that contains the test package fragment roots of all the projects.
+     */
+    public static IJavaSearchScope getTestScope() throws JavaModelException {
+        final CachedScope cached = testScope;
+        if (cached != null && cached.modificationCount == MODIFICATION_COUNT.get()) {
+            return cached.scope;
+        }
+        final long modificationCount = MODIFICATION_COUNT.get();
+        final IJavaSearchScope scope = createRootsScope(true);
+        if (modificationCount == MODIFICATION_COUNT.get()) {
+            testScope = new CachedScope(scope, modificationCount);
+        }
+        return scope;
+    }
+
+    /**
+     * Return the search scope that contains the main package fragment roots of all the projects.
+     */
+    public static IJavaSearchScope getMainScope() throws JavaModelException {
+        final CachedScope cached = mainScope;
+        if (cached != null && cached.modificationCount == MODIFICATION_COUNT.get()) {
+            return cached.scope;
+        }
+        final long modificationCount = MODIFICATION_COUNT.get();
+        final IJavaSearchScope scope = createRootsScope(false);
+        if (modificationCount == MODIFICATION_COUNT.get()) {
+            mainScope = new CachedScope(scope, modificationCount);
+        }
+        return scope;
+    }
+
+    /**
+     * Return the search scope that contains the source folders of all the projects.
+     */
+    public static IJavaSearchScope getSourceScope() {
+        final CachedScope cached = sourceScope;
+        if (cached != null && cached.modificationCount == MODIFICATION_COUNT.get()) {
+            return cached.scope;
+        }
+        final long modificationCount = MODIFICATION_COUNT.get();
+        final IJavaSearchScope scope = SearchEngine.createJavaSearchScope(ProjectUtils.getJavaProjects(),
+                IJavaSearchScope.SOURCES);
+        if (modificationCount == MODIFICATION_COUNT.get()) {
+            sourceScope = new CachedScope(scope, modificationCount);
+        }
+        return scope;
+    }
+
+    private static IJavaSearchScope createRootsScope(boolean isTest) throws JavaModelException {
+        final List<IJavaElement> javaElements = new ArrayList<>();
+        for (final IJavaProject project : ProjectUtils.getJavaProjects()) {
+            javaElements.addAll(isTest ? getTestRoots(project) : getMainRoots(project));
+        }
+
+        return SearchEngine.createJavaSearchScope(
+            !isTest /*excludeTestCode*/,
+            javaElements.toArray(new IJavaElement[0]),
+            true /*includeReferencedProjects*/
+        );
+    }
+
+    private static ProjectRoots getProjectRoots(IJavaProject javaProject) throws JavaModelException {
+        final ProjectRoots cached = ROOTS.get(javaProject);
+        if (cached != null) {
+            return cached;
+        }
+        final long modificationCount = MODIFICATION_COUNT.get();
+        final ProjectRoots roots = new ProjectRoots(javaProject);
+        if (modificationCount == MODIFICATION_COUNT.get()) {
+            ROOTS.put(javaProject, roots);
+        }
+        return roots;
+    }
+
+    private static void clearWorkspaceScopes() {
+        testScope = null;
+        mainScope = null;
+        sourceScope = null;
+    }
+
+    private static final class ProjectRoots {
+        final List<IClasspathEntry> sourceEntries;
+        final List<IClasspathEntry> testEntries;
+        final List<IPackageFragmentRoot> testRoots;
+        final List<IPackageFragmentRoot> mainRoots;
+
+        ProjectRoots(IJavaProject javaProject) throws JavaModelException {
+            final List<IClasspathEntry> entries = new ArrayList<>();
+            for (final IClasspathEntry entry : javaProject.getRawClasspath()) {
+                if (entry.getEntryKind() == IClasspathEntry.CPE_SOURCE) {
+                    entries.add(entry);
+                }
+            }
+            this.sourceEntries = Collections.unmodifiableList(entries);
+            this.testEntries = Collections.unmodifiableList(ProjectTestUtils.getTestEntries(javaProject));
+            this.testRoots = findRoots(javaProject, this.testEntries);
+            this.mainRoots = findRoots(javaProject, ProjectTestUtils.getSourceEntries(javaProject));
+        }
+
+        private static List<IPackageFragmentRoot> findRoots(IJavaProject javaProject,
+                List<IClasspathEntry> entries) {
+            final List<IPackageFragmentRoot> roots = new ArrayList<>();
+            for (final IClasspathEntry entry : entries) {
+                roots.addAll(Arrays.asList(javaProject.findPackageFragmentRoots(entry)));
+            }
+            return Collections.unmodifiableList(roots);
+        }
+    }
+
+    private static final class CachedScope {
+        final IJavaSearchScope scope;
+        final long modificationCount;
+
+        CachedScope(IJavaSearchScope scope, long modificationCount) {
+            this.scope = scope;
+            this.modificationCount = modificationCount;
+        }
+    }
+}
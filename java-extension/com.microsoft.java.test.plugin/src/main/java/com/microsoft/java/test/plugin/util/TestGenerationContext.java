@@ -0,0 +1,94 @@
+/*******************************************************************************
+* Copyright (c) 2026 Microsoft Corporation and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License v1.0
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v10.html
+*
+* Contributors:
+*     Microsoft Corporation - initial API and implementation
+*******************************************************************************/
+
+package com.microsoft.java.test.plugin.util;
+
+import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The method bindings resolved during one test generation request. A bulk request shares one context for all
+ * its classes, so the super classes they have in common are only walked once.
+ *
+ * The context holds the bindings, which keep their ASTs alive, so it must not outlive the request.
+ */
+final class TestGenerationContext {
+
+    /**
+     * Key of the type binding -> method name -> the method binding visible in the type
+     */
+    private final Map<String, Map<String, IMethodBinding>> methodBindings = new ConcurrentHashMap<>();
+
+    /**
+     * Key of the type binding -> methods declared in the type, sorted by name
+     */
+    private final Map<String, List<IMethodBinding>> declaredMethods = new ConcurrentHashMap<>();
+
+    /**
+     * Get the methods declared in the type and the accessible methods declared in its super classes, by name.
+     * The methods declared in the subclasses hide the ones with the same name in the super classes.
+     */
+    Map<String, IMethodBinding> getMethodsBindings(ITypeBinding typeBinding) {
+        final String key = typeBinding.getKey();
+        if (key == null) {
+            return computeMethodsBindings(typeBinding);
+        }
+        return methodBindings.computeIfAbsent(key, k -> computeMethodsBindings(typeBinding));
+    }
+
+    /**
+     * Get the methods declared in the type, sorted by name.
+     */
+    List<IMethodBinding> getDeclaredMethods(ITypeBinding typeBinding) {
+        final String key = typeBinding.getKey();
+        if (key == null) {
+            return sortByName(typeBinding.getDeclaredMethods());
+        }
+        return declaredMethods.computeIfAbsent(key, k -> sortByName(typeBinding.getDeclaredMethods()));
+    }
+
+    private Map<String, IMethodBinding> computeMethodsBindings(ITypeBinding typeBinding) {
+        final Map<String, IMethodBinding> methods = new HashMap<>();
+        for (final IMethodBinding methodBinding : typeBinding.getDeclaredMethods()) {
+            methods.put(methodBinding.getName(), methodBinding);
+        }
+        ITypeBinding superClass = typeBinding.getSuperclass();
+        while (superClass != null) {
+            for (final IMethodBinding methodBinding : getDeclaredMethods(superClass)) {
+                if (methods.containsKey(methodBinding.getName())) {
+                    continue;
+                }
+
+                if (!TestGenerationUtils.isAccessible(methodBinding, typeBinding)) {
+                    continue;
+                }
+
+                methods.put(methodBinding.getName(), methodBinding);
+            }
+            superClass = superClass.getSuperclass();
+        }
+        return Collections.unmodifiableMap(methods);
+    }
+
+    private static List<IMethodBinding> sortByName(IMethodBinding[] methods) {
+        final List<IMethodBinding> result = new ArrayList<>(Arrays.asList(methods));
+        result.sort((a, b) -> a.getName().compareTo(b.getName()));
+        return Collections.unmodifiableList(result);
+    }
+}
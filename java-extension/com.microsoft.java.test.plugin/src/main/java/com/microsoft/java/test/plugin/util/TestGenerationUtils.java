@@ -75,7 +75,6 @@ import org.eclipse.text.edits.TextEdit;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -121,6 +120,7 @@ public class TestGenerationUtils {
             return null;
         }
 
+        final TestGenerationContext context = new TestGenerationContext();
         final CompilationUnit root = (CompilationUnit) TestSearchUtils.parseToAst(unit,
                 true /* fromCache */, monitor);
 
@@ -165,12 +165,13 @@ public class TestGenerationUtils {
             return null;
         }
 
-        for (final IClasspathEntry entry : javaProject.readRawClasspath()) {
+        for (final IClasspathEntry entry : SearchScopeCache.getSourceEntries(javaProject)) {
             if (entry.getPath().isPrefixOf(unit.getPath())) {
                 if (ProjectTestUtils.isTestEntry(entry)) {
-                    return generateTestsFromTest(unit, root, (TypeDeclaration) coveringNode, binding, cursorOffset);
+                    return generateTestsFromTest(context, unit, root, (TypeDeclaration) coveringNode, binding,
+                            cursorOffset);
                 } else {
-                    return generateTestsFromSource(unit, binding, cursorOffset);
+                    return generateTestsFromSource(context, unit, binding, cursorOffset);
                 }
             }
         }
@@ -181,8 +182,8 @@ public class TestGenerationUtils {
     /**
      * Generate test methods from a focal source file
      */
-    private static WorkspaceEdit generateTestsFromSource(ICompilationUnit unit, ITypeBinding typeBinding,
-            int cursorOffset) throws CoreException {
+    private static WorkspaceEdit generateTestsFromSource(TestGenerationContext context, ICompilationUnit unit,
+            ITypeBinding typeBinding, int cursorOffset) throws CoreException {
         final IJavaProject javaProject = determineTestProject(unit);
         if (javaProject == null) {
             return null;
@@ -203,17 +204,17 @@ public class TestGenerationUtils {
         if (testFullyQualifiedName == null) {
             return null;
         }
-        final List<String> methodsToTest = getMethodsToTest(typeBinding);
+        final List<String> methodsToTest = getMethodsToTest(context, typeBinding);
         if (methodsToTest == null) {
             return null;
         }
 
         final ICompilationUnit testUnit = getTestCompilationUnit(javaProject, testEntry, testFullyQualifiedName);
-        return scaffoldTestFile(testKind, testUnit, methodsToTest, cursorOffset);
+        return scaffoldTestFile(context, testKind, testUnit, methodsToTest, cursorOffset);
     }
 
-    private static WorkspaceEdit scaffoldTestFile(TestKind kind, ICompilationUnit testUnit,
-            List<String> methodsToTest, int cursorPosition) throws CoreException {
+    private static WorkspaceEdit scaffoldTestFile(TestGenerationContext context, TestKind kind,
+            ICompilationUnit testUnit, List<String> methodsToTest, int cursorPosition) throws CoreException {
         if (testUnit.exists()) {
             final IType[] types = testUnit.getAllTypes();
             if (types.length == 0) {
@@ -250,7 +251,7 @@ public class TestGenerationUtils {
                 // ignore if the upstream does not support insert position preference.
             }
 
-            return addTestMethodsToExistingTestClass(root, kind, methodsToTest, (TypeDeclaration) typeNode,
+            return addTestMethodsToExistingTestClass(context, root, kind, methodsToTest, (TypeDeclaration) typeNode,
                     binding, insertPosition);
         } else {
             return createNewTestClass(kind, testUnit, methodsToTest);
@@ -279,21 +280,21 @@ public class TestGenerationUtils {
         return ChangeUtil.convertToWorkspaceEdit(change);
     }
 
-    private static WorkspaceEdit addTestMethodsToExistingTestClass(CompilationUnit testRoot, TestKind kind,
-            List<String> methodsToTest, TypeDeclaration typeNode, ITypeBinding typeBinding,
-            IJavaElement insertPosition) throws JavaModelException, CoreException {
+    private static WorkspaceEdit addTestMethodsToExistingTestClass(TestGenerationContext context,
+            CompilationUnit testRoot, TestKind kind, List<String> methodsToTest, TypeDeclaration typeNode,
+            ITypeBinding typeBinding, IJavaElement insertPosition) throws JavaModelException, CoreException {
         final String testAnnotation = getTestAnnotation(kind);
         final List<MethodMetaData> metadata = methodsToTest.stream().map(method -> {
             final String methodName = getTestMethodName(method);
             return new MethodMetaData(methodName, testAnnotation);
         }).collect(Collectors.toList());
 
-        final TextEdit edit = getTextEdit(kind, metadata, testRoot, typeNode, typeBinding, insertPosition,
+        final TextEdit edit = getTextEdit(context, kind, metadata, testRoot, typeNode, typeBinding, insertPosition,
                 false /*fromTest*/);
         return SourceAssistProcessor.convertToWorkspaceEdit((ICompilationUnit) testRoot.getJavaElement(), edit);
     }
 
-    private static String constructNewCU(ICompilationUnit testUnit,
+    static String constructNewCU(ICompilationUnit testUnit,
             List<String> methods, TestKind testKind) throws CoreException {
         final String delimiter = StubUtility.getLineDelimiterUsed(testUnit);
         final String typeStub = constructTypeStub(testUnit, methods, testKind, delimiter);
@@ -359,7 +360,7 @@ public class TestGenerationUtils {
                 lineDelimiter, testUnit.getJavaProject().getOptions(true));
     }
 
-    private static IClasspathEntry getTestClasspathEntry(IJavaProject javaProject, ICompilationUnit unit)
+    static IClasspathEntry getTestClasspathEntry(IJavaProject javaProject, ICompilationUnit unit)
             throws JavaModelException {
         // In most cases, this is the classpath entry used for testing, we first find the target entry by hard-code
         // to avoid go into the generated entries.
@@ -369,8 +370,7 @@ public class TestGenerationUtils {
             return testEntry;
         }
 
-        final IClasspathEntry[] entries = javaProject.readRawClasspath();
-        for (final IClasspathEntry entry : entries) {
+        for (final IClasspathEntry entry : SearchScopeCache.getSourceEntries(javaProject)) {
             if (ProjectTestUtils.isTestEntry(entry)) {
                 return entry;
             }
@@ -452,7 +452,7 @@ public class TestGenerationUtils {
      * @param typeBinding type binding
      * @return the class name
      */
-    private static String getClassName(ITypeBinding typeBinding) {
+    static String getClassName(ITypeBinding typeBinding) {
         final String binaryName = typeBinding.getBinaryName();
         final String packageName = typeBinding.getPackage().getName();
         if (packageName.isEmpty()) {
@@ -463,7 +463,7 @@ public class TestGenerationUtils {
         }
     }
 
-    private static ICompilationUnit getTestCompilationUnit(IJavaProject javaProject, IClasspathEntry testEntry,
+    static ICompilationUnit getTestCompilationUnit(IJavaProject javaProject, IClasspathEntry testEntry,
             String testFullyQualifiedName) throws JavaModelException {
         final IPackageFragmentRoot packageRoot = javaProject.findPackageFragmentRoot(testEntry.getPath());
         final int lastDelimiterIndex = testFullyQualifiedName.lastIndexOf(".");
@@ -476,7 +476,7 @@ public class TestGenerationUtils {
         return testUnit;
     }
 
-    private static List<String> getMethodsToTest(ITypeBinding typeBinding) {
+    private static List<String> getMethodsToTest(TestGenerationContext context, ITypeBinding typeBinding) {
         final List<IMethodBinding> allMethods = new LinkedList<>();
         final List<Option> options = new LinkedList<>();
         final IMethodBinding[] typeMethods = typeBinding.getDeclaredMethods();
@@ -505,7 +505,7 @@ public class TestGenerationUtils {
             // iterate the declared methods and add them into the option list in each loop,
             // this is to make sure methods from each super class will be grouped together
             allMethods.clear();
-            for (final IMethodBinding method: superClass.getDeclaredMethods()) {
+            for (final IMethodBinding method: context.getDeclaredMethods(superClass)) {
                 if (!method.isConstructor() && !method.isSynthetic() && isAccessible(method, typeBinding)) {
                     allMethods.add(method);
                 }
@@ -544,8 +544,8 @@ public class TestGenerationUtils {
         return "test" + Character.toUpperCase(methodName.charAt(0)) + methodName.substring(1);
     }
 
-    private static WorkspaceEdit generateTestsFromTest(ICompilationUnit unit, CompilationUnit root,
-            TypeDeclaration typeNode, ITypeBinding typeBinding, int cursorOffset)
+    private static WorkspaceEdit generateTestsFromTest(TestGenerationContext context, ICompilationUnit unit,
+            CompilationUnit root, TypeDeclaration typeNode, ITypeBinding typeBinding, int cursorOffset)
             throws MalformedTreeException, CoreException {
         final Set<TestKind> availableFrameworks = getTestKindFromFile(unit);
         if (availableFrameworks.size() == 0) {
@@ -572,7 +572,7 @@ public class TestGenerationUtils {
             // ignore if the upstream does not support insert position preference.
         }
 
-        final TextEdit textEdit = createTextEditFromTestFile(testKind, methodsToGenerate, root, typeNode,
+        final TextEdit textEdit = createTextEditFromTestFile(context, testKind, methodsToGenerate, root, typeNode,
                 typeBinding, insertPosition);
         return SourceAssistProcessor.convertToWorkspaceEdit(unit, textEdit);
     }
@@ -672,9 +672,9 @@ public class TestGenerationUtils {
         return testKindsInFile;
     }
 
-    private static TextEdit createTextEditFromTestFile(TestKind kind, List<String> methodsToGenerate,
-            CompilationUnit root, TypeDeclaration typeNode, ITypeBinding typeBinding, IJavaElement insertPosition)
-            throws MalformedTreeException, CoreException {
+    private static TextEdit createTextEditFromTestFile(TestGenerationContext context, TestKind kind,
+            List<String> methodsToGenerate, CompilationUnit root, TypeDeclaration typeNode, ITypeBinding typeBinding,
+            IJavaElement insertPosition) throws MalformedTreeException, CoreException {
         String annotationPrefix = "";
         if (kind == TestKind.JUnit) {
             annotationPrefix = JUNIT4_LIFECYCLE_ANNOTATION_PREFIX;
@@ -690,18 +690,18 @@ public class TestGenerationUtils {
             return new MethodMetaData(methodName, prefix + annotationName);
         }).collect(Collectors.toList());
 
-        return getTextEdit(kind, metadata, root, typeNode, typeBinding, insertPosition, true /*fromTest*/);
+        return getTextEdit(context, kind, metadata, root, typeNode, typeBinding, insertPosition, true /*fromTest*/);
     }
 
-    private static TextEdit getTextEdit(TestKind kind, List<MethodMetaData> methodMetadata, CompilationUnit root,
-            TypeDeclaration typeNode, ITypeBinding typeBinding, IJavaElement insertPosition, boolean fromTest)
-            throws CoreException {
+    private static TextEdit getTextEdit(TestGenerationContext context, TestKind kind,
+            List<MethodMetaData> methodMetadata, CompilationUnit root, TypeDeclaration typeNode,
+            ITypeBinding typeBinding, IJavaElement insertPosition, boolean fromTest) throws CoreException {
         final ASTRewrite astRewrite = ASTRewrite.create(root.getAST());
         final ImportRewrite importRewrite = StubUtility.createImportRewrite(root, true);
         final ListRewrite listRewrite = astRewrite.getListRewrite(typeNode,
                 ((AbstractTypeDeclaration) typeNode).getBodyDeclarationsProperty());
         final AST ast = astRewrite.getAST();
-        final Map<String, IMethodBinding> methodsMap = getMethodsBindings(typeBinding);
+        final Map<String, IMethodBinding> methodsMap = context.getMethodsBindings(typeBinding);
         final Set<String> addedMethods = new HashSet<>();
         for (final MethodMetaData method : methodMetadata) {
             final MethodDeclaration decl = ast.newMethodDeclaration();
@@ -725,9 +725,9 @@ public class TestGenerationUtils {
 
             // add the annotation and update the imports
             final Annotation marker = ast.newMarkerAnnotation();
-            final ImportRewriteContext context = new ContextSensitiveImportRewriteContext(root,
+            final ImportRewriteContext importContext = new ContextSensitiveImportRewriteContext(root,
                     decl.getStartPosition(), importRewrite);
-            marker.setTypeName(ast.newName(importRewrite.addImport(method.annotation, context)));
+            marker.setTypeName(ast.newName(importRewrite.addImport(method.annotation, importContext)));
             astRewrite.getListRewrite(decl, MethodDeclaration.MODIFIERS2_PROPERTY).insertFirst(marker, null);
 
             if (needsOverrideAnnotation(isStatic, methodsMap.get(methodName), typeBinding)) {
@@ -840,31 +840,7 @@ public class TestGenerationUtils {
         return modifiers;
     }
 
-    private static Map<String, IMethodBinding> getMethodsBindings(ITypeBinding typeBinding) {
-        final Map<String, IMethodBinding> methods = new HashMap<>();
-        final IMethodBinding[] typeMethods = typeBinding.getDeclaredMethods();
-        for (final IMethodBinding methodBinding : typeMethods) {
-            methods.put(methodBinding.getName(), methodBinding);
-        }
-        ITypeBinding superClass = typeBinding.getSuperclass();
-        while (superClass != null) {
-            for (final IMethodBinding methodBinding : superClass.getDeclaredMethods()) {
-                if (methods.containsKey(methodBinding.getName())) {
-                    continue;
-                }
-
-                if (!isAccessible(methodBinding, typeBinding)) {
-                    continue;
-                }
-
-                methods.put(methodBinding.getName(), methodBinding);
-            }
-            superClass = superClass.getSuperclass();
-        }
-        return methods;
-    }
-
-    private static boolean isAccessible(IMethodBinding superMethod, ITypeBinding declaredType) {
+    static boolean isAccessible(IMethodBinding superMethod, ITypeBinding declaredType) {
         final int modifiers = superMethod.getModifiers();
         if (Modifier.isPrivate(modifiers)) {
             return false;
@@ -0,0 +1,281 @@
+/*******************************************************************************
+* Copyright (c) 2026 Microsoft Corporation and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License v1.0
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v10.html
+*
+* Contributors:
+*     Microsoft Corporation - initial API and implementation
+*******************************************************************************/
+
+package com.microsoft.java.test.plugin.util;
+
+import com.microsoft.java.test.plugin.coverage.CoverageHandler;
+import com.microsoft.java.test.plugin.model.JavaTestItem;
+import com.microsoft.java.test.plugin.model.TestKind;
+import com.microsoft.java.test.plugin.model.TestLevel;
+import com.microsoft.java.test.plugin.model.builder.JavaTestItemBuilder;
+import com.microsoft.java.test.plugin.provider.TestKindProvider;
+import com.microsoft.java.test.plugin.searcher.TestFrameworkSearcher;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.IBinding;
+import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.ls.core.internal.JDTUtils;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Select the tests affected by a set of changed compilation units.
+ */
+@SuppressWarnings("restriction")
+public class TestImpactUtils {
+
+    private TestImpactUtils() {}
+
+    /**
+     * Find the test classes which transitively reference the changed compilation units. The changed test
+     * classes are always included.
+     *
+     * If the per-test coverage data recorded by the test runner is available for a project, the test classes
+     * in that project which have been recorded are narrowed down to the test methods whose coverage contains
+     * any class declared in the changed compilation units, and the test methods without coverage data, e.g. the
+     * ones added or renamed since the data was recorded.
+     *
+     * @param arguments the first argument is a list of the uris of the changed files. The optional second
+     *                  argument is a map from the project name to its coverage report base path.
+     * @param monitor Progress monitor
+     */
+    @SuppressWarnings("unchecked")
+    public static List<JavaTestItem> findAffectedTests(List<Object> arguments, IProgressMonitor monitor)
+            throws CoreException, OperationCanceledException, InterruptedException {
+        if (arguments == null || arguments.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final List<String> uris = (List<String>) arguments.get(0);
+        final Map<String, String> reportBasePaths = arguments.size() > 1 && arguments.get(1) != null ?
+                (Map<String, String>) arguments.get(1) : Collections.emptyMap();
+
+        // wait for the LS finishing updating
+        DocumentLifeCycleJobs.join(monitor);
+
+        final Set<ICompilationUnit> changedUnits = new LinkedHashSet<>();
+        for (final String uri : uris) {
+            final ICompilationUnit unit = JDTUtils.resolveCompilationUnit(uri);
+            if (unit != null && unit.exists()) {
+                changedUnits.add(unit.getPrimary());
+            }
+        }
+        if (changedUnits.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final Set<ICompilationUnit> affectedUnits = findAffectedUnits(changedUnits, monitor);
+        if (monitor.isCanceled()) {
+            return Collections.emptyList();
+        }
+
+        final Set<String> changedClassNames = new HashSet<>();
+        for (final ICompilationUnit unit : changedUnits) {
+            for (final IType type : unit.getTypes()) {
+                changedClassNames.add(type.getFullyQualifiedName().replace('.', '/'));
+            }
+        }
+
+        final Map<IJavaProject, CoveredTests> coveredTestsByProject = new HashMap<>();
+        final List<JavaTestItem> result = new LinkedList<>();
+        // handle identifiers of the test classes selected as a whole
+        final Set<String> selectedClasses = new HashSet<>();
+        for (final ICompilationUnit unit : affectedUnits) {
+            if (monitor.isCanceled()) {
+                return Collections.emptyList();
+            }
+            final IJavaProject javaProject = unit.getJavaProject();
+            final CoveredTests coveredTests = coveredTestsByProject.computeIfAbsent(javaProject,
+                    p -> loadCoveredTests(p, reportBasePaths.get(p.getElementName()), changedClassNames));
+            final boolean changed = changedUnits.contains(unit);
+            for (final IType type : unit.getAllTypes()) {
+                // the nested test classes are run with their declaring test class
+                if (isDeclaredInTestClass(type, selectedClasses)) {
+                    continue;
+                }
+                final TestKind kind = getTestKind(type);
+                if (kind == null) {
+                    continue;
+                }
+                final String className = type.getFullyQualifiedName();
+                final Set<String> recordedMethods = coveredTests.recordedMethods.get(className);
+                if (changed || recordedMethods == null) {
+                    result.add(new JavaTestItemBuilder().setJavaElement(type)
+                            .setLevel(TestLevel.CLASS)
+                            .setKind(kind)
+                            .build());
+                    selectedClasses.add(type.getHandleIdentifier());
+                    continue;
+                }
+                final Set<String> coveringMethods = coveredTests.coveringMethods.getOrDefault(className,
+                        Collections.emptySet());
+                for (final IMethod method : findAffectedMethods(type, kind, recordedMethods, coveringMethods,
+                        monitor)) {
+                    result.add(new JavaTestItemBuilder().setJavaElement(method)
+                            .setLevel(TestLevel.METHOD)
+                            .setKind(kind)
+                            .build());
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Collect the changed units and all the units which reference them transitively.
+     */
+    private static Set<ICompilationUnit> findAffectedUnits(Set<ICompilationUnit> changedUnits,
+            IProgressMonitor monitor) throws CoreException {
+        final Set<ICompilationUnit> affectedUnits = new LinkedHashSet<>(changedUnits);
+        final LinkedList<ICompilationUnit> queue = new LinkedList<>(changedUnits);
+        while (!queue.isEmpty()) {
+            if (monitor.isCanceled()) {
+                break;
+            }
+            final ICompilationUnit unit = queue.removeFirst();
+            for (final ICompilationUnit referencingUnit : TypeReferenceGraph.getReferencingUnits(unit, monitor)) {
+                if (affectedUnits.add(referencingUnit)) {
+                    queue.add(referencingUnit);
+                }
+            }
+        }
+        return affectedUnits;
+    }
+
+    private static TestKind getTestKind(IType type) throws JavaModelException {
+        for (final TestKind kind : TestKindProvider.getTestKindsFromCache(type.getJavaProject())) {
+            final TestFrameworkSearcher searcher = TestFrameworkUtils.getSearcherByTestKind(kind);
+            if (searcher != null && searcher.isTestClass(type)) {
+                return kind;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Find the methods of the recorded test class which cover the changed classes, and the test methods which
+     * have no coverage data, since whether they cover the changed classes is unknown.
+     */
+    private static List<IMethod> findAffectedMethods(IType type, TestKind kind, Set<String> recordedMethods,
+            Set<String> coveringMethods, IProgressMonitor monitor) throws JavaModelException {
+        final List<IMethod> result = new LinkedList<>();
+        final List<IMethod> unrecordedMethods = new LinkedList<>();
+        for (final IMethod method : type.getMethods()) {
+            if (coveringMethods.contains(method.getElementName())) {
+                result.add(method);
+            } else if (!recordedMethods.contains(method.getElementName())) {
+                unrecordedMethods.add(method);
+            }
+        }
+        if (unrecordedMethods.isEmpty()) {
+            return result;
+        }
+
+        final TestFrameworkSearcher searcher = TestFrameworkUtils.getSearcherByTestKind(kind);
+        final ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
+        parser.setProject(type.getJavaProject());
+        final IBinding[] bindings = parser.createBindings(unrecordedMethods.toArray(new IMethod[0]), monitor);
+        for (int i = 0; i < bindings.length; i++) {
+            if (bindings[i] instanceof IMethodBinding && searcher.isTestMethod((IMethodBinding) bindings[i])) {
+                result.add(unrecordedMethods.get(i));
+            }
+        }
+        return result;
+    }
+
+    private static boolean isDeclaredInTestClass(IType type, Set<String> testClasses) {
+        for (IType declaringType = type.getDeclaringType(); declaringType != null;
+                declaringType = declaringType.getDeclaringType()) {
+            if (testClasses.contains(declaringType.getHandleIdentifier())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static CoveredTests loadCoveredTests(IJavaProject javaProject, String reportBasePath,
+            Set<String> changedClassNames) {
+        final CoveredTests coveredTests = new CoveredTests();
+        if (reportBasePath == null) {
+            return coveredTests;
+        }
+
+        final Map<String, Set<String>> coveredClassesByTest;
+        try {
+            coveredClassesByTest = new CoverageHandler(javaProject, reportBasePath).getCoveredClassesByTest();
+        } catch (IOException e) {
+            JUnitPlugin.logException("Failed to load the per-test coverage data of project: " +
+                    javaProject.getElementName(), e);
+            return coveredTests;
+        }
+
+        for (final Map.Entry<String, Set<String>> entry : coveredClassesByTest.entrySet()) {
+            // the test name is in the format of: <class name>#<method name>(<parameter types>)
+            final String testName = entry.getKey();
+            final int methodStart = testName.indexOf('#');
+            if (methodStart < 0) {
+                continue;
+            }
+            final String className = testName.substring(0, methodStart);
+            final int parameterStart = testName.indexOf('(', methodStart);
+            final String methodName = testName.substring(methodStart + 1,
+                    parameterStart < 0 ? testName.length() : parameterStart);
+            coveredTests.recordedMethods.computeIfAbsent(className, k -> new HashSet<>()).add(methodName);
+            if (isCoveringAny(entry.getValue(), changedClassNames)) {
+                coveredTests.coveringMethods.computeIfAbsent(className, k -> new HashSet<>()).add(methodName);
+            }
+        }
+        return coveredTests;
+    }
+
+    /**
+     * Check whether the covered classes contain any of the given top level classes or their nested classes.
+     */
+    private static boolean isCoveringAny(Set<String> coveredClassNames, Set<String> classNames) {
+        for (final String coveredClassName : coveredClassNames) {
+            final int nestedStart = coveredClassName.indexOf('$');
+            final String topLevelName = nestedStart < 0 ? coveredClassName :
+                    coveredClassName.substring(0, nestedStart);
+            if (classNames.contains(topLevelName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class CoveredTests {
+        /**
+         * Test class name -> names of its test methods which have per-test coverage data
+         */
+        final Map<String, Set<String>> recordedMethods = new HashMap<>();
+
+        /**
+         * Test class name -> names of its test methods covering the changed classes
+         */
+        final Map<String, Set<String>> coveringMethods = new HashMap<>();
+    }
+}
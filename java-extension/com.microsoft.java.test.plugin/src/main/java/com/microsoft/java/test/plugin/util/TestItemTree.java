@@ -0,0 +1,93 @@
+/*******************************************************************************
+* Copyright (c) 2026 Microsoft Corporation and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License v1.0
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v10.html
+*
+* Contributors:
+*     Microsoft Corporation - initial API and implementation
+*******************************************************************************/
+
+package com.microsoft.java.test.plugin.util;
+
+import com.microsoft.java.test.plugin.model.JavaTestItem;
+import com.microsoft.java.test.plugin.model.TestLevel;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The package -> class -> nested class hierarchy of the test items in a project.
+ *
+ * The children are never searched in the lists of their parents: each item remembers whether it has been attached,
+ * and the packages with the same id remember the ids of their children, so the hierarchy is built in time linear
+ * to the number of the items.
+ */
+final class TestItemTree {
+
+    /**
+     * JDT handle identifier -> test item
+     */
+    private final Map<String, JavaTestItem> items = new HashMap<>();
+
+    /**
+     * The items which have been attached to their parents
+     */
+    private final Set<JavaTestItem> attached = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    JavaTestItem get(String handleIdentifier) {
+        return items.get(handleIdentifier);
+    }
+
+    void put(String handleIdentifier, JavaTestItem item) {
+        items.put(handleIdentifier, item);
+    }
+
+    /**
+     * Attach the child to the parent, if it is not attached yet.
+     */
+    void attach(JavaTestItem parent, JavaTestItem child) {
+        if (attached.add(child)) {
+            parent.addChild(child);
+        }
+    }
+
+    /**
+     * Get the package items, the packages sharing the same id (e.g. same package name across different source
+     * sets) are merged into the first one, skipping the children whose ids are already in it.
+     */
+    List<JavaTestItem> getPackages() {
+        final Map<String, JavaTestItem> mergedPackages = new LinkedHashMap<>();
+        // package id -> children of the merged package, JavaTestItem is compared by id
+        final Map<String, Set<JavaTestItem>> mergedChildren = new HashMap<>();
+        for (final JavaTestItem item : items.values()) {
+            if (item.getTestLevel() != TestLevel.PACKAGE) {
+                continue;
+            }
+            final JavaTestItem existing = mergedPackages.get(item.getId());
+            if (existing == null) {
+                mergedPackages.put(item.getId(), item);
+                continue;
+            }
+            if (item.getChildren() == null) {
+                continue;
+            }
+            final Set<JavaTestItem> children = mergedChildren.computeIfAbsent(item.getId(), k ->
+                    existing.getChildren() == null ? new HashSet<>() : new HashSet<>(existing.getChildren()));
+            for (final JavaTestItem child : item.getChildren()) {
+                if (children.add(child)) {
+                    existing.addChild(child);
+                }
+            }
+        }
+        return new LinkedList<>(mergedPackages.values());
+    }
+}
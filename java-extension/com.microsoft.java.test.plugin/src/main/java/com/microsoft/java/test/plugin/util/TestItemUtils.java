@@ -24,9 +24,27 @@ import org.eclipse.jdt.internal.core.manipulation.JavaElementLabelsCore;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.lsp4j.Range;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @SuppressWarnings("restriction")
 public class TestItemUtils {
 
+    private static final int MAX_METHOD_NAMES = 4096;
+
+    /**
+     * Handle identifier of a method -> its name with the parameter types and without the type arguments, the
+     * identifier contains the parameter types, so it changes whenever the name does. The eldest entries are evicted.
+     */
+    private static final Map<String, String> METHOD_NAMES = new LinkedHashMap<String, String>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > MAX_METHOD_NAMES;
+        }
+    };
+
     public static Range parseTestItemRange(IJavaElement element) throws JavaModelException {
         if (element instanceof ISourceReference) {
             final ISourceRange sourceRange = ((ISourceReference) element).getSourceRange();
@@ -49,12 +67,7 @@ public class TestItemUtils {
                 final IMethod method = (IMethod) element;
                 if (kind == TestKind.JUnit5 || kind == TestKind.JUnit6 || kind == TestKind.TestNG) {
                     final String className = method.getDeclaringType().getFullyQualifiedName();
-                    // Generics don't come through in the test results, so we need to strip
-                    // them out now.
-                    final String methodName = JavaElementLabelsCore.getElementLabel(element,
-                            JavaElementLabelsCore.ALL_DEFAULT)
-                            .replaceAll("<.*?>", "");
-                    return className + "#" + methodName;
+                    return className + "#" + getMethodName(method);
                 } else {
                     return method.getDeclaringType().getFullyQualifiedName() + "#" + method.getElementName();
                 }
@@ -62,4 +75,49 @@ public class TestItemUtils {
                 return element.getElementName();
         }
     }
+
+    /**
+     * Get the name of the method with its parameter types, e.g. <code>test(String, List)</code>. Generics don't come
+     * through in the test results, so the type arguments are stripped out.
+     */
+    private static String getMethodName(IMethod method) {
+        final String handleId = method.getHandleIdentifier();
+        synchronized (METHOD_NAMES) {
+            final String methodName = METHOD_NAMES.get(handleId);
+            if (methodName != null) {
+                return methodName;
+            }
+        }
+        final String methodName = stripTypeArguments(
+                JavaElementLabelsCore.getElementLabel(method, JavaElementLabelsCore.ALL_DEFAULT));
+        synchronized (METHOD_NAMES) {
+            METHOD_NAMES.put(handleId, methodName);
+        }
+        return methodName;
+    }
+
+    /**
+     * Remove the type arguments from the label, the same as <code>label.replaceAll("&lt;.*?&gt;", "")</code>:
+     * each <code>&lt;</code> is removed together with everything up to the next <code>&gt;</code>, and a
+     * <code>&lt;</code> without a following <code>&gt;</code> is kept.
+     */
+    static String stripTypeArguments(String label) {
+        int start = label.indexOf('<');
+        if (start < 0) {
+            return label;
+        }
+        final StringBuilder result = new StringBuilder(label.length());
+        int copied = 0;
+        while (start >= 0) {
+            final int end = label.indexOf('>', start + 1);
+            if (end < 0) {
+                break;
+            }
+            result.append(label, copied, start);
+            copied = end + 1;
+            start = label.indexOf('<', copied);
+        }
+        result.append(label, copied, label.length());
+        return result.toString();
+    }
 }
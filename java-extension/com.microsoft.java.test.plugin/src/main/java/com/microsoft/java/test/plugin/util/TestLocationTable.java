@@ -0,0 +1,238 @@
+/*******************************************************************************
+* Copyright (c) 2026 Microsoft Corporation and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License v1.0
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v10.html
+*
+* Contributors:
+*     Microsoft Corporation - initial API and implementation
+*******************************************************************************/
+
+package com.microsoft.java.test.plugin.util;
+
+import org.apache.commons.lang3.StringUtils;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.ls.core.internal.JDTUtils;
+import org.eclipse.jdt.ls.core.internal.ProjectUtils;
+import org.eclipse.lsp4j.Location;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A table of the locations of the test classes and methods, used to resolve the locations of all the test
+ * results reported in a test run.
+ *
+ * Each class is resolved only once, and its methods together with the methods of its supertypes are indexed
+ * by name, so the supertype hierarchy is built at most once per class no matter how many of its results are
+ * reported. The table is not thread safe and is not updated when the sources change, so it should not outlive
+ * a single test run. The table of a run is kept by its run id until the run is disposed, so the results of the
+ * run reported in several requests share the resolved classes.
+ */
+@SuppressWarnings("restriction")
+public class TestLocationTable {
+
+    /**
+     * The tables of the runs which are not disposed, e.g. because the client is closed during a run, are dropped
+     * when there are more runs than this.
+     */
+    private static final int MAX_RUN_TABLES = 8;
+
+    /**
+     * Run id -> the table of the run, in the order of the last use
+     */
+    private static final Map<String, TestLocationTable> RUN_TABLES =
+            new LinkedHashMap<String, TestLocationTable>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, TestLocationTable> eldest) {
+                    return size() > MAX_RUN_TABLES;
+                }
+            };
+
+    /**
+     * Project name + '@' + class name -> locations in the class
+     */
+    private final Map<String, TypeLocations> types = new HashMap<>();
+
+    /**
+     * Get the table of the given test run, which is created at the first request of the run. The callers must
+     * synchronize on the returned table.
+     */
+    public static TestLocationTable forRun(String runId) {
+        synchronized (RUN_TABLES) {
+            return RUN_TABLES.computeIfAbsent(runId, id -> new TestLocationTable());
+        }
+    }
+
+    /**
+     * Drop the table of the given test run when the run finishes.
+     */
+    public static void dispose(String runId) {
+        synchronized (RUN_TABLES) {
+            RUN_TABLES.remove(runId);
+        }
+    }
+
+    /**
+     * Find the locations of the given test items, the result has the same order as the given full names and
+     * contains <code>null</code> for the items which cannot be resolved.
+     *
+     * The classes which are not in the table yet are resolved up front, grouped by project, so each project
+     * and its required projects are visited once for the whole batch.
+     * @param fullNames the full names of the test items, in the format of
+     *                  <code>&lt;project name&gt;@&lt;class name&gt;[#&lt;method name&gt;]</code>
+     */
+    public List<Location> findAll(List<String> fullNames, IProgressMonitor monitor) throws JavaModelException {
+        resolveTypes(fullNames, monitor);
+        final List<Location> result = new ArrayList<>(fullNames.size());
+        for (final String fullName : fullNames) {
+            if (monitor.isCanceled()) {
+                break;
+            }
+            result.add(find(fullName, monitor));
+        }
+        return result;
+    }
+
+    /**
+     * Find the location of the test item, if the method cannot be found, the location of the class is returned.
+     */
+    public Location find(String fullName, IProgressMonitor monitor) throws JavaModelException {
+        final String typeKey = getTypeKey(fullName);
+        if (typeKey == null) {
+            return null;
+        }
+        final String methodName = typeKey.length() < fullName.length() ?
+                fullName.substring(typeKey.length() + 1) : null;
+
+        TypeLocations typeLocations = types.get(typeKey);
+        if (typeLocations == null) {
+            final int projectNameEnd = typeKey.indexOf("@");
+            final IJavaProject javaProject = ProjectUtils.getJavaProject(typeKey.substring(0, projectNameEnd));
+            typeLocations = new TypeLocations(javaProject == null ? null :
+                    TestSearchUtils.findType(javaProject, typeKey.substring(projectNameEnd + 1), monitor));
+            if (monitor.isCanceled()) {
+                // the class may be missed because of the cancellation, so it is resolved again by later requests
+                return typeLocations.find(methodName);
+            }
+            types.put(typeKey, typeLocations);
+        }
+        return typeLocations.find(methodName);
+    }
+
+    private void resolveTypes(List<String> fullNames, IProgressMonitor monitor) {
+        // project name -> class name -> type key
+        final Map<String, Map<String, String>> unresolved = new HashMap<>();
+        for (final String fullName : fullNames) {
+            final String typeKey = getTypeKey(fullName);
+            if (typeKey == null || types.containsKey(typeKey)) {
+                continue;
+            }
+            final int projectNameEnd = typeKey.indexOf("@");
+            unresolved.computeIfAbsent(typeKey.substring(0, projectNameEnd), k -> new HashMap<>())
+                    .put(typeKey.substring(projectNameEnd + 1), typeKey);
+        }
+
+        for (final Map.Entry<String, Map<String, String>> entry : unresolved.entrySet()) {
+            if (monitor.isCanceled()) {
+                return;
+            }
+            final IJavaProject javaProject = ProjectUtils.getJavaProject(entry.getKey());
+            final Map<String, String> typeKeys = entry.getValue();
+            final Map<String, IType> resolved = javaProject == null ? Collections.emptyMap() :
+                    TestSearchUtils.findTypes(javaProject, typeKeys.keySet(), monitor);
+            if (monitor.isCanceled()) {
+                return;
+            }
+            for (final Map.Entry<String, String> typeKey : typeKeys.entrySet()) {
+                types.put(typeKey.getValue(), new TypeLocations(resolved.get(typeKey.getKey())));
+            }
+        }
+    }
+
+    /**
+     * Get the <code>&lt;project name&gt;@&lt;class name&gt;</code> part of the full name, or <code>null</code>
+     * if the full name is invalid.
+     */
+    private static String getTypeKey(String fullName) {
+        if (StringUtils.isEmpty(fullName)) {
+            return null;
+        }
+
+        final int projectNameEnd = fullName.indexOf("@");
+        if (projectNameEnd <= 0) {
+            return null;
+        }
+
+        final int methodStart = fullName.indexOf("#", projectNameEnd);
+        return methodStart > 0 ? fullName.substring(0, methodStart) : fullName;
+    }
+
+    private static final class TypeLocations {
+        final IType type;
+        Location typeLocation;
+
+        /**
+         * Method name -> the first method with that name declared in the supertypes. <code>null</code> until
+         * a method which is not declared in the type itself is queried.
+         */
+        Map<String, IMethod> methods;
+        final Map<String, Location> methodLocations = new HashMap<>();
+
+        TypeLocations(IType type) {
+            this.type = type;
+        }
+
+        Location find(String methodName) throws JavaModelException {
+            if (type == null) {
+                return null;
+            }
+            if (StringUtils.isEmpty(methodName)) {
+                return getTypeLocation();
+            }
+            if (methodLocations.containsKey(methodName)) {
+                return methodLocations.get(methodName);
+            }
+
+            IMethod method = TestSearchUtils.findMethod(type, methodName);
+            if (method == null) {
+                method = getMethods().get(methodName);
+            }
+            final Location location = method == null ? getTypeLocation() :
+                    new Location(JDTUtils.getFileURI(method.getResource()), TestItemUtils.parseTestItemRange(method));
+            methodLocations.put(methodName, location);
+            return location;
+        }
+
+        private Location getTypeLocation() throws JavaModelException {
+            if (typeLocation == null) {
+                typeLocation = new Location(JDTUtils.getFileURI(type.getResource()),
+                        TestItemUtils.parseTestItemRange(type));
+            }
+            return typeLocation;
+        }
+
+        private Map<String, IMethod> getMethods() throws JavaModelException {
+            if (methods == null) {
+                methods = new HashMap<>();
+                for (final IType supertype : type.newSupertypeHierarchy(null).getAllSupertypes(type)) {
+                    for (final IMethod method : supertype.getMethods()) {
+                        methods.putIfAbsent(method.getElementName(), method);
+                    }
+                }
+            }
+            return methods;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*******************************************************************************
+* Copyright (c) 2026 Microsoft Corporation and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License v1.0
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v10.html
+*
+* Contributors:
+*     Microsoft Corporation - initial API and implementation
+*******************************************************************************/
+
+package com.microsoft.java.test.plugin.util;
+
+/**
+ * The naming conventions of the test classes in a project, learned from the names of its test classes: which
+ * of the common forms, e.g. <code>FooTest</code>, <code>FooTests</code>, <code>FooIT</code> and
+ * <code>TestFoo</code>, the tests use, and whether the tests are declared in the same packages as the classes
+ * they test.
+ */
+final class TestNamingConventions {
+
+    /**
+     * The common forms of the test class names, in the order of precedence when they are equally used.
+     */
+    enum Form {
+        SUFFIX_TEST("", "Test"),
+        SUFFIX_TESTS("", "Tests"),
+        SUFFIX_IT("", "IT"),
+        PREFIX_TEST("Test", "");
+
+        private final String prefix;
+        private final String suffix;
+
+        Form(String prefix, String suffix) {
+            this.prefix = prefix;
+            this.suffix = suffix;
+        }
+
+        boolean matches(String testName, String subjectName) {
+            return testName.length() == prefix.length() + subjectName.length() + suffix.length() &&
+                    testName.startsWith(prefix) && testName.endsWith(suffix) &&
+                    testName.startsWith(subjectName, prefix.length());
+        }
+
+        /**
+         * Get the name of the subject class if the test class name is in this form, otherwise <code>null</code>.
+         */
+        String getSubjectName(String testName) {
+            if (testName.length() <= prefix.length() + suffix.length() || !testName.startsWith(prefix) ||
+                    !testName.endsWith(suffix)) {
+                return null;
+            }
+            final String subjectName = testName.substring(prefix.length(), testName.length() - suffix.length());
+            // "Testing" is not in the form of "Test" + "ing"
+            if (!prefix.isEmpty() && !Character.isUpperCase(subjectName.charAt(0))) {
+                return null;
+            }
+            return subjectName;
+        }
+    }
+
+    private final int[] counts = new int[Form.values().length];
+    private int testCount;
+    private int mirroredCount;
+
+    /**
+     * Get the form of the test class name for the given subject class name, or <code>null</code> if the name is
+     * not in any of the common forms.
+     */
+    static Form getForm(String testName, String subjectName) {
+        for (final Form form : Form.values()) {
+            if (form.matches(testName, subjectName)) {
+                return form;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Guess the name of the subject class from the name of the test class.
+     */
+    static String guessSubjectName(String testName) {
+        for (final Form form : Form.values()) {
+            final String subjectName = form.getSubjectName(testName);
+            if (subjectName != null) {
+                return subjectName;
+            }
+        }
+        return testName.replaceAll("Tests?", "");
+    }
+
+    /**
+     * Record a test class of the project.
+     * @param testName the simple name of the test class
+     * @param mirrored whether the subject class is declared in the same package as the test class
+     */
+    void record(String testName, boolean mirrored) {
+        testCount++;
+        if (mirrored) {
+            mirroredCount++;
+        }
+        for (final Form form : Form.values()) {
+            if (form.getSubjectName(testName) != null) {
+                counts[form.ordinal()]++;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Get the rank of the form in the project, 0 for the most used one.
+     */
+    int getRank(Form form) {
+        final int count = counts[form.ordinal()];
+        int rank = 0;
+        for (final Form other : Form.values()) {
+            final int otherCount = counts[other.ordinal()];
+            if (otherCount > count || (otherCount == count && other.ordinal() < form.ordinal())) {
+                rank++;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Whether most of the test classes are declared in the same packages as the classes they test.
+     */
+    boolean isMirroredLayout() {
+        return testCount > 0 && mirroredCount * 2 >= testCount;
+    }
+}
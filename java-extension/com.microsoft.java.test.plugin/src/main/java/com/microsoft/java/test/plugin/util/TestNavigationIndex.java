@@ -0,0 +1,389 @@
+/*******************************************************************************
+* Copyright (c) 2026 Microsoft Corporation and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License v1.0
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v10.html
+*
+* Contributors:
+*     Microsoft Corporation - initial API and implementation
+*******************************************************************************/
+
+package com.microsoft.java.test.plugin.util;
+
+import com.microsoft.java.test.plugin.util.TestNavigationUtils.TestNavigationItem;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.TypeNameRequestor;
+import org.eclipse.jdt.ls.core.internal.ProjectUtils;
+import org.eclipse.jdt.ls.core.internal.managers.ProjectsManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An index of the top level classes in the test and non-test source folders, used to find the tests of a
+ * subject type and the subjects of a test type by their names.
+ *
+ * The index is built once with a single type name search per kind of source folder. Afterwards it is
+ * updated for each changed compilation unit, and only rebuilt when the classpath or the source folders
+ * change. The candidates found for a name are cached until the index changes, and ranked for each request
+ * with the naming conventions learned from the test classes of the project, which are kept until the index
+ * is rebuilt.
+ */
+@SuppressWarnings("restriction")
+public final class TestNavigationIndex {
+
+    private static final Object LOCK = new Object();
+
+    /**
+     * Upper bound of the name score and the package distance used in the relevance
+     */
+    private static final int MAX_SCORE = 99;
+
+    /**
+     * Path of the compilation unit -> classes declared in it. <code>null</code> if not built yet.
+     */
+    private static Map<String, List<TypeEntry>> testTypesByPath;
+    private static Map<String, List<TypeEntry>> subjectTypesByPath;
+
+    /**
+     * Whether searching tests + name to search -> the classes whose names contain the name
+     */
+    private static final Map<String, List<TypeEntry>> CANDIDATES = new HashMap<>();
+
+    /**
+     * Project name -> naming conventions of its test classes
+     */
+    private static final Map<String, TestNamingConventions> CONVENTIONS = new HashMap<>();
+
+    private static final Set<ICompilationUnit> DIRTY_UNITS = ConcurrentHashMap.newKeySet();
+    private static volatile boolean invalid = true;
+
+    private TestNavigationIndex() {}
+
+    public static void invalidate(ICompilationUnit unit) {
+        DIRTY_UNITS.add(unit.getPrimary());
+    }
+
+    public static void invalidateAll() {
+        invalid = true;
+        DIRTY_UNITS.clear();
+    }
+
+    /**
+     * Find the classes whose names contain the given name (case insensitive), sorted by relevance.
+     * @param nameToSearch the name to search
+     * @param from the simple name of the type where the navigation starts, which is excluded from the result
+     * @param fromPackage the package name of the type where the navigation starts
+     * @param goToTest whether to search the test classes or the subject classes
+     * @param javaProject the project where the navigation starts
+     */
+    static List<TestNavigationItem> find(String nameToSearch, String from, String fromPackage, boolean goToTest,
+            IJavaProject javaProject, IProgressMonitor monitor) throws JavaModelException {
+        final List<Candidate> candidates = new ArrayList<>();
+        synchronized (LOCK) {
+            update(monitor);
+            if (monitor.isCanceled()) {
+                return Collections.emptyList();
+            }
+            final String key = goToTest + "@" + nameToSearch;
+            final List<TypeEntry> types = CANDIDATES.computeIfAbsent(key, k -> findCandidates(nameToSearch, goToTest));
+            final String projectName = javaProject.getElementName();
+            final TestNamingConventions conventions = CONVENTIONS.computeIfAbsent(projectName,
+                    TestNavigationIndex::learnConventions);
+            for (final TypeEntry type : types) {
+                // for invisible project and Eclipse project, all the package root are both test and source,
+                // so the search result might be itself.
+                if (Objects.equals(type.simpleName, from)) {
+                    continue;
+                }
+                candidates.add(new Candidate(type, calculateRelevance(type, nameToSearch, goToTest, fromPackage,
+                        projectName, conventions)));
+            }
+        }
+        candidates.sort((a, b) -> Integer.compare(a.relevance, b.relevance));
+
+        final List<TestNavigationItem> items = new LinkedList<>();
+        for (final Candidate candidate : candidates) {
+            final TestNavigationItem item = candidate.type.toNavigationItem(candidate.relevance, javaProject);
+            if (item != null) {
+                items.add(item);
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Find the test classes declared in the given compilation units.
+     */
+    static List<TestNavigationItem> findTestsIn(Collection<ICompilationUnit> units, int relevance,
+            IJavaProject javaProject, IProgressMonitor monitor) throws JavaModelException {
+        final List<TestNavigationItem> items = new LinkedList<>();
+        synchronized (LOCK) {
+            update(monitor);
+            for (final ICompilationUnit unit : units) {
+                final List<TypeEntry> types = testTypesByPath.get(unit.getPath().toString());
+                if (types == null) {
+                    continue;
+                }
+                for (final TypeEntry type : types) {
+                    final TestNavigationItem item = type.toNavigationItem(relevance, javaProject);
+                    if (item != null) {
+                        items.add(item);
+                    }
+                }
+            }
+        }
+        return items;
+    }
+
+    private static void update(IProgressMonitor monitor) throws JavaModelException {
+        if (invalid || testTypesByPath == null || subjectTypesByPath == null) {
+            invalid = false;
+            DIRTY_UNITS.clear();
+            CANDIDATES.clear();
+            CONVENTIONS.clear();
+            testTypesByPath = buildIndex(true, monitor);
+            subjectTypesByPath = buildIndex(false, monitor);
+            // the index might be incomplete, rebuild it next time
+            if (monitor.isCanceled()) {
+                invalid = true;
+            }
+            return;
+        }
+
+        if (DIRTY_UNITS.isEmpty()) {
+            return;
+        }
+        for (final ICompilationUnit unit : DIRTY_UNITS) {
+            DIRTY_UNITS.remove(unit);
+            final String path = unit.getPath().toString();
+            testTypesByPath.remove(path);
+            subjectTypesByPath.remove(path);
+            if (!unit.exists()) {
+                continue;
+            }
+
+            final IJavaProject javaProject = unit.getJavaProject();
+            final IPackageFragmentRoot root = (IPackageFragmentRoot) unit.getAncestor(
+                    IJavaElement.PACKAGE_FRAGMENT_ROOT);
+            if (root == null || javaProject == null ||
+                    ProjectsManager.DEFAULT_PROJECT_NAME.equals(javaProject.getProject().getName())) {
+                continue;
+            }
+            final IClasspathEntry entry = root.getRawClasspathEntry();
+            if (entry == null || entry.getEntryKind() != IClasspathEntry.CPE_SOURCE) {
+                continue;
+            }
+
+            final List<TypeEntry> types = new LinkedList<>();
+            for (final IType type : unit.getTypes()) {
+                if (type.isClass()) {
+                    types.add(new TypeEntry(type.getPackageFragment().getElementName(), type.getElementName(),
+                            unit.getPath()));
+                }
+            }
+            final boolean isGeneralProject = ProjectUtils.isGeneralJavaProject(javaProject.getProject());
+            final boolean isTestEntry = ProjectTestUtils.isTestEntry(entry);
+            if (isTestEntry || isGeneralProject) {
+                testTypesByPath.put(path, types);
+            }
+            if (!isTestEntry || isGeneralProject) {
+                subjectTypesByPath.put(path, types);
+            }
+        }
+        CANDIDATES.clear();
+    }
+
+    private static Map<String, List<TypeEntry>> buildIndex(boolean isTest, IProgressMonitor monitor)
+            throws JavaModelException {
+        final Map<String, List<TypeEntry>> typesByPath = new HashMap<>();
+        new SearchEngine().searchAllTypeNames(
+            null,
+            SearchPattern.R_EXACT_MATCH,
+            null,
+            SearchPattern.R_PATTERN_MATCH,
+            IJavaSearchConstants.CLASS,
+            isTest ? SearchScopeCache.getTestScope() : SearchScopeCache.getMainScope(),
+            new TypeNameRequestor() {
+                @Override
+                public void acceptType(int modifiers, char[] packageName, char[] simpleTypeName,
+                        char[][] enclosingTypeNames, String path) {
+                    // All the nested classes are ignored.
+                    if (!path.endsWith(".java") || enclosingTypeNames.length > 0) {
+                        return;
+                    }
+                    typesByPath.computeIfAbsent(path, k -> new LinkedList<>()).add(new TypeEntry(
+                            String.valueOf(packageName), String.valueOf(simpleTypeName), new Path(path)));
+                }
+            },
+            IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH,
+            monitor
+        );
+        return typesByPath;
+    }
+
+    private static List<TypeEntry> findCandidates(String nameToSearch, boolean goToTest) {
+        final Map<String, List<TypeEntry>> typesByPath = goToTest ? testTypesByPath : subjectTypesByPath;
+        final String lowerCaseName = nameToSearch.toLowerCase(Locale.ROOT);
+        final List<TypeEntry> candidates = new LinkedList<>();
+        for (final List<TypeEntry> types : typesByPath.values()) {
+            for (final TypeEntry type : types) {
+                if (!type.lowerCaseSimpleName.contains(lowerCaseName)) {
+                    continue;
+                }
+                if (!goToTest && (type.simpleName.endsWith("Test") || type.simpleName.endsWith("Tests"))) {
+                    continue;
+                }
+                candidates.add(type);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Learn the naming conventions from the test classes of the project, a test class is mirrored if the class
+     * it tests is found in the same package.
+     */
+    private static TestNamingConventions learnConventions(String projectName) {
+        final Set<String> subjectNames = new HashSet<>();
+        for (final List<TypeEntry> types : subjectTypesByPath.values()) {
+            for (final TypeEntry type : types) {
+                if (projectName.equals(type.projectName)) {
+                    subjectNames.add(type.fullyQualifiedName);
+                }
+            }
+        }
+
+        final TestNamingConventions conventions = new TestNamingConventions();
+        for (final List<TypeEntry> types : testTypesByPath.values()) {
+            for (final TypeEntry type : types) {
+                if (!projectName.equals(type.projectName)) {
+                    continue;
+                }
+                final String subjectName = TestNamingConventions.guessSubjectName(type.simpleName);
+                conventions.record(type.simpleName, subjectNames.contains(type.packageName + "." + subjectName));
+            }
+        }
+        return conventions;
+    }
+
+    /**
+     * Calculate the relevance of the candidate, the smaller the more relevant. The candidates are ranked by:
+     * <ol>
+     * <li>whether the names follow the naming conventions, i.e. the exact subject name, or the test name in any
+     * of the common forms, ordered by how often the project uses them</li>
+     * <li>whether the candidate is in the project where the navigation starts</li>
+     * <li>the distance between the packages. If the tests of the project mirror the packages of the subjects,
+     * the distance is more important than the form of the name</li>
+     * </ol>
+     */
+    private static int calculateRelevance(TypeEntry type, String nameToSearch, boolean goToTest, String fromPackage,
+            String projectName, TestNamingConventions conventions) {
+        final boolean conventional;
+        final int nameScore;
+        final TestNamingConventions.Form form = goToTest ?
+                TestNamingConventions.getForm(type.simpleName, nameToSearch) : null;
+        if (form != null) {
+            conventional = true;
+            nameScore = conventions.getRank(form);
+        } else if (!goToTest && type.simpleName.equals(nameToSearch)) {
+            conventional = true;
+            nameScore = 0;
+        } else {
+            conventional = false;
+            nameScore = Math.min(type.lowerCaseSimpleName.indexOf(nameToSearch.toLowerCase(Locale.ROOT)),
+                    MAX_SCORE);
+        }
+
+        final int distance = Math.min(getPackageDistance(fromPackage, type.packageName), MAX_SCORE);
+        int relevance = conventions.isMirroredLayout() ? distance * 100 + nameScore : nameScore * 100 + distance;
+        if (!projectName.equals(type.projectName)) {
+            relevance += 10000;
+        }
+        if (!conventional) {
+            relevance += 100000;
+        }
+        return relevance;
+    }
+
+    /**
+     * Get the number of the segments which are not shared by the two packages.
+     */
+    private static int getPackageDistance(String packageA, String packageB) {
+        if (packageA.equals(packageB)) {
+            return 0;
+        }
+        final String[] segmentsA = packageA.isEmpty() ? new String[0] : packageA.split("\\.");
+        final String[] segmentsB = packageB.isEmpty() ? new String[0] : packageB.split("\\.");
+        int common = 0;
+        while (common < segmentsA.length && common < segmentsB.length &&
+                segmentsA[common].equals(segmentsB[common])) {
+            common++;
+        }
+        return segmentsA.length + segmentsB.length - 2 * common;
+    }
+
+    private static final class TypeEntry {
+        final String packageName;
+        final String simpleName;
+        final String lowerCaseSimpleName;
+        final String fullyQualifiedName;
+        final String projectName;
+        final IPath path;
+
+        TypeEntry(String packageName, String simpleName, IPath path) {
+            this.packageName = packageName;
+            this.simpleName = simpleName;
+            this.lowerCaseSimpleName = simpleName.toLowerCase(Locale.ROOT);
+            this.fullyQualifiedName = packageName + "." + simpleName;
+            this.projectName = path.segment(0);
+            this.path = path;
+        }
+
+        TestNavigationItem toNavigationItem(int relevance, IJavaProject javaProject) {
+            final IFile file = ResourcesPlugin.getWorkspace().getRoot().getFile(path);
+            if (!file.exists() || file.getLocation() == null) {
+                return null;
+            }
+            final String uri = file.getLocation().toFile().toURI().toString();
+            final boolean outOfBelongingProject = !Objects.equals(javaProject.getElementName(), path.segment(0));
+            return new TestNavigationItem(simpleName, fullyQualifiedName, uri, relevance, outOfBelongingProject);
+        }
+    }
+
+    private static final class Candidate {
+        final TypeEntry type;
+        final int relevance;
+
+        Candidate(TypeEntry type, int relevance) {
+            this.type = type;
+            this.relevance = relevance;
+        }
+    }
+}
@@ -11,32 +11,19 @@
 
 package com.microsoft.java.test.plugin.util;
 
-import org.eclipse.core.resources.IFile;
-import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
-import org.eclipse.core.runtime.Path;
-import org.eclipse.jdt.core.IClasspathEntry;
 import org.eclipse.jdt.core.ICompilationUnit;
-import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaModelException;
-import org.eclipse.jdt.core.search.IJavaSearchConstants;
-import org.eclipse.jdt.core.search.IJavaSearchScope;
-import org.eclipse.jdt.core.search.SearchEngine;
-import org.eclipse.jdt.core.search.SearchPattern;
-import org.eclipse.jdt.core.search.TypeNameRequestor;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JDTUtils.LocationType;
-import org.eclipse.jdt.ls.core.internal.ProjectUtils;
 import org.eclipse.lsp4j.Location;
 
-import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -63,130 +50,32 @@ public class TestNavigationUtils {
         }
         final IType primaryType = unit.findPrimaryType();
         final String typeName;
+        final String packageName;
         Location location = null;
         if (primaryType != null) {
             typeName = primaryType.getElementName();
+            packageName = primaryType.getPackageFragment().getElementName();
             location = JDTUtils.toLocation(primaryType, LocationType.NAME_RANGE);
         } else {
             typeName = unit.getElementName().substring(0, unit.getElementName().lastIndexOf(".java"));
+            packageName = unit.getParent().getElementName();
         }
-        final SearchEngine searchEngine = new SearchEngine();
         final boolean goToTest = (boolean) arguments.get(1);
-        final String nameToSearch = goToTest ? typeName : guessTestSubjectName(typeName);
-        final IJavaSearchScope scope = getSearchScope(goToTest);
+        final String nameToSearch = goToTest ? typeName : TestNamingConventions.guessSubjectName(typeName);
         final IJavaProject javaProject = unit.getJavaProject();
-        final Set<TestNavigationItem> items = new HashSet<>();
-        searchEngine.searchAllTypeNames(
-            null,
-            SearchPattern.R_EXACT_MATCH,
-            ("*" + nameToSearch + "*").toCharArray(),
-            SearchPattern.R_PATTERN_MATCH,
-            IJavaSearchConstants.CLASS,
-            scope,
-            new TestNavigationNameRequestor(items, javaProject, nameToSearch, typeName, goToTest),
-            IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH,
-            monitor
-        );
-
-        return new TestNavigationResult(items, location);
-    }
-
-    /**
-     * Return the search scope that contains all source package fragment roots.
-     * @param isTest Whether containing test source or not
-     * @throws JavaModelException
-     */
-    private static IJavaSearchScope getSearchScope(boolean isTest) throws JavaModelException {
-        final List<IJavaElement> javaElements = new LinkedList<>();
-        final IJavaProject[] javaProjects = ProjectUtils.getJavaProjects();
-        for (final IJavaProject project : javaProjects) {
-            final List<IClasspathEntry> testEntries = isTest ? ProjectTestUtils.getTestEntries(project) :
-                    ProjectTestUtils.getSourceEntries(project);
-            for (final IClasspathEntry entry : testEntries) {
-                javaElements.addAll(Arrays.asList(project.findPackageFragmentRoots(entry)));
-            }
-        }
-
-        return SearchEngine.createJavaSearchScope(
-            !isTest /*excludeTestCode*/,
-            javaElements.toArray(new IJavaElement[0]),
-            true /*includeReferencedProjects*/
-        );
-    }
-
-    /**
-     * Remove all the "Test" and "Tests" (case sensitive) in the input string.
-     */
-    private static String guessTestSubjectName(String testTypeName) {
-        return testTypeName.replaceAll("Tests?", "");
-    }
-
-    static final class TestNavigationNameRequestor extends TypeNameRequestor {
-        private final Set<TestNavigationItem> results;
-        private final IJavaProject javaProject;
-        private final String typeNameToSearch;
-        private final String from;
-        private final boolean isTest;
-
-        private TestNavigationNameRequestor(Set<TestNavigationItem> results, IJavaProject javaProject,
-                String typeNameToSearch, String from, boolean isTest) {
-            this.results = results;
-            this.javaProject = javaProject;
-            this.typeNameToSearch = typeNameToSearch;
-            this.from = from;
-            this.isTest = isTest;
-        }
-
-        @Override
-        public void acceptType(int modifiers, char[] packageName, char[] simpleTypeName,
-                char[][] enclosingTypeNames, String path) {
-            if (!path.endsWith(".java")) {
-                return;
-            }
-
-            final IPath fullPath = new Path(path);
-            final IFile file = javaProject.getProject().getFile(
-                    fullPath.makeRelativeTo(javaProject.getProject().getFullPath()));
-            if (!file.exists()) {
-                return;
-            }
-            final String uri = file.getLocation().toFile().toURI().toString();
-            final String simpleName;
-            if (enclosingTypeNames.length == 0) {
-                simpleName = String.valueOf(simpleTypeName);
-            } else {
-                // All the nested classes are ignored.
-                simpleName = String.valueOf(enclosingTypeNames[0]);
+        final Set<TestNavigationItem> items = new LinkedHashSet<>(
+                TestNavigationIndex.find(nameToSearch, typeName, packageName, goToTest, javaProject, monitor));
+        if (goToTest && items.isEmpty() && primaryType != null) {
+            // no test follows the naming conventions, fall back to the tests referencing the type
+            try {
+                items.addAll(TestNavigationIndex.findTestsIn(TypeReferenceGraph.getReferencingUnits(unit, monitor),
+                        Integer.MAX_VALUE, javaProject, monitor));
+            } catch (CoreException e) {
+                JUnitPlugin.log(e);
             }
-            // for invisible project and Eclipse project, all the package root are both test and source,
-            // so the search result might be itself.
-            if (Objects.equals(simpleName, from)) {
-                return;
-            }
-
-            if (!isTest && (simpleName.endsWith("Test") || simpleName.endsWith("Tests"))) {
-                return;
-            }
-            final String fullyQualifiedName = String.valueOf(packageName) + "." + simpleName;
-            final int relevance = calculateRelevance(simpleName);
-            final boolean outOfBelongingProject = !Objects.equals(this.javaProject.getElementName(),
-                    fullPath.segment(0));
-            results.add(new TestNavigationItem(simpleName, fullyQualifiedName, uri, relevance, outOfBelongingProject));
         }
 
-        // todo: better relevance calculation
-        private int calculateRelevance(String simpleName) {
-            if (isTest && (Objects.equals(simpleName, this.typeNameToSearch + "Test") ||
-                    Objects.equals(simpleName, this.typeNameToSearch + "Tests"))) {
-                return Integer.MIN_VALUE;
-            } else {
-                int relevance = simpleName.indexOf(this.typeNameToSearch);
-                if (relevance < 0) {
-                    relevance = Integer.MAX_VALUE;
-                }
-                return relevance;
-            }
-        }
+        return new TestNavigationResult(items, location);
     }
 
     static final class TestNavigationResult {
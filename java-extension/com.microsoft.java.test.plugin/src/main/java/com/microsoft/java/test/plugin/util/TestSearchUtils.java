@@ -12,6 +12,7 @@
 package com.microsoft.java.test.plugin.util;
 
 import com.microsoft.java.test.plugin.model.JavaTestItem;
+import com.microsoft.java.test.plugin.model.TestItemsResult;
 import com.microsoft.java.test.plugin.model.TestKind;
 import com.microsoft.java.test.plugin.model.TestLevel;
 import com.microsoft.java.test.plugin.model.builder.JavaTestItemBuilder;
@@ -24,8 +25,6 @@ import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.SubProgressMonitor;
-import org.eclipse.core.runtime.jobs.Job;
-import org.eclipse.jdt.core.IClasspathEntry;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaModel;
@@ -34,7 +33,6 @@ import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.IType;
-import org.eclipse.jdt.core.ITypeHierarchy;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.dom.AST;
@@ -56,13 +54,13 @@ import org.eclipse.jdt.ls.core.internal.JDTUtils;
 import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
 import org.eclipse.jdt.ls.core.internal.ProjectUtils;
 import org.eclipse.jdt.ls.core.internal.ResourceUtils;
-import org.eclipse.jdt.ls.core.internal.handlers.DocumentLifeCycleHandler;
 import org.eclipse.lsp4j.Location;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedHashMap;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -73,6 +71,9 @@ import java.util.stream.Collectors;
 @SuppressWarnings("restriction")
 public class TestSearchUtils {
 
+    private static final String FILE_KEY_PREFIX = "file:";
+    private static final String CLASS_KEY_PREFIX = "class:";
+
     /**
      * List all the Java Projects in the given workspace folder
      */
@@ -140,6 +141,8 @@ public class TestSearchUtils {
      * Package B
      *    ├── ...
      *
+     * The class items are lightweight, i.e. they have no ranges, so the sources of the classes are not read.
+     *
      * @param arguments argument list which contains the JDT handler ID of a Java project
      * @param monitor monitor
      * @throws CoreException
@@ -153,7 +156,7 @@ public class TestSearchUtils {
             return Collections.emptyList();
         }
         final IJavaProject javaProject = (IJavaProject) element;
-        final Map<String, JavaTestItem> testItemMapping = new HashMap<>();
+        final TestItemTree tree = new TestItemTree();
         final List<TestKind> testKinds = TestKindProvider.getTestKindsFromCache(javaProject);
         for (final TestKind kind : testKinds) {
             if (monitor != null && monitor.isCanceled()) {
@@ -161,26 +164,24 @@ public class TestSearchUtils {
             }
             final TestFrameworkSearcher searcher = TestFrameworkUtils.getSearcherByTestKind(kind);
             final Set<IType> testTypes = new HashSet<>();
-            final List<IClasspathEntry> testEntries = ProjectTestUtils.getTestEntries(javaProject);
-            for (final IClasspathEntry entry : testEntries) {
-                final IPackageFragmentRoot[] packageRoots = javaProject.findPackageFragmentRoots(entry);
-                for (final IPackageFragmentRoot root : packageRoots) {
-                    try {
-                        testTypes.addAll(searcher.findTestItemsInContainer(root, monitor));
-                    } catch (CoreException e) {
-                        JUnitPlugin.logException("failed to search tests in: " + root.getElementName(), e);
-                    }
+            for (final IPackageFragmentRoot root : SearchScopeCache.getTestRoots(javaProject)) {
+                try (TraceRecorder.Span span = TraceRecorder.begin("findTestsInContainer",
+                        kind + " " + root.getElementName())) {
+                    testTypes.addAll(searcher.findTestItemsInContainer(root, monitor));
+                } catch (CoreException e) {
+                    JUnitPlugin.logException("failed to search tests in: " + root.getElementName(), e);
                 }
             }
 
             for (final IType type : testTypes) {
-                JavaTestItem classItem = testItemMapping.get(type.getHandleIdentifier());
+                JavaTestItem classItem = tree.get(type.getHandleIdentifier());
                 if (classItem == null) {
                     classItem = new JavaTestItemBuilder().setJavaElement(type)
                             .setLevel(TestLevel.CLASS)
                             .setKind(kind)
+                            .setLightweight(true)
                             .build();
-                    testItemMapping.put(classItem.getJdtHandler(), classItem);
+                    tree.put(classItem.getJdtHandler(), classItem);
                 } else {
                     // 1. We suppose a class can only use one test framework
                     // 2. If more accurate kind is available, use it.
@@ -195,55 +196,33 @@ public class TestSearchUtils {
                     // it's a root type, we find its declaring package
                     final IPackageFragment packageFragment = type.getPackageFragment();
                     final String packageIdentifier = packageFragment.getHandleIdentifier();
-                    JavaTestItem packageItem = testItemMapping.get(packageIdentifier);
+                    JavaTestItem packageItem = tree.get(packageIdentifier);
                     if (packageItem == null) {
                         packageItem = new JavaTestItemBuilder().setJavaElement(packageFragment)
                                 .setLevel(TestLevel.PACKAGE)
                                 .setKind(TestKind.None)
                                 .build();
-                        testItemMapping.put(packageIdentifier, packageItem);
-                    }
-                    if (packageItem.getChildren() == null || !packageItem.getChildren().contains(classItem)) {
-                        packageItem.addChild(classItem);
+                        tree.put(packageIdentifier, packageItem);
                     }
+                    tree.attach(packageItem, classItem);
                 } else {
                     final String declaringTypeIdentifier = declaringType.getHandleIdentifier();
-                    JavaTestItem declaringTypeItem = testItemMapping.get(declaringTypeIdentifier);
+                    JavaTestItem declaringTypeItem = tree.get(declaringTypeIdentifier);
                     if (declaringTypeItem == null) {
                         declaringTypeItem = new JavaTestItemBuilder().setJavaElement(declaringType)
                                 .setLevel(TestLevel.CLASS)
                                 .setKind(kind)
+                                .setLightweight(true)
                                 .build();
-                        testItemMapping.put(declaringTypeIdentifier, declaringTypeItem);
-                    }
-                    if (declaringTypeItem.getChildren() == null ||
-                            !declaringTypeItem.getChildren().contains(classItem)) {
-                        declaringTypeItem.addChild(classItem);
+                        tree.put(declaringTypeIdentifier, declaringTypeItem);
                     }
+                    tree.attach(declaringTypeItem, classItem);
                 }
             }
         }
 
         // Merge packages that share the same ID (e.g. same package name across different source sets)
-        final Map<String, JavaTestItem> mergedPackages = new LinkedHashMap<>();
-        for (final JavaTestItem item : testItemMapping.values()) {
-            if (item.getTestLevel() == TestLevel.PACKAGE) {
-                final JavaTestItem existing = mergedPackages.get(item.getId());
-                if (existing != null) {
-                    if (item.getChildren() != null) {
-                        for (final JavaTestItem child : item.getChildren()) {
-                            if (existing.getChildren() == null || !existing.getChildren().contains(child)) {
-                                existing.addChild(child);
-                            }
-                        }
-                    }
-                } else {
-                    mergedPackages.put(item.getId(), item);
-                }
-            }
-        }
-
-        return new LinkedList<>(mergedPackages.values());
+        return tree.getPackages();
     }
 
     /**
@@ -256,12 +235,29 @@ public class TestSearchUtils {
      * @throws InterruptedException
      */
     public static List<JavaTestItem> findDirectTestChildrenForClass(List<Object> arguments, IProgressMonitor monitor)
-            throws JavaModelException, OperationCanceledException, InterruptedException {
+            throws CoreException, OperationCanceledException, InterruptedException {
         final String handlerId = (String) arguments.get(0);
+        return findTestItems(getCompilationUnit(handlerId), CLASS_KEY_PREFIX + handlerId, -1, monitor,
+                () -> findDirectTestChildrenForClass(handlerId, monitor)).items;
+    }
 
-        // wait for the LS finishing updating
-        Job.getJobManager().join(DocumentLifeCycleHandler.DOCUMENT_LIFE_CYCLE_JOBS, monitor);
+    /**
+     * Find the direct declared testable class and method for a given class, without waiting for the pending
+     * changes of the documents longer than the given timeout.
+     * @param arguments Contains the class's handler id and the timeout in milliseconds
+     * @return the test items, which are the last ones found for the class and are marked stale if the changes are
+     *         not applied within the timeout
+     */
+    public static TestItemsResult findDirectTestChildrenForClassWithTimeout(List<Object> arguments,
+            IProgressMonitor monitor) throws CoreException, OperationCanceledException, InterruptedException {
+        final String handlerId = (String) arguments.get(0);
+        final long timeout = ((Number) arguments.get(1)).longValue();
+        return findTestItems(getCompilationUnit(handlerId), CLASS_KEY_PREFIX + handlerId, timeout, monitor,
+                () -> findDirectTestChildrenForClass(handlerId, monitor));
+    }
 
+    private static List<JavaTestItem> findDirectTestChildrenForClass(String handlerId, IProgressMonitor monitor)
+            throws JavaModelException {
         final IType testType = (IType) JavaCore.create(handlerId);
         if (testType == null) {
             return Collections.emptyList();
@@ -340,18 +336,67 @@ public class TestSearchUtils {
      */
     public static List<JavaTestItem> findTestTypesAndMethods(List<Object> arguments, IProgressMonitor monitor)
             throws CoreException, OperationCanceledException, InterruptedException {
-        // todo: This method is somehow duplicated with findDirectTestChildrenForClass,
-        // considering merge them in the future.
         final String uriString = (String) arguments.get(0);
-
-        // wait for the LS finishing updating
-        Job.getJobManager().join(DocumentLifeCycleHandler.DOCUMENT_LIFE_CYCLE_JOBS, monitor);
-
         final ICompilationUnit unit = JDTUtils.resolveCompilationUnit(uriString);
         if (unit == null) {
             return Collections.emptyList();
         }
+        return findTestItems(unit, FILE_KEY_PREFIX + uriString, -1, monitor,
+                () -> findTestTypesAndMethods(unit, monitor)).items;
+    }
 
+    /**
+     * Get all the test types and methods is the given file, without waiting for the pending changes of the
+     * documents longer than the given timeout.
+     * @param arguments Contains the target file's uri and the timeout in milliseconds
+     * @return the test items, which are the last ones found in the file and are marked stale if the changes are
+     *         not applied within the timeout
+     */
+    public static TestItemsResult findTestTypesAndMethodsWithTimeout(List<Object> arguments,
+            IProgressMonitor monitor) throws CoreException, OperationCanceledException, InterruptedException {
+        final String uriString = (String) arguments.get(0);
+        final long timeout = ((Number) arguments.get(1)).longValue();
+        final ICompilationUnit unit = JDTUtils.resolveCompilationUnit(uriString);
+        if (unit == null) {
+            return new TestItemsResult(Collections.emptyList(), false);
+        }
+        return findTestItems(unit, FILE_KEY_PREFIX + uriString, timeout, monitor,
+                () -> findTestTypesAndMethods(unit, monitor));
+    }
+
+    /**
+     * Wait for the document life cycle jobs and find the test items. If the jobs are not done within the timeout,
+     * the last test items found for the same key are returned as stale ones, if there are any. The concurrent
+     * requests for the same version of the compilation unit share one computation.
+     * @param unit the compilation unit declaring the test items, or <code>null</code> if they are not cached
+     */
+    private static TestItemsResult findTestItems(ICompilationUnit unit, String key, long timeout,
+            IProgressMonitor monitor, FileTestItemsCache.Finder finder) throws CoreException, InterruptedException {
+        // wait for the LS finishing updating
+        if (!DocumentLifeCycleJobs.join(timeout, monitor)) {
+            final List<JavaTestItem> lastItems = unit == null ? null : FileTestItemsCache.getLast(unit, key);
+            if (lastItems != null) {
+                return new TestItemsResult(lastItems, true);
+            }
+            DocumentLifeCycleJobs.join(monitor);
+        }
+
+        if (unit != null) {
+            return new TestItemsResult(FileTestItemsCache.get(unit, key, finder, monitor), false);
+        }
+        final List<JavaTestItem> items = finder.find();
+        return new TestItemsResult(items == null ? Collections.emptyList() : items, false);
+    }
+
+    private static ICompilationUnit getCompilationUnit(String typeHandleId) {
+        final IJavaElement element = JavaCore.create(typeHandleId);
+        return element instanceof IType ? ((IType) element).getCompilationUnit() : null;
+    }
+
+    // todo: This method is somehow duplicated with findDirectTestChildrenForClass,
+    // considering merge them in the future.
+    private static List<JavaTestItem> findTestTypesAndMethods(ICompilationUnit unit, IProgressMonitor monitor)
+            throws CoreException {
         final IType primaryType = unit.findPrimaryType();
         if (primaryType == null) {
             return Collections.emptyList();
@@ -529,62 +574,40 @@ public class TestSearchUtils {
     public static Location findTestLocation(List<Object> arguments, IProgressMonitor monitor)
             throws JavaModelException {
         final String fullName = (String) arguments.get(0);
-        if (StringUtils.isEmpty(fullName)) {
-            return null;
-        }
-
-        final int projectNameEnd = fullName.indexOf("@");
-        if (projectNameEnd < 0) {
-            return null;
-        }
-
-        final String projectName = fullName.substring(0, projectNameEnd);
-        if (StringUtils.isEmpty(projectName)) {
-            return null;
-        }
-
-        final IJavaProject javaProject = ProjectUtils.getJavaProject(projectName);
-        if (javaProject == null) {
-            return null;
-        }
-
-        final int methodStart = fullName.indexOf("#");
-        final String typeName;
-        final String methodName;
-        if (methodStart > 0) {
-            typeName = fullName.substring(projectNameEnd + 1, methodStart);
-            methodName = fullName.substring(methodStart + 1);
-        } else {
-            typeName = fullName.substring(projectNameEnd + 1);
-            methodName = null;
-        }
+        return new TestLocationTable().find(fullName, monitor);
+    }
 
-        final IType type = findType(javaProject, typeName, monitor);
-        if (type == null) {
-            return null;
+    /**
+     * Given the full names of a batch of test items, get their locations in the same order. Each class and
+     * its supertype hierarchy are resolved only once for all its items. If the optional second argument, the
+     * id of the test run, is given, the resolved classes are kept for the later batches of the same run until
+     * {@link #disposeTestLocations(List, IProgressMonitor)} is called.
+     */
+    @SuppressWarnings("unchecked")
+    public static List<Location> findTestLocations(List<Object> arguments, IProgressMonitor monitor)
+            throws JavaModelException {
+        if (arguments == null || arguments.isEmpty() || arguments.get(0) == null) {
+            return Collections.emptyList();
         }
-
-        if (StringUtils.isEmpty(methodName)) {
-            return new Location(JDTUtils.getFileURI(type.getResource()), TestItemUtils.parseTestItemRange(type));
+        final List<String> fullNames = (List<String>) arguments.get(0);
+        final String runId = arguments.size() > 1 ? (String) arguments.get(1) : null;
+        if (StringUtils.isEmpty(runId)) {
+            return new TestLocationTable().findAll(fullNames, monitor);
         }
-
-        IMethod method = findMethod(type, methodName);
-        if (method != null) {
-            return new Location(JDTUtils.getFileURI(method.getResource()),
-                    TestItemUtils.parseTestItemRange(method));
+        final TestLocationTable table = TestLocationTable.forRun(runId);
+        synchronized (table) {
+            return table.findAll(fullNames, monitor);
         }
+    }
 
-        final ITypeHierarchy typeHierarchy = type.newSupertypeHierarchy(null);
-        final IType[] supertypes = typeHierarchy.getAllSupertypes(type);
-        for (final IType supertype : supertypes) {
-            method = findMethod(supertype, methodName);
-            if (method != null) {
-                return new Location(JDTUtils.getFileURI(method.getResource()),
-                    TestItemUtils.parseTestItemRange(method));
-            }
+    /**
+     * Drop the locations kept for the test run whose id is given, when the run finishes.
+     */
+    public static Object disposeTestLocations(List<Object> arguments, IProgressMonitor monitor) {
+        if (arguments != null && !arguments.isEmpty() && arguments.get(0) != null) {
+            TestLocationTable.dispose((String) arguments.get(0));
         }
-
-        return new Location(JDTUtils.getFileURI(type.getResource()), TestItemUtils.parseTestItemRange(type));
+        return null;
     }
 
     protected static final IMethod findMethod(IType type, String methodName) throws JavaModelException {
@@ -666,11 +689,93 @@ public class TestSearchUtils {
         }
     }
 
+    /**
+     * Find the types of a batch of class names. The project and its required projects are visited only once for
+     * all the names, and the names which are not found there are searched in the workspace with a single search.
+     * @return class name -> type, the class names which cannot be found are absent
+     */
+    protected static final Map<String, IType> findTypes(final IJavaProject project, Collection<String> classNames,
+            IProgressMonitor monitor) {
+        final Map<String, IType> result = new HashMap<>();
+        // dotted name -> class name
+        final Map<String, String> unresolved = new HashMap<>();
+        for (final String className : classNames) {
+            unresolved.put(className.replace('$', '.'), className); // for nested classes...
+        }
+        try {
+            if (project != null) {
+                internalFindTypes(project, unresolved, result, new HashSet<IJavaProject>());
+            }
+            if (unresolved.isEmpty() || monitor.isCanceled()) {
+                return result;
+            }
+
+            final char[][] qualifications = new char[unresolved.size()][];
+            final char[][] typeNames = new char[unresolved.size()][];
+            int i = 0;
+            for (final String dottedName : unresolved.keySet()) {
+                final int lastDot = dottedName.lastIndexOf('.');
+                qualifications[i] = lastDot >= 0 ? dottedName.substring(0, lastDot).toCharArray() : new char[0];
+                typeNames[i] = (lastDot >= 0 ? dottedName.substring(lastDot + 1) : dottedName).toCharArray();
+                i++;
+            }
+            final TypeNameMatchRequestor nameMatchRequestor = new TypeNameMatchRequestor() {
+                @Override
+                public void acceptTypeNameMatch(TypeNameMatch match) {
+                    // the qualifications and the type names are matched in any combination
+                    final String className = unresolved.get(match.getFullyQualifiedName());
+                    if (className != null) {
+                        result.put(className, match.getType());
+                    }
+                }
+            };
+            new SearchEngine().searchAllTypeNames(
+                    qualifications,
+                    typeNames,
+                    SearchEngine.createWorkspaceScope(),
+                    nameMatchRequestor,
+                    IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH,
+                    monitor);
+        } catch (JavaModelException e) {
+            JUnitPlugin.log(e);
+        }
+        return result;
+    }
+
+    /**
+     * The batch version of {@link #internalFindType(IJavaProject, String, Set, IProgressMonitor)}, the found
+     * names are removed from the unresolved names.
+     */
+    private static void internalFindTypes(IJavaProject project, Map<String, String> unresolved,
+            Map<String, IType> result, Set<IJavaProject> visitedProjects) throws JavaModelException {
+        if (unresolved.isEmpty() || !visitedProjects.add(project)) {
+            return;
+        }
+        for (final Iterator<Map.Entry<String, String>> it = unresolved.entrySet().iterator(); it.hasNext();) {
+            final Map.Entry<String, String> entry = it.next();
+            final IType type = project.findType(entry.getKey());
+            if (type != null) {
+                result.put(entry.getValue(), type);
+                it.remove();
+            }
+        }
+        // visit required projects explicitly to also find not exported types
+        final IJavaModel javaModel = project.getJavaModel();
+        for (final String requiredProjectName : project.getRequiredProjectNames()) {
+            final IJavaProject requiredProject = javaModel.getJavaProject(requiredProjectName);
+            if (requiredProject.exists()) {
+                internalFindTypes(requiredProject, unresolved, result, visitedProjects);
+            }
+        }
+    }
+
     public static ASTNode parseToAst(final ICompilationUnit unit, final boolean fromCache,
             final IProgressMonitor monitor) {
         if (fromCache) {
-            final CompilationUnit astRoot = CoreASTProvider.getInstance().getAST(unit, CoreASTProvider.WAIT_YES,
-                    monitor);
+            final CompilationUnit astRoot;
+            try (TraceRecorder.Span span = TraceRecorder.begin("getSharedAST", unit.getElementName())) {
+                astRoot = CoreASTProvider.getInstance().getAST(unit, CoreASTProvider.WAIT_YES, monitor);
+            }
             if (astRoot != null) {
                 return astRoot;
             }
@@ -680,11 +785,13 @@ public class TestSearchUtils {
             return null;
         }
 
-        final ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
-        parser.setSource(unit);
-        parser.setFocalPosition(0);
-        parser.setResolveBindings(true);
-        parser.setIgnoreMethodBodies(true);
-        return parser.createAST(monitor);
+        try (TraceRecorder.Span span = TraceRecorder.begin("parseAST", unit.getElementName())) {
+            final ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
+            parser.setSource(unit);
+            parser.setFocalPosition(0);
+            parser.setResolveBindings(true);
+            parser.setIgnoreMethodBodies(true);
+            return parser.createAST(monitor);
+        }
     }
 }
@@ -0,0 +1,211 @@
+/*******************************************************************************
+* Copyright (c) 2026 Microsoft Corporation and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License v1.0
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v10.html
+*
+* Contributors:
+*     Microsoft Corporation - initial API and implementation
+*******************************************************************************/
+
+package com.microsoft.java.test.plugin.util;
+
+import com.google.gson.Gson;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records the time spent in the expensive phases of the delegate commands, e.g. waiting for the document life
+ * cycle jobs, parsing the ASTs, searching the tests and resolving the launch arguments, as nested spans which can
+ * be exported to a file in the Chrome trace event format, to be opened in <code>chrome://tracing</code> or
+ * <a href="https://ui.perfetto.dev">Perfetto</a>.
+ *
+ * The recording is off by default, when it's off {@link #begin(String)} returns a shared no-op span, so the
+ * instrumented code only pays for a volatile read.
+ */
+public final class TraceRecorder {
+
+    /**
+     * The maximum number of the recorded spans, the spans which end after that are dropped.
+     */
+    private static final int MAX_EVENTS = 200_000;
+
+    private static final Span NO_OP_SPAN = new Span(null, null);
+
+    private static final ConcurrentLinkedQueue<TraceEvent> EVENTS = new ConcurrentLinkedQueue<>();
+
+    private static final AtomicInteger EVENT_COUNT = new AtomicInteger();
+
+    private static volatile boolean enabled;
+
+    private TraceRecorder() {}
+
+    /**
+     * Begin a span, which must be closed in the same thread, usually by a try-with-resources statement.
+     */
+    public static Span begin(String name) {
+        return enabled ? new Span(name, null) : NO_OP_SPAN;
+    }
+
+    /**
+     * Begin a span with a detail shown in the arguments of the trace event, e.g. the command id or the element
+     * the phase works on.
+     */
+    public static Span begin(String name, String detail) {
+        return enabled ? new Span(name, detail) : NO_OP_SPAN;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Control the recording. The argument is a JSON object with the following optional fields:
+     * <ul>
+     * <li><code>enabled</code>: start or stop recording, starting clears the recorded spans</li>
+     * <li><code>export</code>: write the recorded spans to a trace file and clear them</li>
+     * <li><code>path</code>: the path of the trace file, a file in the temporary directory by default</li>
+     * </ul>
+     * @return the path of the exported trace file, or <code>null</code> if nothing is exported
+     */
+    public static String trace(List<Object> arguments, IProgressMonitor monitor) throws IOException {
+        final Argument args = arguments == null || arguments.isEmpty() || arguments.get(0) == null ?
+                new Argument() : new Gson().fromJson((String) arguments.get(0), Argument.class);
+        if (args.enabled != null) {
+            if (args.enabled && !enabled) {
+                clear();
+            }
+            enabled = args.enabled;
+        }
+        if (!args.export) {
+            return null;
+        }
+        final File file = args.path == null ?
+                File.createTempFile("vscode-java-test-trace-", ".json") : new File(args.path);
+        export(file);
+        return file.getAbsolutePath();
+    }
+
+    /**
+     * Write the recorded spans to the file and clear them.
+     */
+    static void export(File file) throws IOException {
+        final List<Object> traceEvents = new ArrayList<>();
+        final Map<Long, String> threadNames = new HashMap<>();
+        TraceEvent event;
+        while ((event = EVENTS.poll()) != null) {
+            EVENT_COUNT.decrementAndGet();
+            traceEvents.add(event);
+            threadNames.putIfAbsent(event.tid, event.threadName);
+        }
+        for (final Map.Entry<Long, String> entry : threadNames.entrySet()) {
+            traceEvents.add(new ThreadNameEvent(entry.getKey(), entry.getValue()));
+        }
+        final Map<String, Object> trace = new HashMap<>();
+        trace.put("traceEvents", traceEvents);
+        trace.put("displayTimeUnit", "ms");
+        if (file.getParentFile() != null) {
+            Files.createDirectories(file.getParentFile().toPath());
+        }
+        try (Writer writer = new OutputStreamWriter(Files.newOutputStream(file.toPath()), StandardCharsets.UTF_8)) {
+            new Gson().toJson(trace, writer);
+        }
+    }
+
+    static void clear() {
+        EVENTS.clear();
+        EVENT_COUNT.set(0);
+    }
+
+    private static void record(TraceEvent event) {
+        if (EVENT_COUNT.incrementAndGet() > MAX_EVENTS) {
+            EVENT_COUNT.decrementAndGet();
+            return;
+        }
+        EVENTS.add(event);
+    }
+
+    /**
+     * A phase of a command, the spans of the same thread nest by their time ranges.
+     */
+    public static final class Span implements AutoCloseable {
+        private final String name;
+        private final String detail;
+        private final long startNanos;
+
+        private Span(String name, String detail) {
+            this.name = name;
+            this.detail = detail;
+            this.startNanos = name == null ? 0 : System.nanoTime();
+        }
+
+        @Override
+        public void close() {
+            if (name == null) {
+                return;
+            }
+            final long endNanos = System.nanoTime();
+            final Thread thread = Thread.currentThread();
+            record(new TraceEvent(name, detail, startNanos / 1000, (endNanos - startNanos) / 1000, thread.getId(),
+                    thread.getName()));
+        }
+    }
+
+    /**
+     * A complete event in the Chrome trace event format, the timestamps are in microseconds.
+     */
+    private static final class TraceEvent {
+        final String name;
+        final String cat = "java.test";
+        final String ph = "X";
+        final long ts;
+        final long dur;
+        final int pid = 1;
+        final long tid;
+        final Map<String, String> args;
+        final transient String threadName;
+
+        TraceEvent(String name, String detail, long ts, long dur, long tid, String threadName) {
+            this.name = name;
+            this.ts = ts;
+            this.dur = dur;
+            this.tid = tid;
+            this.threadName = threadName;
+            this.args = detail == null ? null : Collections.singletonMap("detail", detail);
+        }
+    }
+
+    private static final class ThreadNameEvent {
+        final String name = "thread_name";
+        final String ph = "M";
+        final int pid = 1;
+        final long tid;
+        final Map<String, String> args;
+
+        ThreadNameEvent(long tid, String threadName) {
+            this.tid = tid;
+            this.args = Collections.singletonMap("name", threadName);
+        }
+    }
+
+    private static final class Argument {
+        Boolean enabled;
+        boolean export;
+        String path;
+    }
+}
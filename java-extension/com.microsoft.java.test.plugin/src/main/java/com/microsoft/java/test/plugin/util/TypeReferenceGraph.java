@@ -0,0 +1,276 @@
+/*******************************************************************************
+* Copyright (c) 2026 Microsoft Corporation and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License v1.0
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v10.html
+*
+* Contributors:
+*     Microsoft Corporation - initial API and implementation
+*******************************************************************************/
+
+package com.microsoft.java.test.plugin.util;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.IBinding;
+import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.eclipse.jdt.core.dom.IVariableBinding;
+import org.eclipse.jdt.core.dom.SimpleName;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchParticipant;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.SearchRequestor;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A cache of the reverse type references between the compilation units in the workspace, i.e. for a
+ * compilation unit, which other compilation units reference any type declared in it. The cached entries are
+ * also indexed by the referencing unit, so a changed unit is dropped from the entries referring to it without
+ * walking the whole graph.
+ *
+ * The referencing units of a compilation unit are computed lazily with the JDT search engine. When a
+ * compilation unit changes, it is removed from all the cached entries and marked dirty. The references
+ * of the dirty units are re-resolved from their own AST before the next lookup, so an edit only costs
+ * parsing the edited file instead of dropping the whole graph.
+ */
+public final class TypeReferenceGraph {
+
+    /**
+     * Handle identifier of a compilation unit -> handle identifiers of the units referencing it
+     */
+    private static final Map<String, Set<String>> REFERENCING_UNITS = new ConcurrentHashMap<>();
+
+    /**
+     * Handle identifier of a compilation unit -> handle identifiers of the units whose cached entries contain it
+     */
+    private static final Map<String, Set<String>> REFERENCED_UNITS = new ConcurrentHashMap<>();
+
+    /**
+     * Handle identifiers of the compilation units changed since the graph was updated
+     */
+    private static final Set<String> DIRTY_UNITS = ConcurrentHashMap.newKeySet();
+
+    private static final AtomicLong MODIFICATION_COUNT = new AtomicLong();
+
+    private TypeReferenceGraph() {}
+
+    /**
+     * Get the compilation units in the workspace source folders which reference any type declared
+     * in the given compilation unit.
+     */
+    public static Set<ICompilationUnit> getReferencingUnits(ICompilationUnit unit, IProgressMonitor monitor)
+            throws CoreException {
+        updateDirtyUnits(monitor);
+
+        final String handleId = unit.getPrimary().getHandleIdentifier();
+        Set<String> referencingUnits = REFERENCING_UNITS.get(handleId);
+        if (referencingUnits == null) {
+            final long modificationCount = MODIFICATION_COUNT.get();
+            referencingUnits = searchReferencingUnits(unit, monitor);
+            // do not cache the result if the workspace has changed during the search
+            if (modificationCount == MODIFICATION_COUNT.get() && !monitor.isCanceled()) {
+                REFERENCING_UNITS.put(handleId, referencingUnits);
+                for (final String id : referencingUnits) {
+                    addReferencedUnit(id, handleId);
+                }
+            }
+        }
+
+        final Set<ICompilationUnit> result = new LinkedHashSet<>();
+        for (final String id : referencingUnits) {
+            final IJavaElement element = JavaCore.create(id);
+            if (element instanceof ICompilationUnit && element.exists()) {
+                result.add((ICompilationUnit) element);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Drop the references from and to the given compilation unit. The references from the unit
+     * will be resolved again before the next lookup.
+     */
+    public static void invalidate(ICompilationUnit unit) {
+        final String handleId = unit.getPrimary().getHandleIdentifier();
+        MODIFICATION_COUNT.incrementAndGet();
+        REFERENCING_UNITS.remove(handleId);
+        final Set<String> referencedUnits = REFERENCED_UNITS.remove(handleId);
+        if (referencedUnits != null) {
+            for (final String referencedId : referencedUnits) {
+                final Set<String> referencingUnits = REFERENCING_UNITS.get(referencedId);
+                if (referencingUnits != null) {
+                    referencingUnits.remove(handleId);
+                }
+            }
+        }
+        DIRTY_UNITS.add(handleId);
+    }
+
+    public static void invalidateAll() {
+        MODIFICATION_COUNT.incrementAndGet();
+        REFERENCING_UNITS.clear();
+        REFERENCED_UNITS.clear();
+        DIRTY_UNITS.clear();
+    }
+
+    private static Set<String> searchReferencingUnits(ICompilationUnit unit, IProgressMonitor monitor)
+            throws CoreException {
+        SearchPattern pattern = null;
+        for (final IType type : unit.getAllTypes()) {
+            final SearchPattern typePattern = SearchPattern.createPattern(type, IJavaSearchConstants.REFERENCES);
+            pattern = pattern == null ? typePattern : SearchPattern.createOrPattern(pattern, typePattern);
+        }
+
+        final Set<String> result = ConcurrentHashMap.newKeySet();
+        if (pattern == null) {
+            return result;
+        }
+
+        final String handleId = unit.getPrimary().getHandleIdentifier();
+        final SearchRequestor requestor = new SearchRequestor() {
+            @Override
+            public void acceptSearchMatch(SearchMatch match) {
+                if (!(match.getElement() instanceof IJavaElement)) {
+                    return;
+                }
+                final ICompilationUnit referencingUnit = (ICompilationUnit) ((IJavaElement) match.getElement())
+                        .getAncestor(IJavaElement.COMPILATION_UNIT);
+                if (referencingUnit == null) {
+                    return;
+                }
+                final String referencingId = referencingUnit.getPrimary().getHandleIdentifier();
+                if (!handleId.equals(referencingId)) {
+                    result.add(referencingId);
+                }
+            }
+        };
+        final SearchParticipant[] participants = new SearchParticipant[] {
+                SearchEngine.getDefaultSearchParticipant() };
+        new SearchEngine().search(pattern, participants, SearchScopeCache.getSourceScope(), requestor, monitor);
+        return result;
+    }
+
+    /**
+     * Add the references of the changed units back to the cached entries. A unit stays dirty until its
+     * references are added, so it is updated again by the next lookup if the update is cancelled or fails.
+     */
+    private static void updateDirtyUnits(IProgressMonitor monitor) {
+        for (final String handleId : DIRTY_UNITS) {
+            if (monitor.isCanceled()) {
+                return;
+            }
+            final IJavaElement element = JavaCore.create(handleId);
+            if (!(element instanceof ICompilationUnit) || !element.exists()) {
+                DIRTY_UNITS.remove(handleId);
+                continue;
+            }
+            final long modificationCount = MODIFICATION_COUNT.get();
+            final Set<String> referencedUnits = findReferencedUnits((ICompilationUnit) element, monitor);
+            if (monitor.isCanceled()) {
+                // the references may be incomplete
+                return;
+            }
+            for (final String referencedId : referencedUnits) {
+                final Set<String> referencingUnits = REFERENCING_UNITS.get(referencedId);
+                if (referencingUnits != null) {
+                    referencingUnits.add(handleId);
+                    addReferencedUnit(handleId, referencedId);
+                }
+            }
+            // the unit may be changed again during the update, then its new references are added by the next lookup
+            if (modificationCount == MODIFICATION_COUNT.get()) {
+                DIRTY_UNITS.remove(handleId);
+            }
+        }
+    }
+
+    private static void addReferencedUnit(String handleId, String referencedId) {
+        REFERENCED_UNITS.computeIfAbsent(handleId, k -> ConcurrentHashMap.newKeySet()).add(referencedId);
+    }
+
+    /**
+     * Find the source compilation units declaring the types referenced by the given unit.
+     */
+    private static Set<String> findReferencedUnits(ICompilationUnit unit, IProgressMonitor monitor) {
+        final ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
+        parser.setSource(unit);
+        parser.setResolveBindings(true);
+        final CompilationUnit root = (CompilationUnit) parser.createAST(monitor);
+        if (root == null) {
+            return Collections.emptySet();
+        }
+
+        final String handleId = unit.getPrimary().getHandleIdentifier();
+        final Set<ITypeBinding> visitedTypes = new HashSet<>();
+        final Set<String> result = new HashSet<>();
+        root.accept(new ASTVisitor() {
+            @Override
+            public boolean visit(SimpleName node) {
+                final ITypeBinding typeBinding = getReferencedType(node.resolveBinding());
+                if (typeBinding == null || !visitedTypes.add(typeBinding)) {
+                    return false;
+                }
+                final IJavaElement type = typeBinding.getJavaElement();
+                if (type == null) {
+                    return false;
+                }
+                final ICompilationUnit referencedUnit = (ICompilationUnit) type.getAncestor(
+                        IJavaElement.COMPILATION_UNIT);
+                if (referencedUnit != null) {
+                    final String referencedId = referencedUnit.getPrimary().getHandleIdentifier();
+                    if (!handleId.equals(referencedId)) {
+                        result.add(referencedId);
+                    }
+                }
+                return false;
+            }
+        });
+        return result;
+    }
+
+    private static ITypeBinding getReferencedType(IBinding binding) {
+        if (binding == null) {
+            return null;
+        }
+        ITypeBinding typeBinding;
+        switch (binding.getKind()) {
+            case IBinding.TYPE:
+                typeBinding = (ITypeBinding) binding;
+                break;
+            case IBinding.METHOD:
+                typeBinding = ((IMethodBinding) binding).getDeclaringClass();
+                break;
+            case IBinding.VARIABLE:
+                typeBinding = ((IVariableBinding) binding).getDeclaringClass();
+                break;
+            default:
+                return null;
+        }
+        if (typeBinding != null && typeBinding.isArray()) {
+            typeBinding = typeBinding.getElementType();
+        }
+        if (typeBinding == null || typeBinding.isPrimitive() || typeBinding.isTypeVariable()) {
+            return null;
+        }
+        return typeBinding.getErasure().getTypeDeclaration();
+    }
+}
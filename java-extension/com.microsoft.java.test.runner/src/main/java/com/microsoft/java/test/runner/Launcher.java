@@ -14,7 +14,10 @@ package com.microsoft.java.test.runner;
 import com.microsoft.java.test.runner.common.ITestLauncher;
 import com.microsoft.java.test.runner.common.TestMessageItem;
 import com.microsoft.java.test.runner.common.TestOutputStream;
+import com.microsoft.java.test.runner.common.TestRunnerMessageHelper;
+import com.microsoft.java.test.runner.coverage.PerTestCoverageRecorder;
 import com.microsoft.java.test.runner.exceptions.ParameterException;
+import com.microsoft.java.test.runner.junit.JUnitPlatformLauncher;
 import com.microsoft.java.test.runner.testng.TestNGLauncher;
 
 import java.io.IOException;
@@ -25,6 +28,7 @@ import java.util.Map;
 
 public class Launcher {
     private static final String TESTNG = "testng";
+    private static final String JUNIT_PLATFORM = "junit-platform";
     private static final String LOCAL_HOST = "127.0.0.1";
 
     private static final Map<String, ITestLauncher> launcherMap;
@@ -32,6 +36,7 @@ public class Launcher {
     static {
         launcherMap = new HashMap<>();
         launcherMap.put(TESTNG, new TestNGLauncher());
+        launcherMap.put(JUNIT_PLATFORM, new JUnitPlatformLauncher());
     }
 
     private static final int EXIT_WITH_INVALID_INPUT_CODE = -1;
@@ -55,6 +60,7 @@ public class Launcher {
 
             final String[] params = Arrays.copyOfRange(args, 2, args.length);
             launcher.execute(params);
+            TestRunnerMessageHelper.testInvocationsFinished();
         } catch (final ParameterException e) {
             exitStatus = EXIT_WITH_INVALID_INPUT_CODE;
             logError("Invalid Parameter.", e);
@@ -62,6 +68,10 @@ public class Launcher {
             exitStatus = EXIT_WITH_UNKNOWN_EXCEPTION;
             logError("Exception occured while running tests.", e);
         } finally {
+            final PerTestCoverageRecorder coverageRecorder = PerTestCoverageRecorder.instance();
+            if (coverageRecorder != null) {
+                coverageRecorder.close();
+            }
             TestOutputStream.instance().close();
             try {
                 if (clientSocket != null) {
@@ -74,7 +84,7 @@ public class Launcher {
         }
     }
 
-    private static void logError(String message, Throwable ex) {
+    public static void logError(String message, Throwable ex) {
         System.err.println(message);
         ex.printStackTrace();
         TestOutputStream.instance().println(new TestMessageItem(message, ex));
@@ -0,0 +1,245 @@
+/*******************************************************************************
+* Copyright (c) 2026 Microsoft Corporation and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License v1.0
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v10.html
+*
+* Contributors:
+*     Microsoft Corporation - initial API and implementation
+*******************************************************************************/
+
+package com.microsoft.java.test.runner.common;
+
+import com.microsoft.java.test.runner.Launcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Aggregates the invocations of the data driven tests, e.g. the parameterized tests, the dynamic tests of a test
+ * factory or the TestNG tests with a data provider, which are all reported with the name of their test method.
+ *
+ * Only the first invocations of each test, up to the limit set by {@link #LIMIT_PROPERTY}, and the failed ones
+ * are reported in full. The others are counted, and the counters of each test are reported as a summary at most
+ * once per the interval set by {@link #INTERVAL_PROPERTY}, and when the run finishes. Aggregation is enabled only
+ * when the limit is set.
+ *
+ * Only the tests run by the launchers of this runner are aggregated, i.e. TestNG and the JUnit Platform launcher.
+ * The JUnit tests run by the Eclipse RemoteTestRunner are always reported in full.
+ */
+final class InvocationAggregator {
+
+    static final String LIMIT_PROPERTY = "com.microsoft.java.test.runner.invocationLimit";
+    static final String INTERVAL_PROPERTY = "com.microsoft.java.test.runner.invocationSummaryInterval";
+
+    private static final long DEFAULT_INTERVAL_MILLIS = 1000;
+
+    private final int limit;
+    private final long intervalMillis;
+
+    /**
+     * Name of the test -> its invocations
+     */
+    private final Map<String, Invocations> invocations = new ConcurrentHashMap<>();
+
+    InvocationAggregator(int limit, long intervalMillis) {
+        this.limit = limit;
+        this.intervalMillis = intervalMillis;
+    }
+
+    private static class SingletonHelper {
+        private static final InvocationAggregator INSTANCE = create();
+    }
+
+    /**
+     * @return the aggregator, or <code>null</code> if aggregation is not enabled.
+     */
+    static InvocationAggregator instance() {
+        return SingletonHelper.INSTANCE;
+    }
+
+    private static InvocationAggregator create() {
+        final String limit = System.getProperty(LIMIT_PROPERTY);
+        if (limit == null || limit.isEmpty()) {
+            return null;
+        }
+
+        try {
+            final String interval = System.getProperty(INTERVAL_PROPERTY);
+            return new InvocationAggregator(Math.max(0, Integer.parseInt(limit)),
+                    interval == null || interval.isEmpty() ? DEFAULT_INTERVAL_MILLIS : Long.parseLong(interval));
+        } catch (NumberFormatException e) {
+            Launcher.logError("Invalid invocation aggregation options, all the invocations are reported.", e);
+            return null;
+        }
+    }
+
+    /**
+     * @return whether the start of the invocation is reported.
+     */
+    boolean started(String name) {
+        return get(name).started(limit);
+    }
+
+    /**
+     * Count the finished invocation.
+     * @return whether the start of the invocation is reported, so is its end.
+     */
+    boolean finished(String name, Status status, long duration) {
+        return get(name).finished(status, duration);
+    }
+
+    /**
+     * Count the skipped invocation, which may be started or not.
+     * @return whether the invocation is reported.
+     */
+    boolean skipped(String name) {
+        return get(name).skipped(limit);
+    }
+
+    /**
+     * @return the summary of the test if any of its invocations is not reported since the last summary and the
+     *         interval elapsed, otherwise <code>null</code>.
+     */
+    Summary getDueSummary(String name) {
+        return get(name).summarize(System.currentTimeMillis() - intervalMillis);
+    }
+
+    /**
+     * @return the summaries of all the tests with invocations not reported since their last summaries.
+     */
+    List<Summary> getPendingSummaries() {
+        final List<Summary> summaries = new ArrayList<>();
+        for (final Map.Entry<String, Invocations> entry : invocations.entrySet()) {
+            final Summary summary = entry.getValue().summarize(Long.MAX_VALUE);
+            if (summary != null) {
+                summaries.add(summary);
+            }
+        }
+        return summaries;
+    }
+
+    private Invocations get(String name) {
+        return invocations.computeIfAbsent(name, Invocations::new);
+    }
+
+    enum Status {
+        PASSED,
+        FAILED,
+        SKIPPED,
+    }
+
+    static class Summary {
+        final String name;
+        final int passed;
+        final int failed;
+        final int skipped;
+        final long duration;
+
+        Summary(String name, int passed, int failed, int skipped, long duration) {
+            this.name = name;
+            this.passed = passed;
+            this.failed = failed;
+            this.skipped = skipped;
+            this.duration = duration;
+        }
+    }
+
+    private static class Invocations {
+        private final String name;
+        private int count = 0;
+        /**
+         * Number of the invocations whose start is reported but their end is not yet
+         */
+        private int open = 0;
+        /**
+         * Number of the invocations which are started beyond the limit but not yet ended
+         */
+        private int pending = 0;
+        private int passed = 0;
+        private int failed = 0;
+        private int skipped = 0;
+        private long duration = 0;
+        private boolean unreported = false;
+        private long lastSummaryTime = System.currentTimeMillis();
+
+        Invocations(String name) {
+            this.name = name;
+        }
+
+        synchronized boolean started(int limit) {
+            if (++count > limit) {
+                // not summarized until it ends, since a failed one is reported in full
+                pending++;
+                return false;
+            }
+            open++;
+            return true;
+        }
+
+        /**
+         * Since the invocations of a test share its name, any reported start is paired with the end, even if
+         * the invocations run concurrently.
+         */
+        synchronized boolean finished(Status status, long time) {
+            record(status, time);
+            if (open > 0) {
+                open--;
+                return true;
+            }
+            if (pending > 0) {
+                pending--;
+            }
+            if (status != Status.FAILED) {
+                unreported = true;
+            }
+            return false;
+        }
+
+        /**
+         * An invocation is either skipped after it is started, e.g. by a failed assumption, which is already
+         * counted, or skipped without being started.
+         */
+        synchronized boolean skipped(int limit) {
+            record(Status.SKIPPED, 0);
+            if (open > 0) {
+                open--;
+                return true;
+            }
+            if (pending > 0) {
+                pending--;
+            } else if (++count <= limit) {
+                return true;
+            }
+            unreported = true;
+            return false;
+        }
+
+        synchronized Summary summarize(long before) {
+            if (!unreported || lastSummaryTime > before) {
+                return null;
+            }
+            unreported = false;
+            lastSummaryTime = System.currentTimeMillis();
+            return new Summary(name, passed, failed, skipped, duration);
+        }
+
+        private void record(Status status, long time) {
+            switch (status) {
+                case PASSED:
+                    passed++;
+                    break;
+                case FAILED:
+                    failed++;
+                    break;
+                default:
+                    skipped++;
+                    break;
+            }
+            duration += time;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*******************************************************************************
+* Copyright (c) 2026 Microsoft Corporation and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License v1.0
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v10.html
+*
+* Contributors:
+*     Microsoft Corporation - initial API and implementation
+*******************************************************************************/
+
+package com.microsoft.java.test.runner.common;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the stack traces sent to the client small: the frames of the test frameworks, the reflection and the
+ * runner itself are left out, the size is capped, and a trace which is already sent can be referred to by its
+ * id instead of being sent again, e.g. when a broken fixture fails thousands of tests the same way.
+ */
+final class StackTraceUtils {
+
+    static final int MAX_TRACE_LENGTH = 16 * 1024;
+    static final int MAX_MESSAGE_LENGTH = 4 * 1024;
+
+    static final int MAX_SENT_TRACES = 10000;
+
+    private static final String TRUNCATED = "\t... (truncated)";
+
+    private static final String[] FRAMEWORK_FRAME_PREFIXES = {
+        "com.microsoft.java.test.runner.",
+        "org.junit.",
+        "junit.framework.",
+        "org.testng.",
+        "java.lang.reflect.",
+        "sun.reflect.",
+        "jdk.internal.reflect.",
+    };
+
+    /**
+     * Ids of the stack traces which are sent to the client
+     */
+    private static final Set<String> SENT_TRACE_IDS = ConcurrentHashMap.newKeySet();
+
+    private StackTraceUtils() {}
+
+    /**
+     * Get the stack trace of the throwable and its causes in the format of {@link Throwable#printStackTrace()},
+     * without the framework frames and the suppressed exceptions, and capped to {@link #MAX_TRACE_LENGTH}.
+     */
+    static String getStackTrace(Throwable throwable) {
+        final StringBuilder builder = new StringBuilder();
+        final Set<Throwable> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        StackTraceElement[] enclosingTrace = null;
+        for (Throwable current = throwable; current != null && visited.add(current); current = current.getCause()) {
+            if (current != throwable) {
+                builder.append("Caused by: ");
+            }
+            builder.append(current).append('\n');
+            final StackTraceElement[] trace = current.getStackTrace();
+            appendFrames(builder, trace, enclosingTrace);
+            enclosingTrace = trace;
+            if (builder.length() > MAX_TRACE_LENGTH) {
+                break;
+            }
+        }
+        return truncate(builder.toString(), MAX_TRACE_LENGTH);
+    }
+
+    /**
+     * Cap the text to the given length, at the end of a line if possible.
+     */
+    static String truncate(String text, int maxLength) {
+        if (text == null || text.length() <= maxLength) {
+            return text;
+        }
+        final int end = text.lastIndexOf('\n', maxLength - TRUNCATED.length() - 1);
+        return text.substring(0, end > 0 ? end + 1 : maxLength - TRUNCATED.length()) + TRUNCATED;
+    }
+
+    /**
+     * Get the id of the stack trace, which is the SHA-1 hash of its content.
+     */
+    static String getTraceId(String trace) {
+        try {
+            final byte[] hash = MessageDigest.getInstance("SHA-1").digest(trace.getBytes(StandardCharsets.UTF_8));
+            final StringBuilder builder = new StringBuilder(hash.length * 2);
+            for (final byte b : hash) {
+                builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return builder.toString();
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Mark the stack trace with the given id as sent.
+     * @return whether the stack trace has been sent before, so it can be referred to by its id.
+     */
+    static boolean markSent(String traceId) {
+        if (traceId == null) {
+            return false;
+        }
+        if (SENT_TRACE_IDS.size() >= MAX_SENT_TRACES) {
+            return SENT_TRACE_IDS.contains(traceId);
+        }
+        return !SENT_TRACE_IDS.add(traceId);
+    }
+
+    /**
+     * Append the frames which are not in common with the enclosing trace, the consecutive framework frames are
+     * collapsed into one line.
+     */
+    private static void appendFrames(StringBuilder builder, StackTraceElement[] trace,
+            StackTraceElement[] enclosingTrace) {
+        int last = trace.length - 1;
+        if (enclosingTrace != null) {
+            int enclosingLast = enclosingTrace.length - 1;
+            while (last >= 0 && enclosingLast >= 0 && trace[last].equals(enclosingTrace[enclosingLast])) {
+                last--;
+                enclosingLast--;
+            }
+        }
+
+        int frameworkFrames = 0;
+        for (int i = 0; i <= last; i++) {
+            if (isFrameworkFrame(trace[i])) {
+                frameworkFrames++;
+                continue;
+            }
+            appendFrameworkFrames(builder, frameworkFrames);
+            frameworkFrames = 0;
+            builder.append("\tat ").append(trace[i]).append('\n');
+        }
+        appendFrameworkFrames(builder, frameworkFrames);
+
+        final int commonFrames = trace.length - 1 - last;
+        if (commonFrames > 0) {
+            builder.append("\t... ").append(commonFrames).append(" more\n");
+        }
+    }
+
+    private static void appendFrameworkFrames(StringBuilder builder, int count) {
+        if (count > 0) {
+            builder.append("\t... ").append(count).append(count == 1 ? " framework frame\n" : " framework frames\n");
+        }
+    }
+
+    private static boolean isFrameworkFrame(StackTraceElement frame) {
+        final String className = frame.getClassName();
+        for (final String prefix : FRAMEWORK_FRAME_PREFIXES) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
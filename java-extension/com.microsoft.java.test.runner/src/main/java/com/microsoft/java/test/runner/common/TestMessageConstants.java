@@ -29,8 +29,14 @@ public class TestMessageConstants {
     public static final String SUITE_TREE_ENDED = "suiteTreeEnded";
     public static final String MESSAGE = "message";
     public static final String TRACE = "trace";
+    public static final String TRACE_ID = "traceId";
+    public static final String TRACE_REF = "traceRef";
     public static final String STATUS = "status";
     public static final String TEST_FAILED = "testFailed";
     public static final String TEST_RESULT_SUMMARY = "testSummary";
+    public static final String TEST_INVOCATION_SUMMARY = "testInvocationSummary";
+    public static final String PASSED = "passed";
+    public static final String FAILED = "failed";
+    public static final String SKIPPED = "skipped";
     public static final String TEST_RUNNER_ERROR = "error";
 }
@@ -11,8 +11,6 @@
 
 package com.microsoft.java.test.runner.common;
 
-import java.io.PrintWriter;
-import java.io.StringWriter;
 import java.util.Arrays;
 import java.util.List;
 
@@ -36,12 +34,6 @@ public class TestMessageItem {
     public TestMessageItem(String message, Throwable e) {
         this(TestMessageType.Error, TestMessageConstants.TEST_RUNNER_ERROR,
                 new Pair(TestMessageConstants.MESSAGE, message),
-                new Pair(TestMessageConstants.TRACE, getStacktrace(e)));
-    }
-
-    private static String getStacktrace(Throwable throwable) {
-        final StringWriter errors = new StringWriter();
-        throwable.printStackTrace(new PrintWriter(errors));
-        return errors.toString();
+                new Pair(TestMessageConstants.TRACE, StackTraceUtils.getStackTrace(e)));
     }
 }
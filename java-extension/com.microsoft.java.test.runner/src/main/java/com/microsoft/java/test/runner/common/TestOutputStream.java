@@ -59,7 +59,10 @@ public class TestOutputStream implements TestStream {
     }
 
     @Override
-    public void println(TestMessageItem item) {
+    public synchronized void println(TestMessageItem item) {
+        if (out == null) {
+            return;
+        }
         final String content = toJson(item);
         out.println(content);
         out.println();
@@ -67,7 +70,9 @@ public class TestOutputStream implements TestStream {
 
     @Override
     public void close() {
-        out.close();
+        if (out != null) {
+            out.close();
+        }
     }
 
     private static String toJson(TestMessageItem item) {
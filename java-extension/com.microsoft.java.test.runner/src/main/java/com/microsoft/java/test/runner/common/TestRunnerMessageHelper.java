@@ -11,12 +11,17 @@
 
 package com.microsoft.java.test.runner.common;
 
-import java.io.PrintWriter;
-import java.io.StringWriter;
+import com.microsoft.java.test.runner.common.InvocationAggregator.Status;
+import com.microsoft.java.test.runner.common.InvocationAggregator.Summary;
+import com.microsoft.java.test.runner.coverage.PerTestCoverageRecorder;
+
 import java.util.ArrayList;
 import java.util.List;
 
 public class TestRunnerMessageHelper {
+
+    private static final Object SENT_TRACE_LOCK = new Object();
+
     public static void reporterAttached() {
         TestOutputStream.instance()
                 .println(MessageUtils.create(TestMessageConstants.TEST_REPORTER_ATTACHED, (List<Pair>) null));
@@ -28,14 +33,33 @@ public class TestRunnerMessageHelper {
     }
 
     public static void testStarted(String name) {
+        final PerTestCoverageRecorder coverageRecorder = PerTestCoverageRecorder.instance();
+        if (coverageRecorder != null) {
+            coverageRecorder.testStarted(name);
+        }
+        final InvocationAggregator aggregator = InvocationAggregator.instance();
+        if (aggregator != null && !aggregator.started(name)) {
+            return;
+        }
         TestOutputStream.instance().println(MessageUtils.createWithName(TestMessageConstants.TEST_STARTED, name));
     }
 
     public static void testIgnored(String name) {
+        final InvocationAggregator aggregator = InvocationAggregator.instance();
+        if (aggregator != null && !aggregator.skipped(name)) {
+            testInvocationSummary(aggregator.getDueSummary(name));
+            return;
+        }
         TestOutputStream.instance().println(MessageUtils.createWithName(TestMessageConstants.TEST_IGNORED, name));
     }
 
     public static void testFinished(String name, long duration) {
+        recordTestCoverage(name);
+        final InvocationAggregator aggregator = InvocationAggregator.instance();
+        if (aggregator != null && !aggregator.finished(name, Status.PASSED, duration)) {
+            testInvocationSummary(aggregator.getDueSummary(name));
+            return;
+        }
         TestOutputStream.instance()
                 .println(MessageUtils.create(TestMessageConstants.TEST_FINISHED,
                         new Pair(TestMessageConstants.NAME, name),
@@ -68,22 +92,40 @@ public class TestRunnerMessageHelper {
     }
 
     public static void testFailed(String name, Throwable exception, long duration) {
+        recordTestCoverage(name);
+        final InvocationAggregator aggregator = InvocationAggregator.instance();
+        if (aggregator != null && !aggregator.finished(name, Status.FAILED, duration)) {
+            // the failures are always reported in full, even if their start is not
+            TestOutputStream.instance().println(MessageUtils.createWithName(TestMessageConstants.TEST_STARTED, name));
+        }
         final List<Pair> attributes = new ArrayList<>();
         attributes.add(new Pair(TestMessageConstants.NAME, name));
-        if (exception != null) {
-            final String failMessage = exception.getMessage();
-            final StringWriter writer = new StringWriter();
-            final PrintWriter printWriter = new PrintWriter(writer);
-            exception.printStackTrace(printWriter);
-            final String stackTrace = writer.getBuffer().toString();
-            attributes.add(new Pair(TestMessageConstants.MESSAGE, failMessage));
-            attributes.add(new Pair(TestMessageConstants.TRACE, stackTrace));
-        } else {
+        if (exception == null) {
             attributes.add(new Pair(TestMessageConstants.MESSAGE, ""));
+            attributes.add(new Pair(TestMessageConstants.DURATION, String.valueOf(duration)));
+            TestOutputStream.instance().println(MessageUtils.create(TestMessageConstants.TEST_FAILED, attributes));
+            return;
         }
-        attributes.add(new Pair(TestMessageConstants.DURATION, String.valueOf(duration)));
 
-        TestOutputStream.instance().println(MessageUtils.create(TestMessageConstants.TEST_FAILED, attributes));
+        final String failMessage = StackTraceUtils.truncate(exception.getMessage(), StackTraceUtils.MAX_MESSAGE_LENGTH);
+        final String stackTrace = StackTraceUtils.getStackTrace(exception);
+        final String traceId = StackTraceUtils.getTraceId(stackTrace);
+        attributes.add(new Pair(TestMessageConstants.MESSAGE, failMessage));
+        // the trace is marked as sent and printed in one step, so the tests failing concurrently in the same way
+        // never refer to the trace before it is printed
+        synchronized (SENT_TRACE_LOCK) {
+            if (StackTraceUtils.markSent(traceId)) {
+                // the same trace is sent before, e.g. by the other tests failed by the same fixture
+                attributes.add(new Pair(TestMessageConstants.TRACE_REF, traceId));
+            } else {
+                attributes.add(new Pair(TestMessageConstants.TRACE, stackTrace));
+                if (traceId != null) {
+                    attributes.add(new Pair(TestMessageConstants.TRACE_ID, traceId));
+                }
+            }
+            attributes.add(new Pair(TestMessageConstants.DURATION, String.valueOf(duration)));
+            TestOutputStream.instance().println(MessageUtils.create(TestMessageConstants.TEST_FAILED, attributes));
+        }
     }
 
     public static void testRunFinished(int all, int fail, int skip) {
@@ -91,4 +133,36 @@ public class TestRunnerMessageHelper {
         TestOutputStream.instance().println(MessageUtils.create(TestMessageConstants.TEST_RESULT_SUMMARY,
                 new Pair(TestMessageConstants.MESSAGE, message)));
     }
+
+    /**
+     * Report the counters of the test invocations which are not reported in full since their last summaries.
+     */
+    public static void testInvocationsFinished() {
+        final InvocationAggregator aggregator = InvocationAggregator.instance();
+        if (aggregator == null) {
+            return;
+        }
+        for (final Summary summary : aggregator.getPendingSummaries()) {
+            testInvocationSummary(summary);
+        }
+    }
+
+    private static void testInvocationSummary(Summary summary) {
+        if (summary == null) {
+            return;
+        }
+        TestOutputStream.instance().println(MessageUtils.create(TestMessageConstants.TEST_INVOCATION_SUMMARY,
+                new Pair(TestMessageConstants.NAME, summary.name),
+                new Pair(TestMessageConstants.PASSED, String.valueOf(summary.passed)),
+                new Pair(TestMessageConstants.FAILED, String.valueOf(summary.failed)),
+                new Pair(TestMessageConstants.SKIPPED, String.valueOf(summary.skipped)),
+                new Pair(TestMessageConstants.DURATION, String.valueOf(summary.duration))));
+    }
+
+    private static void recordTestCoverage(String name) {
+        final PerTestCoverageRecorder coverageRecorder = PerTestCoverageRecorder.instance();
+        if (coverageRecorder != null) {
+            coverageRecorder.testFinished(name);
+        }
+    }
 }
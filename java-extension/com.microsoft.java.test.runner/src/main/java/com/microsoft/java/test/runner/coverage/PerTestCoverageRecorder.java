@@ -0,0 +1,323 @@
+/*******************************************************************************
+* Copyright (c) 2026 Microsoft Corporation and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License v1.0
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v10.html
+*
+* Contributors:
+*     Microsoft Corporation - initial API and implementation
+*******************************************************************************/
+
+package com.microsoft.java.test.runner.coverage;
+
+import com.microsoft.java.test.runner.Launcher;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records the coverage of each test by dumping and resetting the execution data of the JaCoCo agent
+ * running in the same JVM at the test boundaries.
+ *
+ * The output is a JaCoCo execution data file where each test is written as a session whose id is the
+ * test name, followed by the execution data of the classes covered by that test. Classes without any
+ * hit probe are dropped to keep the file compact. The sessions are appended to the file, and their start time is
+ * the start time of the run: the sessions of a test in the same run, e.g. the invocations of a parameterized test,
+ * are merged when the file is read, and the sessions of a newer run replace those of the earlier runs. Recording
+ * is enabled only when the system property {@link #OUTPUT_FILE_PROPERTY} is set and the JaCoCo agent is attached.
+ * Since the agent keeps a single global probe store, the attribution is only accurate when tests are executed
+ * sequentially.
+ *
+ * Since the agent is reset at each test boundary, it only writes the execution data since the last test to its
+ * own data file on exit. So the execution data of the whole run is aggregated here, and appended to the data
+ * file of the agent, set by {@link #DATA_FILE_PROPERTY}, when the run finishes. The agent must be started with
+ * <code>append=true</code> for both to be kept.
+ */
+public final class PerTestCoverageRecorder {
+
+    public static final String OUTPUT_FILE_PROPERTY = "com.microsoft.java.test.runner.perTestCoverageFile";
+    public static final String DATA_FILE_PROPERTY = "com.microsoft.java.test.runner.coverageDataFile";
+
+    private static final String JACOCO_AGENT_RT = "org.jacoco.agent.rt.RT";
+    private static final String JACOCO_AGENT_INTERFACE = "org.jacoco.agent.rt.IAgent";
+
+    private static final String AGGREGATE_SESSION_ID = "per-test-coverage";
+
+    // Block types of the JaCoCo execution data format, see org.jacoco.core.data.ExecutionDataWriter
+    private static final byte BLOCK_HEADER = 0x01;
+    private static final byte BLOCK_SESSIONINFO = 0x10;
+    private static final byte BLOCK_EXECUTIONDATA = 0x11;
+
+    private final Object agent;
+    private final Method getExecutionData;
+    private final DataOutputStream out;
+    private final OutputStream dataFileOut;
+    private boolean headerWritten = false;
+    private boolean failed = false;
+    private long runStartTime = System.currentTimeMillis();
+    private char magicNumber;
+    private char version;
+
+    /**
+     * Class id -> the execution data of the class in the whole run
+     */
+    private final Map<Long, ClassExecutionData> aggregate = new LinkedHashMap<>();
+
+    /**
+     * @param dataFileOut the stream to append the aggregated execution data to, or <code>null</code>.
+     */
+    PerTestCoverageRecorder(Object agent, Method getExecutionData, OutputStream out, OutputStream dataFileOut) {
+        this.agent = agent;
+        this.getExecutionData = getExecutionData;
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+        this.dataFileOut = dataFileOut;
+    }
+
+    private static class SingletonHelper {
+        private static final PerTestCoverageRecorder INSTANCE = create();
+    }
+
+    /**
+     * @return the recorder, or <code>null</code> if per-test coverage is not enabled.
+     */
+    public static PerTestCoverageRecorder instance() {
+        return SingletonHelper.INSTANCE;
+    }
+
+    private static PerTestCoverageRecorder create() {
+        final String outputFile = System.getProperty(OUTPUT_FILE_PROPERTY);
+        if (outputFile == null || outputFile.isEmpty()) {
+            return null;
+        }
+
+        try {
+            final Object agent = Class.forName(JACOCO_AGENT_RT).getMethod("getAgent").invoke(null);
+            final Method getExecutionData = Class.forName(JACOCO_AGENT_INTERFACE)
+                    .getMethod("getExecutionData", boolean.class);
+            final String dataFile = System.getProperty(DATA_FILE_PROPERTY);
+            return new PerTestCoverageRecorder(agent, getExecutionData, new FileOutputStream(outputFile, true),
+                    dataFile == null || dataFile.isEmpty() ? null : new FileOutputStream(dataFile, true));
+        } catch (ReflectiveOperationException | IOException | LinkageError e) {
+            Launcher.logError("Per-test coverage is disabled.", e);
+            return null;
+        }
+    }
+
+    /**
+     * Collect the execution data before the test starts, which doesn't belong to any test.
+     */
+    public synchronized void testStarted(String testName) {
+        if (failed) {
+            return;
+        }
+        try {
+            aggregate(readExecutionData(dump()));
+        } catch (ReflectiveOperationException | IOException e) {
+            fail("Failed to reset the coverage data before test: " + testName, e);
+        }
+    }
+
+    /**
+     * Write the execution data collected since the test started as a session of the given test.
+     */
+    public synchronized void testFinished(String testName) {
+        if (failed) {
+            return;
+        }
+        try {
+            final List<ClassExecutionData> executionData = readExecutionData(dump());
+            aggregate(executionData);
+            if (!headerWritten) {
+                writeHeader(out);
+                headerWritten = true;
+            }
+            writeSession(out, testName, runStartTime, executionData);
+            out.flush();
+        } catch (ReflectiveOperationException | IOException e) {
+            fail("Failed to record the coverage data of test: " + testName, e);
+        }
+    }
+
+    /**
+     * Append the execution data of the whole run to the data file of the agent, and close the output files.
+     */
+    public synchronized void close() {
+        try {
+            if (!failed && dataFileOut != null) {
+                aggregate(readExecutionData(dump()));
+                final DataOutputStream dataOut = new DataOutputStream(new BufferedOutputStream(dataFileOut));
+                writeHeader(dataOut);
+                writeSession(dataOut, AGGREGATE_SESSION_ID, runStartTime, new ArrayList<>(aggregate.values()));
+                dataOut.flush();
+            }
+        } catch (ReflectiveOperationException | IOException e) {
+            Launcher.logError("Failed to write the coverage data of the test run.", e);
+        } finally {
+            closeQuietly(out);
+            closeQuietly(dataFileOut);
+        }
+    }
+
+    private void fail(String message, Throwable e) {
+        // the per-test data is unreliable from now on, stop recording rather than report the error per test
+        failed = true;
+        Launcher.logError(message, e);
+    }
+
+    private byte[] dump() throws ReflectiveOperationException {
+        return (byte[]) getExecutionData.invoke(agent, true /*reset*/);
+    }
+
+    private void aggregate(List<ClassExecutionData> executionData) {
+        for (final ClassExecutionData data : executionData) {
+            final ClassExecutionData existing = aggregate.get(data.id);
+            if (existing == null || existing.probeCount != data.probeCount) {
+                aggregate.put(data.id, data);
+            } else {
+                existing.merge(data);
+            }
+        }
+    }
+
+    /**
+     * Read the classes with any hit probe from the execution data dumped by the agent.
+     */
+    List<ClassExecutionData> readExecutionData(byte[] executionData) throws IOException {
+        final List<ClassExecutionData> result = new ArrayList<>();
+        final DataInputStream in = new DataInputStream(new ByteArrayInputStream(executionData));
+        while (true) {
+            final int blockType = in.read();
+            if (blockType < 0) {
+                break;
+            }
+            switch (blockType) {
+                case BLOCK_HEADER:
+                    magicNumber = in.readChar();
+                    version = in.readChar();
+                    break;
+                case BLOCK_SESSIONINFO:
+                    // The session of the agent is replaced by the session of the test.
+                    in.readUTF();
+                    in.readLong();
+                    in.readLong();
+                    break;
+                case BLOCK_EXECUTIONDATA:
+                    final long id = in.readLong();
+                    final String className = in.readUTF();
+                    final int probeCount = readVarInt(in);
+                    final byte[] probes = new byte[(probeCount + 7) / 8];
+                    in.readFully(probes);
+                    if (isCovered(probes)) {
+                        result.add(new ClassExecutionData(id, className, probeCount, probes));
+                    }
+                    break;
+                default:
+                    throw new IOException("Unknown block type in the execution data: " + blockType);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Write the session even if no class is covered, so it replaces the sessions of the same test in the earlier
+     * runs.
+     */
+    private void writeSession(DataOutputStream output, String sessionId, long startTime,
+            List<ClassExecutionData> executionData) throws IOException {
+        output.writeByte(BLOCK_SESSIONINFO);
+        output.writeUTF(sessionId);
+        output.writeLong(startTime);
+        output.writeLong(System.currentTimeMillis());
+        for (final ClassExecutionData data : executionData) {
+            output.writeByte(BLOCK_EXECUTIONDATA);
+            output.writeLong(data.id);
+            output.writeUTF(data.className);
+            writeVarInt(output, data.probeCount);
+            output.write(data.probes);
+        }
+    }
+
+    private void writeHeader(DataOutputStream output) throws IOException {
+        output.writeByte(BLOCK_HEADER);
+        output.writeChar(magicNumber);
+        output.writeChar(version);
+    }
+
+    private static void closeQuietly(OutputStream output) {
+        if (output == null) {
+            return;
+        }
+        try {
+            output.close();
+        } catch (IOException e) {
+            // Do nothing
+        }
+    }
+
+    private static boolean isCovered(byte[] probes) {
+        for (final byte b : probes) {
+            if (b != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * see org.jacoco.core.internal.data.CompactDataInput.readVarInt()
+     */
+    private static int readVarInt(DataInputStream in) throws IOException {
+        final int value = in.read();
+        if (value < 0) {
+            throw new EOFException();
+        }
+        if ((value & 0x80) == 0) {
+            return value;
+        }
+        return (value & 0x7F) | (readVarInt(in) << 7);
+    }
+
+    /**
+     * see org.jacoco.core.internal.data.CompactDataOutput.writeVarInt()
+     */
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        if ((value & 0xFFFFFF80) == 0) {
+            out.writeByte(value);
+        } else {
+            out.writeByte(0x80 | (value & 0x7F));
+            writeVarInt(out, value >>> 7);
+        }
+    }
+
+    static final class ClassExecutionData {
+        final long id;
+        final String className;
+        final int probeCount;
+        final byte[] probes;
+
+        ClassExecutionData(long id, String className, int probeCount, byte[] probes) {
+            this.id = id;
+            this.className = className;
+            this.probeCount = probeCount;
+            this.probes = probes;
+        }
+
+        void merge(ClassExecutionData other) {
+            for (int i = 0; i < probes.length; i++) {
+                probes[i] |= other.probes[i];
+            }
+        }
+    }
+}
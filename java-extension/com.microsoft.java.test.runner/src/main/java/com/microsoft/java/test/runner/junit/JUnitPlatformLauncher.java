@@ -0,0 +1,180 @@
+/*******************************************************************************
+* Copyright (c) 2026 Microsoft Corporation and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License v1.0
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v10.html
+*
+* Contributors:
+*     Microsoft Corporation - initial API and implementation
+*******************************************************************************/
+
+package com.microsoft.java.test.runner.junit;
+
+import com.microsoft.java.test.runner.common.ITestLauncher;
+import com.microsoft.java.test.runner.common.TestMessageItem;
+import com.microsoft.java.test.runner.common.TestOutputStream;
+import com.microsoft.java.test.runner.coverage.PerTestCoverageRecorder;
+import com.microsoft.java.test.runner.exceptions.ParameterException;
+
+import org.junit.platform.engine.DiscoverySelector;
+import org.junit.platform.engine.discovery.DiscoverySelectors;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the tests on the JUnit Platform directly, so the parallel execution of JUnit Jupiter can be configured
+ * per launch instead of in the <code>junit-platform.properties</code> of each project.
+ *
+ * The arguments are the options followed by the tests to run, i.e. the full names of the test classes, or of
+ * the test methods as <code>com.example.FooTest#test(String, int)</code>:
+ * <ul>
+ * <li><code>--parallel-mode=same_thread|concurrent</code>: enables the parallel execution with the given
+ * default execution mode.</li>
+ * <li><code>--parallel-strategy=dynamic|fixed|custom</code>: the strategy to decide the parallelism.</li>
+ * <li><code>--parallelism=&lt;number&gt;</code>: the factor of the available processors for the
+ * <code>dynamic</code> strategy, or the number of threads for the <code>fixed</code> strategy, which is the
+ * default strategy if only the parallelism is given.</li>
+ * <li><code>--config=&lt;key&gt;=&lt;value&gt;</code>: any other configuration parameter.</li>
+ * </ul>
+ * The configuration parameters given here take precedence over those in <code>junit-platform.properties</code>.
+ */
+public class JUnitPlatformLauncher implements ITestLauncher {
+
+    private static final String OPTION_PREFIX = "--";
+    private static final String PARALLEL_MODE = "parallel-mode";
+    private static final String PARALLEL_STRATEGY = "parallel-strategy";
+    private static final String PARALLELISM = "parallelism";
+    private static final String CONFIG = "config";
+
+    private static final String PARALLEL_ENABLED_KEY = "junit.jupiter.execution.parallel.enabled";
+    private static final String PARALLEL_MODE_KEY = "junit.jupiter.execution.parallel.mode.default";
+    private static final String PARALLEL_STRATEGY_KEY = "junit.jupiter.execution.parallel.config.strategy";
+    private static final String DYNAMIC_FACTOR_KEY = "junit.jupiter.execution.parallel.config.dynamic.factor";
+    private static final String FIXED_PARALLELISM_KEY = "junit.jupiter.execution.parallel.config.fixed.parallelism";
+
+    private static final String DYNAMIC_STRATEGY = "dynamic";
+    private static final String FIXED_STRATEGY = "fixed";
+
+    @Override
+    public void execute(String[] args) {
+        try {
+            final Map<String, String> configuration = new HashMap<>();
+            final List<DiscoverySelector> selectors = new ArrayList<>();
+            if (args != null) {
+                parse(args, configuration, selectors, PerTestCoverageRecorder.instance() != null);
+            }
+            if (selectors.isEmpty()) {
+                throw new RuntimeException("No test found to run.");
+            }
+
+            final LauncherDiscoveryRequest request = LauncherDiscoveryRequestBuilder.request()
+                    .selectors(selectors)
+                    .configurationParameters(configuration)
+                    .build();
+            final Launcher launcher = LauncherFactory.create();
+            launcher.execute(request, new JUnitPlatformListener());
+        } catch (final ClassNotFoundException ex) {
+            TestOutputStream.instance().println(new TestMessageItem("Failed to run JUnit Platform tests", ex));
+        }
+    }
+
+    /**
+     * Parse the arguments into the configuration parameters and the selectors of the tests.
+     *
+     * @param sequential whether the tests must run one after another, e.g. for the per-test coverage.
+     */
+    static void parse(String[] args, Map<String, String> configuration, List<DiscoverySelector> selectors,
+            boolean sequential) throws ClassNotFoundException {
+        String strategy = null;
+        String parallelism = null;
+        for (final String arg : args) {
+            if (!arg.startsWith(OPTION_PREFIX)) {
+                selectors.add(createSelector(arg));
+                continue;
+            }
+
+            final int index = arg.indexOf('=');
+            if (index < 0) {
+                throw new ParameterException("Invalid option: " + arg + ".");
+            }
+            final String option = arg.substring(OPTION_PREFIX.length(), index);
+            final String value = arg.substring(index + 1);
+            switch (option) {
+                case PARALLEL_MODE:
+                    configuration.put(PARALLEL_ENABLED_KEY, Boolean.TRUE.toString());
+                    configuration.put(PARALLEL_MODE_KEY, value);
+                    break;
+                case PARALLEL_STRATEGY:
+                    strategy = value;
+                    break;
+                case PARALLELISM:
+                    parallelism = value;
+                    break;
+                case CONFIG:
+                    final int separator = value.indexOf('=');
+                    if (separator <= 0) {
+                        throw new ParameterException("Invalid configuration parameter: " + value + ".");
+                    }
+                    configuration.put(value.substring(0, separator), value.substring(separator + 1));
+                    break;
+                default:
+                    throw new ParameterException("Unsupported option: " + option + ".");
+            }
+        }
+
+        if (parallelism != null && strategy == null) {
+            strategy = FIXED_STRATEGY;
+        }
+        if (strategy != null) {
+            configuration.put(PARALLEL_STRATEGY_KEY, strategy);
+        }
+        if (parallelism != null) {
+            configuration.put(DYNAMIC_STRATEGY.equals(strategy) ? DYNAMIC_FACTOR_KEY : FIXED_PARALLELISM_KEY,
+                    parallelism);
+        }
+
+        if (sequential) {
+            // the coverage of each test can only be told apart when the tests run one after another
+            configuration.put(PARALLEL_ENABLED_KEY, Boolean.FALSE.toString());
+        }
+    }
+
+    static DiscoverySelector createSelector(String testId) throws ClassNotFoundException {
+        final int index = testId.lastIndexOf('#');
+        if (index < 0) {
+            return DiscoverySelectors.selectClass(loadClass(testId));
+        }
+
+        final Class<?> clazz = loadClass(testId.substring(0, index));
+        final String methodName = testId.substring(index + 1);
+        final int paramsStart = methodName.indexOf('(');
+        if (paramsStart < 0) {
+            return DiscoverySelectors.selectMethod(clazz, methodName);
+        }
+
+        // the parameter types are simple names, e.g. "(String, int)", so the method is looked up by them
+        final String name = methodName.substring(0, paramsStart);
+        final String params = methodName.substring(paramsStart);
+        for (Class<?> current = clazz; current != null; current = current.getSuperclass()) {
+            for (final Method method : current.getDeclaredMethods()) {
+                if (method.getName().equals(name) && params.equals(JUnitPlatformListener.getParameterTypes(method))) {
+                    return DiscoverySelectors.selectMethod(clazz, method);
+                }
+            }
+        }
+        return DiscoverySelectors.selectMethod(clazz, name);
+    }
+
+    private static Class<?> loadClass(String className) throws ClassNotFoundException {
+        return Class.forName(className, false, JUnitPlatformLauncher.class.getClassLoader());
+    }
+}
@@ -0,0 +1,174 @@
+/*******************************************************************************
+* Copyright (c) 2026 Microsoft Corporation and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License v1.0
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v10.html
+*
+* Contributors:
+*     Microsoft Corporation - initial API and implementation
+*******************************************************************************/
+
+package com.microsoft.java.test.runner.junit;
+
+import com.microsoft.java.test.runner.common.TestMessageItem;
+import com.microsoft.java.test.runner.common.TestOutputStream;
+import com.microsoft.java.test.runner.common.TestRunnerMessageHelper;
+
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Streams the execution events of the JUnit Platform in the same format as the TestNG runner, where the name
+ * of a test is <code>com.example.FooTest#test(String, int)</code>. The events may come from several threads
+ * when the tests are executed in parallel.
+ */
+public class JUnitPlatformListener implements TestExecutionListener {
+
+    private TestPlan testPlan;
+
+    /**
+     * Unique id of the started test -> its start time in milliseconds
+     */
+    private final Map<String, Long> startTimes = new ConcurrentHashMap<>();
+
+    /**
+     * Unique id of the test -> its name, since each test reports several events
+     */
+    private final Map<String, String> testNames = new ConcurrentHashMap<>();
+
+    @Override
+    public void testPlanExecutionStarted(TestPlan plan) {
+        this.testPlan = plan;
+    }
+
+    @Override
+    public void executionStarted(TestIdentifier identifier) {
+        if (identifier.isTest()) {
+            startTimes.put(identifier.getUniqueId(), System.currentTimeMillis());
+            TestRunnerMessageHelper.testStarted(getTestName(identifier));
+        }
+    }
+
+    @Override
+    public void executionSkipped(TestIdentifier identifier, String reason) {
+        if (identifier.isTest()) {
+            TestRunnerMessageHelper.testIgnored(getTestName(identifier));
+            return;
+        }
+        for (final TestIdentifier descendant : testPlan.getDescendants(identifier)) {
+            if (descendant.isTest()) {
+                TestRunnerMessageHelper.testIgnored(getTestName(descendant));
+            }
+        }
+    }
+
+    @Override
+    public void executionFinished(TestIdentifier identifier, TestExecutionResult result) {
+        final Throwable throwable = result.getThrowable().orElse(null);
+        if (!identifier.isTest()) {
+            if (result.getStatus() == TestExecutionResult.Status.FAILED) {
+                onContainerFailure(identifier, throwable);
+            }
+            return;
+        }
+
+        final String name = getTestName(identifier);
+        final Long startTime = startTimes.get(identifier.getUniqueId());
+        final long duration = startTime == null ? 0 : System.currentTimeMillis() - startTime;
+        switch (result.getStatus()) {
+            case SUCCESSFUL:
+                TestRunnerMessageHelper.testFinished(name, duration);
+                break;
+            case ABORTED:
+                TestRunnerMessageHelper.testIgnored(name);
+                break;
+            default:
+                TestRunnerMessageHelper.testFailed(name, throwable, duration);
+                break;
+        }
+    }
+
+    /**
+     * A failure of a container, e.g. in its <code>@BeforeAll</code> method, is reported on the tests which didn't
+     * start because of it.
+     */
+    private void onContainerFailure(TestIdentifier identifier, Throwable throwable) {
+        boolean reported = false;
+        for (final TestIdentifier descendant : testPlan.getDescendants(identifier)) {
+            if (descendant.isTest() && !startTimes.containsKey(descendant.getUniqueId())) {
+                final String name = getTestName(descendant);
+                TestRunnerMessageHelper.testStarted(name);
+                TestRunnerMessageHelper.testFailed(name, throwable, 0);
+                reported = true;
+            }
+        }
+        if (!reported && throwable != null) {
+            TestOutputStream.instance().println(
+                    new TestMessageItem("Failed to run " + identifier.getDisplayName(), throwable));
+        }
+    }
+
+    private String getTestName(TestIdentifier identifier) {
+        return testNames.computeIfAbsent(identifier.getUniqueId(), id -> createTestName(identifier));
+    }
+
+    /**
+     * The name of the test is decided by the closest test method, e.g. the dynamic tests are named after their
+     * test factory method.
+     */
+    private String createTestName(TestIdentifier identifier) {
+        for (TestIdentifier current = identifier; current != null; current = testPlan.getParent(current).orElse(null)) {
+            final Optional<TestSource> source = current.getSource();
+            if (source.isPresent() && source.get() instanceof MethodSource) {
+                final MethodSource methodSource = (MethodSource) source.get();
+                return methodSource.getClassName() + "#" + methodSource.getMethodName() +
+                        getParameterTypes(methodSource.getMethodParameterTypes());
+            }
+        }
+        return identifier.getDisplayName();
+    }
+
+    /**
+     * Get the simple names of the parameter types, e.g. <code>(String, int)</code>.
+     */
+    static String getParameterTypes(Method method) {
+        final StringBuilder params = new StringBuilder("(");
+        for (final Class<?> paramClazz : method.getParameterTypes()) {
+            if (params.length() > 1) {
+                params.append(", ");
+            }
+            params.append(paramClazz.getSimpleName());
+        }
+        return params.append(")").toString();
+    }
+
+    /**
+     * Get the simple names of the comma separated full names of the parameter types.
+     */
+    private static String getParameterTypes(String parameterTypes) {
+        final StringBuilder params = new StringBuilder("(");
+        if (parameterTypes != null) {
+            for (final String paramType : parameterTypes.split(",")) {
+                final String type = paramType.trim();
+                if (type.isEmpty()) {
+                    continue;
+                }
+                if (params.length() > 1) {
+                    params.append(", ");
+                }
+                params.append(type.substring(Math.max(type.lastIndexOf('.'), type.lastIndexOf('$')) + 1));
+            }
+        }
+        return params.append(")").toString();
+    }
+}
@@ -21,8 +21,18 @@ import org.testng.ITestListener;
 import org.testng.ITestNGListener;
 import org.testng.ITestResult;
 
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 public class TestNGListener
         implements ISuiteListener, ITestListener, ITestNGListener, IConfigurationListener {
+
+    /**
+     * Test method -> its parameter types, e.g. <code>(String, int)</code>, since each test reports several events
+     */
+    private final Map<Method, String> parameterTypes = new ConcurrentHashMap<>();
+
     private ITestResult lastConfigFailure = null;
 
     @Override
@@ -68,19 +78,22 @@ public class TestNGListener
     private String createTestName(ITestResult result) {
         final String className = result.getTestClass().getName();
         final String methodName = result.getMethod().getMethodName();
-        final StringBuilder params = new StringBuilder();
-
-        for (final Class<?> paramClazz : result.getMethod().getConstructorOrMethod().getMethod().getParameterTypes()) {
-            params.append(paramClazz.getSimpleName().replaceAll("<.*?>", ""));
-            params.append(", ");
-        }
+        final Method method = result.getMethod().getConstructorOrMethod().getMethod();
+        final String params = method == null ? "()" : parameterTypes.computeIfAbsent(method,
+                TestNGListener::createParameterTypes);
+        return className + "#" + methodName + params;
+    }
 
-        // Remove the last ", "
-        if (params.length() > 0) {
-            params.delete(params.length() - 2, params.length());
+    private static String createParameterTypes(Method method) {
+        final StringBuilder params = new StringBuilder("(");
+        // the simple names of the classes never contain type arguments, so nothing needs to be stripped
+        for (final Class<?> paramClazz : method.getParameterTypes()) {
+            if (params.length() > 1) {
+                params.append(", ");
+            }
+            params.append(paramClazz.getSimpleName());
         }
-
-        return className + "#" + methodName + "(" + params.toString() + ")";
+        return params.append(")").toString();
     }
 
     @Override
@@ -0,0 +1,104 @@
+/*******************************************************************************
+* Copyright (c) 2026 Microsoft Corporation and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License v1.0
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v10.html
+*
+* Contributors:
+*     Microsoft Corporation - initial API and implementation
+*******************************************************************************/
+
+package com.microsoft.java.test.runner.common;
+
+import com.microsoft.java.test.runner.common.InvocationAggregator.Status;
+import com.microsoft.java.test.runner.common.InvocationAggregator.Summary;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class InvocationAggregatorTest {
+
+    private static final String TEST = "com.example.FooTest#test(int)";
+
+    @Test
+    public void testReportInvocationsUpToLimit() {
+        final InvocationAggregator aggregator = new InvocationAggregator(2, 0);
+        for (int i = 0; i < 2; i++) {
+            assertTrue(aggregator.started(TEST));
+            assertTrue(aggregator.finished(TEST, Status.PASSED, 1));
+        }
+        assertTrue(aggregator.getPendingSummaries().isEmpty());
+
+        assertFalse(aggregator.started(TEST));
+        assertFalse(aggregator.finished(TEST, Status.PASSED, 1));
+        assertSummary(aggregator.getPendingSummaries(), 3, 0, 0, 3);
+        assertTrue(aggregator.getPendingSummaries().isEmpty());
+    }
+
+    @Test
+    public void testCountStartedAndSkippedInvocationOnce() {
+        final InvocationAggregator aggregator = new InvocationAggregator(2, 0);
+        // skipped after being started, e.g. by a failed assumption
+        assertTrue(aggregator.started(TEST));
+        assertTrue(aggregator.skipped(TEST));
+        // skipped without being started, which is the last one within the limit
+        assertTrue(aggregator.skipped(TEST));
+        assertTrue(aggregator.getPendingSummaries().isEmpty());
+
+        assertFalse(aggregator.started(TEST));
+        assertFalse(aggregator.skipped(TEST));
+        assertFalse(aggregator.skipped(TEST));
+        assertSummary(aggregator.getPendingSummaries(), 0, 0, 4, 0);
+    }
+
+    @Test
+    public void testPairReportedStartWithEnd() {
+        final InvocationAggregator aggregator = new InvocationAggregator(1, 0);
+        assertTrue(aggregator.started(TEST));
+        // the invocations run concurrently, the second one is beyond the limit
+        assertFalse(aggregator.started(TEST));
+        assertTrue(aggregator.finished(TEST, Status.PASSED, 1));
+        assertFalse(aggregator.skipped(TEST));
+        assertSummary(aggregator.getPendingSummaries(), 1, 0, 1, 1);
+    }
+
+    @Test
+    public void testFailuresAreReportedInFull() {
+        final InvocationAggregator aggregator = new InvocationAggregator(0, 0);
+        assertFalse(aggregator.started(TEST));
+        // the start of the failed invocation is not reported, so the caller reports it along with the failure
+        assertFalse(aggregator.finished(TEST, Status.FAILED, 5));
+        assertTrue(aggregator.getPendingSummaries().isEmpty());
+
+        assertFalse(aggregator.started(TEST));
+        assertFalse(aggregator.finished(TEST, Status.PASSED, 1));
+        assertSummary(aggregator.getPendingSummaries(), 1, 1, 0, 6);
+    }
+
+    @Test
+    public void testNoDueSummaryWithinInterval() {
+        final InvocationAggregator aggregator = new InvocationAggregator(0, Long.MAX_VALUE / 2);
+        assertFalse(aggregator.started(TEST));
+        assertFalse(aggregator.finished(TEST, Status.PASSED, 1));
+        assertNull(aggregator.getDueSummary(TEST));
+        assertSummary(aggregator.getPendingSummaries(), 1, 0, 0, 1);
+    }
+
+    private static void assertSummary(List<Summary> summaries, int passed, int failed, int skipped,
+            long duration) {
+        assertEquals(1, summaries.size());
+        final Summary summary = summaries.get(0);
+        assertEquals(TEST, summary.name);
+        assertEquals(passed, summary.passed);
+        assertEquals(failed, summary.failed);
+        assertEquals(skipped, summary.skipped);
+        assertEquals(duration, summary.duration);
+    }
+}
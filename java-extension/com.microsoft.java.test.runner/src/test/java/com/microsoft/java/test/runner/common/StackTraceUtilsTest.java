@@ -0,0 +1,112 @@
+/*******************************************************************************
+* Copyright (c) 2026 Microsoft Corporation and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License v1.0
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v10.html
+*
+* Contributors:
+*     Microsoft Corporation - initial API and implementation
+*******************************************************************************/
+
+package com.microsoft.java.test.runner.common;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class StackTraceUtilsTest {
+
+    @Test
+    public void testCollapseFrameworkFrames() {
+        final Throwable throwable = createThrowable("boom",
+                frame("org.junit.Assert", "fail"),
+                frame("org.junit.Assert", "assertTrue"),
+                frame("com.example.FooTest", "test"),
+                frame("jdk.internal.reflect.NativeMethodAccessorImpl", "invoke0"),
+                frame("java.lang.reflect.Method", "invoke"),
+                frame("org.testng.internal.MethodInvocationHelper", "invokeMethod"),
+                frame("com.microsoft.java.test.runner.Launcher", "main"));
+
+        assertEquals("java.lang.AssertionError: boom\n" +
+                "\t... 2 framework frames\n" +
+                "\tat com.example.FooTest.test(FooTest.java:1)\n" +
+                "\t... 4 framework frames\n", StackTraceUtils.getStackTrace(throwable));
+    }
+
+    @Test
+    public void testElideFramesInCommonWithEnclosingTrace() {
+        final Throwable cause = createThrowable("cause",
+                frame("com.example.Fixture", "setUp"),
+                frame("com.example.FooTest", "test"),
+                frame("com.example.Main", "main"));
+        final Throwable throwable = createThrowable("boom",
+                frame("com.example.FooTest", "test"),
+                frame("com.example.Main", "main"));
+        throwable.initCause(cause);
+
+        assertEquals("java.lang.AssertionError: boom\n" +
+                "\tat com.example.FooTest.test(FooTest.java:1)\n" +
+                "\tat com.example.Main.main(Main.java:1)\n" +
+                "Caused by: java.lang.AssertionError: cause\n" +
+                "\tat com.example.Fixture.setUp(Fixture.java:1)\n" +
+                "\t... 2 more\n", StackTraceUtils.getStackTrace(throwable));
+    }
+
+    @Test
+    public void testTruncateAtLineBoundary() {
+        assertEquals("first line\n\t... (truncated)",
+                StackTraceUtils.truncate("first line\nsecond line\nthird line\n", 30));
+        assertEquals("short", StackTraceUtils.truncate("short", 30));
+        assertNull(StackTraceUtils.truncate(null, 30));
+    }
+
+    @Test
+    public void testCapTheStackTrace() {
+        Throwable throwable = null;
+        for (int i = 0; i < 1000; i++) {
+            final Throwable cause = throwable;
+            throwable = createThrowable("failure " + i, frame("com.example.Level" + i, "run"));
+            throwable.initCause(cause);
+        }
+
+        final String trace = StackTraceUtils.getStackTrace(throwable);
+        assertTrue(trace.length() <= StackTraceUtils.MAX_TRACE_LENGTH);
+        assertTrue(trace.endsWith("\n\t... (truncated)"));
+    }
+
+    /**
+     * The ids of the sent traces are shared by the whole JVM, so they are all checked in one test.
+     */
+    @Test
+    public void testMarkSentUpToLimit() {
+        assertFalse(StackTraceUtils.markSent(null));
+        final String traceId = StackTraceUtils.getTraceId("java.lang.AssertionError: boom\n");
+        assertEquals(40, traceId.length());
+        assertFalse(StackTraceUtils.markSent(traceId));
+        assertTrue(StackTraceUtils.markSent(traceId));
+
+        for (int i = 0; i < StackTraceUtils.MAX_SENT_TRACES; i++) {
+            StackTraceUtils.markSent("filler" + i);
+        }
+        // the traces sent before the limit is reached can still be referred to
+        assertTrue(StackTraceUtils.markSent(traceId));
+        // the traces after the limit are sent in full every time
+        assertFalse(StackTraceUtils.markSent("beyond the limit"));
+        assertFalse(StackTraceUtils.markSent("beyond the limit"));
+    }
+
+    private static Throwable createThrowable(String message, StackTraceElement... trace) {
+        final Throwable throwable = new AssertionError(message);
+        throwable.setStackTrace(trace);
+        return throwable;
+    }
+
+    private static StackTraceElement frame(String className, String methodName) {
+        final String simpleName = className.substring(className.lastIndexOf('.') + 1);
+        return new StackTraceElement(className, methodName, simpleName + ".java", 1);
+    }
+}
@@ -0,0 +1,223 @@
+/*******************************************************************************
+* Copyright (c) 2026 Microsoft Corporation and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License v1.0
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v10.html
+*
+* Contributors:
+*     Microsoft Corporation - initial API and implementation
+*******************************************************************************/
+
+package com.microsoft.java.test.runner.coverage;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PerTestCoverageRecorderTest {
+
+    private static final long FOO_ID = 1L;
+    private static final long BAR_ID = 2L;
+
+    @Test
+    public void testRecordSessionPerTest() throws Exception {
+        final FakeAgent agent = new FakeAgent(
+                executionData(FOO_ID, "Foo", 0x01), // before the first test
+                executionData(BAR_ID, "Bar", 0x02), // testA
+                executionData(FOO_ID, "Foo", 0x00), // before testB
+                executionData(FOO_ID, "Foo", 0x00)  // testB, which covers nothing
+        );
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final PerTestCoverageRecorder recorder = createRecorder(agent, out, null);
+
+        recorder.testStarted("testA");
+        recorder.testFinished("testA");
+        recorder.testStarted("testB");
+        recorder.testFinished("testB");
+        recorder.close();
+
+        final Map<String, Map<Long, byte[]>> sessions = readSessions(out.toByteArray());
+        assertEquals(Arrays.asList("testA", "testB"), new ArrayList<>(sessions.keySet()));
+        assertEquals(1, sessions.get("testA").size());
+        assertArrayEquals(new byte[] { 0x02 }, sessions.get("testA").get(BAR_ID));
+        assertTrue(sessions.get("testB").isEmpty());
+        assertTrue(agent.alwaysReset);
+    }
+
+    @Test
+    public void testAppendAggregatedDataToDataFile() throws Exception {
+        final FakeAgent agent = new FakeAgent(
+                executionData(FOO_ID, "Foo", 0x01), // before the first test
+                executionData(FOO_ID, "Foo", 0x02), // testA
+                executionData(BAR_ID, "Bar", 0x04)  // after the last test
+        );
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ByteArrayOutputStream dataFileOut = new ByteArrayOutputStream();
+        final PerTestCoverageRecorder recorder = createRecorder(agent, out, dataFileOut);
+
+        recorder.testStarted("testA");
+        recorder.testFinished("testA");
+        recorder.close();
+
+        final Map<String, Map<Long, byte[]>> sessions = readSessions(dataFileOut.toByteArray());
+        assertEquals(1, sessions.size());
+        final Map<Long, byte[]> aggregate = sessions.values().iterator().next();
+        assertArrayEquals(new byte[] { 0x03 }, aggregate.get(FOO_ID));
+        assertArrayEquals(new byte[] { 0x04 }, aggregate.get(BAR_ID));
+
+        assertArrayEquals(new byte[] { 0x02 }, readSessions(out.toByteArray()).get("testA").get(FOO_ID));
+    }
+
+    @Test
+    public void testWriteRunStartTimeForEachInvocation() throws Exception {
+        final FakeAgent agent = new FakeAgent(
+                executionData(FOO_ID, "Foo", 0x00), // before the first invocation
+                executionData(FOO_ID, "Foo", 0x01), // first invocation
+                executionData(FOO_ID, "Foo", 0x00), // before the second invocation
+                executionData(BAR_ID, "Bar", 0x01)  // second invocation
+        );
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final PerTestCoverageRecorder recorder = createRecorder(agent, out, null);
+
+        recorder.testStarted("test(int)");
+        recorder.testFinished("test(int)");
+        Thread.sleep(5);
+        recorder.testStarted("test(int)");
+        recorder.testFinished("test(int)");
+        recorder.close();
+
+        // the invocations are told apart from the earlier runs by the start time of the run
+        final DataInputStream in = new DataInputStream(new ByteArrayInputStream(out.toByteArray()));
+        final List<Long> startTimes = new ArrayList<>();
+        int blockType;
+        while ((blockType = in.read()) >= 0) {
+            if (blockType == 0x01) {
+                in.readChar();
+                in.readChar();
+            } else if (blockType == 0x10) {
+                in.readUTF();
+                startTimes.add(in.readLong());
+                in.readLong();
+            } else {
+                in.readLong();
+                in.readUTF();
+                in.readFully(new byte[(in.read() + 7) / 8]);
+            }
+        }
+        assertEquals(2, startTimes.size());
+        assertEquals(startTimes.get(0), startTimes.get(1));
+    }
+
+    @Test
+    public void testStopRecordingOnError() throws Exception {
+        final FakeAgent agent = new FakeAgent();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ByteArrayOutputStream dataFileOut = new ByteArrayOutputStream();
+        final PerTestCoverageRecorder recorder = createRecorder(agent, out, dataFileOut);
+
+        recorder.testStarted("testA");
+        recorder.testFinished("testA");
+        recorder.testStarted("testB");
+        recorder.close();
+
+        assertEquals(1, agent.calls);
+        assertEquals(0, out.size());
+        assertEquals(0, dataFileOut.size());
+    }
+
+    private static PerTestCoverageRecorder createRecorder(FakeAgent agent, ByteArrayOutputStream out,
+            ByteArrayOutputStream dataFileOut) throws NoSuchMethodException {
+        return new PerTestCoverageRecorder(agent, FakeAgent.class.getMethod("getExecutionData", boolean.class),
+                out, dataFileOut);
+    }
+
+    /**
+     * Create the execution data dumped by the agent, with a single class of 8 probes.
+     */
+    private static byte[] executionData(long id, String className, int probes) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(0x01);
+        out.writeChar(0xC0C0);
+        out.writeChar(0x1007);
+        out.writeByte(0x10);
+        out.writeUTF("agent");
+        out.writeLong(0);
+        out.writeLong(0);
+        out.writeByte(0x11);
+        out.writeLong(id);
+        out.writeUTF(className);
+        out.writeByte(8);
+        out.writeByte(probes);
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Read the execution data as session id -> class id -> probes.
+     */
+    private static Map<String, Map<Long, byte[]>> readSessions(byte[] executionData) throws IOException {
+        final Map<String, Map<Long, byte[]>> sessions = new LinkedHashMap<>();
+        final DataInputStream in = new DataInputStream(new ByteArrayInputStream(executionData));
+        Map<Long, byte[]> current = null;
+        int blockType;
+        while ((blockType = in.read()) >= 0) {
+            switch (blockType) {
+                case 0x01:
+                    assertEquals(0xC0C0, in.readChar());
+                    assertEquals(0x1007, in.readChar());
+                    break;
+                case 0x10:
+                    current = new LinkedHashMap<>();
+                    sessions.put(in.readUTF(), current);
+                    in.readLong();
+                    in.readLong();
+                    break;
+                case 0x11:
+                    final long id = in.readLong();
+                    in.readUTF();
+                    final byte[] probes = new byte[(in.read() + 7) / 8];
+                    in.readFully(probes);
+                    current.put(id, probes);
+                    break;
+                default:
+                    throw new IOException("Unknown block type: " + blockType);
+            }
+        }
+        return sessions;
+    }
+
+    public static class FakeAgent {
+        private final Deque<byte[]> dumps;
+        private int calls = 0;
+        private boolean alwaysReset = true;
+
+        FakeAgent(byte[]... dumps) {
+            this.dumps = new ArrayDeque<>(Arrays.asList(dumps));
+        }
+
+        public byte[] getExecutionData(boolean reset) {
+            calls++;
+            alwaysReset &= reset;
+            if (dumps.isEmpty()) {
+                throw new IllegalStateException("No execution data");
+            }
+            return dumps.poll();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*******************************************************************************
+* Copyright (c) 2026 Microsoft Corporation and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License v1.0
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v10.html
+*
+* Contributors:
+*     Microsoft Corporation - initial API and implementation
+*******************************************************************************/
+
+package com.microsoft.java.test.runner.junit;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * The JUnit Jupiter test classes run by {@link JUnitPlatformLauncherTest}. They are nested so that they are not
+ * picked up by the build as tests of their own.
+ */
+public class JUnitPlatformFixtures {
+
+    public static class Base {
+
+        public void inherited(String value) {
+        }
+    }
+
+    public static class Sample extends Base {
+
+        @Test
+        void passes() {
+        }
+
+        @Test
+        void fails() {
+            fail("boom");
+        }
+
+        @Disabled
+        @Test
+        void skipped() {
+        }
+
+        public void check(String value) {
+        }
+
+        public void check(int value) {
+        }
+
+        public void check(List<String> values) {
+        }
+    }
+
+    public static class FailingSetUp {
+
+        @BeforeAll
+        static void setUp() {
+            throw new IllegalStateException("setup failed");
+        }
+
+        @Test
+        void first() {
+        }
+
+        @Test
+        void second() {
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*******************************************************************************
+* Copyright (c) 2026 Microsoft Corporation and others.
+* All rights reserved. This program and the accompanying materials
+* are made available under the terms of the Eclipse Public License v1.0
+* which accompanies this distribution, and is available at
+* http://www.eclipse.org/legal/epl-v10.html
+*
+* Contributors:
+*     Microsoft Corporation - initial API and implementation
+*******************************************************************************/
+
+package com.microsoft.java.test.runner.junit;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.microsoft.java.test.runner.common.TestOutputStream;
+import com.microsoft.java.test.runner.exceptions.ParameterException;
+import com.microsoft.java.test.runner.junit.JUnitPlatformFixtures.FailingSetUp;
+import com.microsoft.java.test.runner.junit.JUnitPlatformFixtures.Sample;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.platform.engine.DiscoverySelector;
+import org.junit.platform.engine.discovery.ClassSelector;
+import org.junit.platform.engine.discovery.MethodSelector;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class JUnitPlatformLauncherTest {
+
+    private static final String PARALLEL_ENABLED_KEY = "junit.jupiter.execution.parallel.enabled";
+    private static final String PARALLEL_MODE_KEY = "junit.jupiter.execution.parallel.mode.default";
+    private static final String PARALLEL_STRATEGY_KEY = "junit.jupiter.execution.parallel.config.strategy";
+    private static final String DYNAMIC_FACTOR_KEY = "junit.jupiter.execution.parallel.config.dynamic.factor";
+    private static final String FIXED_PARALLELISM_KEY = "junit.jupiter.execution.parallel.config.fixed.parallelism";
+
+    private static final String SAMPLE = Sample.class.getName();
+    private static final String FAILING_SET_UP = FailingSetUp.class.getName();
+
+    /**
+     * The output stream of the runner can only be initialized once, so it is shared by the tests.
+     */
+    private static final ByteArrayOutputStream OUTPUT = new ByteArrayOutputStream();
+
+    @BeforeClass
+    public static void setUpOutput() {
+        TestOutputStream.instance().initialize(OUTPUT);
+    }
+
+    @Before
+    public void setUp() {
+        OUTPUT.reset();
+    }
+
+    @Test
+    public void testParallelismFallsBackToFixedStrategy() throws Exception {
+        final Map<String, String> configuration = new HashMap<>();
+        final List<DiscoverySelector> selectors = new ArrayList<>();
+        JUnitPlatformLauncher.parse(new String[] { "--parallelism=4", SAMPLE }, configuration, selectors, false);
+
+        assertEquals("fixed", configuration.get(PARALLEL_STRATEGY_KEY));
+        assertEquals("4", configuration.get(FIXED_PARALLELISM_KEY));
+        assertFalse(configuration.containsKey(PARALLEL_ENABLED_KEY));
+        assertEquals(1, selectors.size());
+    }
+
+    @Test
+    public void testParseParallelOptions() throws Exception {
+        final Map<String, String> configuration = new HashMap<>();
+        JUnitPlatformLauncher.parse(new String[] { "--parallel-mode=concurrent", "--parallel-strategy=dynamic",
+            "--parallelism=2", "--config=junit.jupiter.displayname.generator.default=a=b", SAMPLE },
+                configuration, new ArrayList<>(), false);
+
+        assertEquals("true", configuration.get(PARALLEL_ENABLED_KEY));
+        assertEquals("concurrent", configuration.get(PARALLEL_MODE_KEY));
+        assertEquals("dynamic", configuration.get(PARALLEL_STRATEGY_KEY));
+        assertEquals("2", configuration.get(DYNAMIC_FACTOR_KEY));
+        assertFalse(configuration.containsKey(FIXED_PARALLELISM_KEY));
+        assertEquals("a=b", configuration.get("junit.jupiter.displayname.generator.default"));
+    }
+
+    @Test
+    public void testDisableParallelExecutionForPerTestCoverage() throws Exception {
+        final Map<String, String> configuration = new HashMap<>();
+        JUnitPlatformLauncher.parse(new String[] { "--parallel-mode=concurrent", SAMPLE },
+                configuration, new ArrayList<>(), true);
+
+        assertEquals("false", configuration.get(PARALLEL_ENABLED_KEY));
+    }
+
+    @Test(expected = ParameterException.class)
+    public void testRejectOptionWithoutValue() throws Exception {
+        JUnitPlatformLauncher.parse(new String[] { "--parallel-mode", SAMPLE }, new HashMap<>(),
+                new ArrayList<>(), false);
+    }
+
+    @Test(expected = ParameterException.class)
+    public void testRejectUnsupportedOption() throws Exception {
+        JUnitPlatformLauncher.parse(new String[] { "--unknown=1", SAMPLE }, new HashMap<>(), new ArrayList<>(), false);
+    }
+
+    @Test
+    public void testSelectOverloadBySimpleParameterNames() throws Exception {
+        assertEquals(String.class, getSelectedMethod(SAMPLE + "#check(String)").getParameterTypes()[0]);
+        assertEquals(int.class, getSelectedMethod(SAMPLE + "#check(int)").getParameterTypes()[0]);
+        assertEquals(List.class, getSelectedMethod(SAMPLE + "#check(List)").getParameterTypes()[0]);
+        assertEquals(0, getSelectedMethod(SAMPLE + "#passes()").getParameterCount());
+
+        final Method inherited = getSelectedMethod(SAMPLE + "#inherited(String)");
+        assertEquals(JUnitPlatformFixtures.Base.class, inherited.getDeclaringClass());
+    }
+
+    @Test
+    public void testSelectClassOrMethodByName() throws Exception {
+        final DiscoverySelector classSelector = JUnitPlatformLauncher.createSelector(SAMPLE);
+        assertEquals(Sample.class, ((ClassSelector) classSelector).getJavaClass());
+
+        assertEquals("passes", getSelectedMethod(SAMPLE + "#passes").getName());
+    }
+
+    @Test
+    public void testReportTestResults() {
+        new JUnitPlatformLauncher().execute(new String[] { SAMPLE });
+
+        final List<String> messages = readMessages();
+        assertTrue(messages.contains("testStarted " + SAMPLE + "#passes()"));
+        assertTrue(messages.contains("testFinished " + SAMPLE + "#passes()"));
+        assertTrue(messages.contains("testStarted " + SAMPLE + "#fails()"));
+        assertTrue(messages.contains("testFailed " + SAMPLE + "#fails() boom"));
+        assertTrue(messages.contains("testIgnored " + SAMPLE + "#skipped()"));
+        assertFalse(messages.contains("testStarted " + SAMPLE + "#skipped()"));
+    }
+
+    @Test
+    public void testReportContainerFailureOnTestsNotStarted() {
+        new JUnitPlatformLauncher().execute(new String[] { FAILING_SET_UP });
+
+        final List<String> messages = readMessages();
+        assertEquals(4, messages.size());
+        for (final String test : Arrays.asList("#first()", "#second()")) {
+            final int started = messages.indexOf("testStarted " + FAILING_SET_UP + test);
+            final int failed = messages.indexOf("testFailed " + FAILING_SET_UP + test + " setup failed");
+            assertTrue(started >= 0);
+            assertTrue(failed > started);
+        }
+    }
+
+    private static Method getSelectedMethod(String testId) throws ClassNotFoundException {
+        return ((MethodSelector) JUnitPlatformLauncher.createSelector(testId)).getJavaMethod();
+    }
+
+    /**
+     * Read the messages sent by the runner as "&lt;name&gt; &lt;test name&gt;[ &lt;message&gt;]".
+     */
+    private static List<String> readMessages() {
+        final List<String> messages = new ArrayList<>();
+        final String output = new String(OUTPUT.toByteArray(), StandardCharsets.UTF_8);
+        for (final String line : output.split("\\r?\\n")) {
+            if (!line.startsWith("@@<TestRunner-")) {
+                continue;
+            }
+            final String json = line.substring("@@<TestRunner-".length(), line.length() - "-TestRunner>".length());
+            final JsonObject item = JsonParser.parseString(json).getAsJsonObject();
+            final JsonObject attributes = item.getAsJsonObject("attributes");
+            String message = item.get("name").getAsString() + " " + attributes.get("name").getAsString();
+            if (attributes.has("message")) {
+                message += " " + attributes.get("message").getAsString();
+            }
+            messages.add(message);
+        }
+        return messages;
+    }
+}
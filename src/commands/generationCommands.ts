@@ -1,9 +1,10 @@
 // Copyright (c) Microsoft Corporation. All rights reserved.
 // Licensed under the MIT license.
 
-import { TextEdit, Uri, window, workspace, WorkspaceEdit } from 'vscode';
+import { ProgressLocation, TextEdit, Uri, window, workspace, WorkspaceEdit } from 'vscode';
 import * as protocolConverter from 'vscode-languageclient/lib/protocolConverter';
 import { JavaTestRunnerDelegateCommands } from '../constants';
+import { TestKind } from '../java-test-runner.api';
 import { executeJavaLanguageServerCommand } from '../utils/commandUtils';
 
 const converter: protocolConverter.Converter = protocolConverter.createConverter();
@@ -23,3 +24,54 @@ export async function generateTests(uri: Uri, cursorOffset: number): Promise<voi
 async function askServerToGenerateTests(uri: Uri, cursorOffset: number): Promise<any> {
     return await executeJavaLanguageServerCommand<any>(JavaTestRunnerDelegateCommands.GENERATE_TESTS, uri.toString(), cursorOffset);
 }
+
+/**
+ * The policy to generate tests in bulk, see BulkTestGenerationUtils.Argument in the Java extension.
+ */
+export interface IBulkGenerationPolicy {
+    /**
+     * JDT handler ID of the project, the source folder or the package to generate tests for.
+     */
+    handlerId: string;
+    testKind?: TestKind;
+    /**
+     * Name of the generated test classes, where `${className}` is replaced by the name of the class to test.
+     */
+    namePattern?: string;
+    testSourcePath?: string;
+    includeInheritedMethods?: boolean;
+}
+
+/**
+ * Generate tests for all the classes in a project, a source folder or a package without prompting,
+ * and apply them in a single workspace edit.
+ */
+export async function generateTestsInBulk(policy: IBulkGenerationPolicy): Promise<boolean> {
+    const edit: WorkspaceEdit = converter.asWorkspaceEdit(await executeJavaLanguageServerCommand<any>(
+        JavaTestRunnerDelegateCommands.GENERATE_TESTS_IN_BULK, JSON.stringify(policy)));
+    if (!edit) {
+        return false;
+    }
+    return workspace.applyEdit(edit);
+}
+
+/**
+ * Generate tests for the project, the source folder or the package selected in the Java Projects view,
+ * with the default generation policy.
+ */
+export async function generateTestsFromJavaProjectExplorer(node: any): Promise<void> {
+    const nodeData: any = node?._nodeData;
+    // the project nodes don't carry the handler ID, which is the project name prefixed by '='
+    const handlerId: string | undefined = nodeData?.handlerIdentifier || (nodeData?.kind === 2 /* Project */ ? `=${nodeData.name}` : undefined);
+    if (!handlerId) {
+        window.showErrorMessage('Tests can only be generated for a project, a source folder or a package.');
+        return;
+    }
+    const generated: boolean = await window.withProgress({
+        location: ProgressLocation.Notification,
+        title: 'Generating tests...',
+    }, async () => await generateTestsInBulk({ handlerId }));
+    if (!generated) {
+        window.showInformationMessage('No tests are generated, all the classes already have their tests.');
+    }
+}
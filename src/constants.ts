@@ -9,14 +9,22 @@ export namespace JavaLanguageServerCommands {
 export namespace JavaTestRunnerDelegateCommands {
     export const GET_TEST_SOURCE_PATH: string = 'vscode.java.test.get.testpath';
     export const RESOLVE_JUNIT_ARGUMENT: string = 'vscode.java.test.junit.argument';
+    export const RESOLVE_JUNIT_ARGUMENTS: string = 'vscode.java.test.junit.arguments';
+    export const RESOLVE_MERGED_JUNIT_ARGUMENTS: string = 'vscode.java.test.junit.mergedArguments';
     export const GENERATE_TESTS: string = 'vscode.java.test.generateTests';
+    export const GENERATE_TESTS_IN_BULK: string = 'vscode.java.test.generateTestsInBulk';
     export const FIND_JAVA_PROJECTS: string = 'vscode.java.test.findJavaProjects';
     export const FIND_TEST_PACKAGES_AND_TYPES: string = 'vscode.java.test.findTestPackagesAndTypes';
     export const FIND_DIRECT_CHILDREN_FOR_CLASS: string = 'vscode.java.test.findDirectTestChildrenForClass';
     export const FIND_TEST_TYPES_AND_METHODS: string = 'vscode.java.test.findTestTypesAndMethods';
     export const RESOLVE_PATH: string = 'vscode.java.test.resolvePath';
     export const NAVIGATE_TO_TEST_OR_TARGET: string = 'vscode.java.test.navigateToTestOrTarget';
+    export const FIND_AFFECTED_TESTS: string = 'vscode.java.test.findAffectedTests';
     export const GET_COVERAGE_DETAIL: string = 'vscode.java.test.jacoco.getCoverageDetail';
+    export const GET_COVERAGE_SUMMARY: string = 'vscode.java.test.jacoco.getCoverageSummary';
+    export const GET_TESTS_COVERING: string = 'vscode.java.test.jacoco.getTestsCovering';
+    export const GET_COMMAND_METRICS: string = 'vscode.java.test.getCommandMetrics';
+    export const TRACE: string = 'vscode.java.test.trace';
 }
 
 export namespace JavaTestRunnerCommands {
@@ -27,7 +35,10 @@ export namespace JavaTestRunnerCommands {
     export const RUN_FROM_TEST_EXPLORER: string = 'java.test.explorer.run';
     export const DEBUG_FROM_TEST_EXPLORER: string = 'java.test.explorer.debug';
     export const JAVA_TEST_GENERATE_TESTS: string = 'java.test.generateTests';
+    export const JAVA_TEST_GENERATE_TESTS_IN_BULK: string = 'java.test.generateTestsInBulk';
     export const FIND_TEST_LOCATION: string = 'vscode.java.test.findTestLocation';
+    export const FIND_TEST_LOCATIONS: string = 'vscode.java.test.findTestLocations';
+    export const DISPOSE_TEST_LOCATIONS: string = 'vscode.java.test.disposeTestLocations';
     export const GO_TO_TEST: string = 'java.test.goToTest';
     export const GO_TO_TEST_SUBJECT: string = 'java.test.goToTestSubject';
     export const ENABLE_TESTS: string = '_java.test.enableTests';
@@ -47,6 +58,7 @@ export namespace Configurations {
     export const LOCAL_HOST: string = '127.0.0.1';
     export const DEFAULT_CONFIG_NAME_SETTING_KEY: string = 'java.test.defaultConfig';
     export const CONFIG_SETTING_KEY: string = 'java.test.config';
+    export const MERGED_RUN_SETTING_KEY: string = 'java.test.mergedRun';
     export const BUILTIN_CONFIG_NAME: string = 'default';
     export const HINT_FOR_DEFAULT_CONFIG_SETTING_KEY: string = 'java.test.message.hintForSettingDefaultConfig';
 }
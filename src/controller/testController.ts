@@ -11,16 +11,17 @@ import { progressProvider } from '../extension';
 import { testSourceProvider } from '../provider/testSourceProvider';
 import { BaseRunner } from '../runners/baseRunner/BaseRunner';
 import { JUnitRunner } from '../runners/junitRunner/JunitRunner';
+import { JUnitPlatformRunner } from '../runners/junitPlatformRunner/JUnitPlatformRunner';
 import { TestNGRunner } from '../runners/testngRunner/TestNGRunner';
-import { JUnitLaunchProtocol } from '../constants';
+import { Configurations, JUnitLaunchProtocol } from '../constants';
 import { IJavaTestItem } from '../types';
 import { loadRunConfig } from '../utils/configUtils';
-import { resolveLaunchConfigurationForRunner } from '../utils/launchUtils';
+import { clearPrefetchedLaunchArguments, ILaunchArgumentContext, mergeLaunchArguments, prefetchLaunchArguments, resolveLaunchConfigurationForRunner } from '../utils/launchUtils';
 import { dataCache, ITestItemData } from './testItemDataCache';
-import { createTestItem, findDirectTestChildrenForClass, findTestPackagesAndTypes, findTestTypesAndMethods, loadJavaProjects, resolvePath, synchronizeItemsRecursively, updateItemForDocumentWithDebounce } from './utils';
+import { createTestItem, findDirectTestChildrenForClass, findTestPackagesAndTypes, findTestTypesAndMethods, loadJavaProjects, resolveClassRanges, resolvePath, synchronizeItemsRecursively, updateItemForDocumentWithDebounce } from './utils';
 import { JavaTestCoverageProvider } from '../provider/JavaTestCoverageProvider';
 import { testRunnerService } from './testRunnerService';
-import { IRunTestContext, TestRunner, TestFinishEvent, TestItemStatusChangeEvent, TestKind, TestLevel, TestResultState, TestIdParts } from '../java-test-runner.api';
+import { IExecutionConfig, IRunTestContext, TestRunner, TestFinishEvent, TestItemStatusChangeEvent, TestKind, TestLevel, TestResultState, TestIdParts } from '../java-test-runner.api';
 import { processStackTraceLine } from '../runners/utils';
 import { parsePartsFromTestId } from '../utils/testItemUtils';
 
@@ -64,6 +65,10 @@ export const loadChildren: (item: TestItem, token?: CancellationToken) => any =
     if (data.testLevel === TestLevel.Project) {
         const packageAndTypes: IJavaTestItem[] = await findTestPackagesAndTypes(data.jdtHandler, token);
         synchronizeItemsRecursively(item, packageAndTypes);
+        // the class items are found without their ranges, resolve them in the background
+        resolveClassRanges(item).catch((e: Error) => {
+            sendError(e);
+        });
     } else if (data.testLevel === TestLevel.Package) {
         // unreachable code
     } else if (data.testLevel === TestLevel.Class) {
@@ -205,7 +210,24 @@ export const runTests: (request: TestRunRequest, option: IRunOption) => any = in
                 if (testsInQueue.length === 0) {
                     continue;
                 }
-                const testProjectMapping: Map<string, TestItem[]> = mapTestItemsByProject(testsInQueue);
+                let testProjectMapping: Map<string, TestItem[]> = mapTestItemsByProject(testsInQueue);
+                // project name -> the launch configuration loaded for it in advance
+                const runConfigs: Map<string, IExecutionConfig | undefined> = new Map();
+                if (!testRunner && !option.launchConfiguration && testProjectMapping.size > 1 &&
+                    request.profile?.kind !== TestRunProfileKind.Coverage &&
+                    workspace.getConfiguration().get<boolean>(Configurations.MERGED_RUN_SETTING_KEY, false)) {
+                    testProjectMapping = await mergeTestItemsByProject(testProjectMapping, runConfigs);
+                }
+                if (!testRunner && !option.launchConfiguration && testProjectMapping.size > 1) {
+                    // resolve the launch arguments of all the projects at once, instead of one project after another
+                    const contexts: ILaunchArgumentContext[] = [];
+                    for (const [projectName, itemsPerProject] of testProjectMapping.entries()) {
+                        for (const [kind, items] of mapTestItemsByKind(itemsPerProject).entries()) {
+                            contexts.push({ projectName, kind, testItems: items });
+                        }
+                    }
+                    prefetchLaunchArguments(contexts);
+                }
                 for (const [projectName, itemsPerProject] of testProjectMapping.entries()) {
                     const workspaceFolder: WorkspaceFolder | undefined = workspace.getWorkspaceFolder(itemsPerProject[0].uri!);
                     if (!workspaceFolder) {
@@ -220,7 +242,7 @@ export const runTests: (request: TestRunRequest, option: IRunOption) => any = in
                         testRun: run,
                         workspaceFolder,
                         profile: request.profile,
-                        testConfig: await loadRunConfig(itemsPerProject, workspaceFolder),
+                        testConfig: runConfigs.has(projectName) ? runConfigs.get(projectName) : await loadRunConfig(itemsPerProject, workspaceFolder),
                     };
                     if (testRunner) {
                         await executeWithTestRunner(option, testRunner, testContext, run, disposables);
@@ -303,6 +325,7 @@ export const runTests: (request: TestRunRequest, option: IRunOption) => any = in
             return resolve();
         });
     } finally {
+        clearPrefetchedLaunchArguments();
         run.end();
     }
 });
@@ -725,6 +748,63 @@ function mapTestItemsByProject(items: TestItem[]): Map<string, TestItem[]> {
     return map;
 }
 
+interface IMergeGroup {
+    workspaceFolder: WorkspaceFolder;
+    config: IExecutionConfig | undefined;
+    contexts: ILaunchArgumentContext[];
+}
+
+/**
+ * Merge the test items of the projects which can run in one JVM, the merged items are run with the first
+ * project of each merged group. Only the JUnit test classes of the projects in the same workspace folder, which
+ * are run with the same launch configuration, are merged, the other items are kept as they are. The projects
+ * which run with the JUnit Platform launcher are not merged.
+ * @param runConfigs filled with the launch configuration loaded for each project, including the merged ones
+ */
+async function mergeTestItemsByProject(testProjectMapping: Map<string, TestItem[]>, runConfigs: Map<string, IExecutionConfig | undefined>): Promise<Map<string, TestItem[]>> {
+    const groups: IMergeGroup[] = [];
+    for (const [projectName, itemsPerProject] of testProjectMapping.entries()) {
+        const kinds: TestKind[] = [...mapTestItemsByKind(itemsPerProject).keys()];
+        const workspaceFolder: WorkspaceFolder | undefined = workspace.getWorkspaceFolder(itemsPerProject[0].uri!);
+        if (!workspaceFolder || kinds.length !== 1 || kinds[0] === TestKind.TestNG || itemsPerProject.some((item: TestItem) => {
+            return dataCache.get(item)?.testLevel !== TestLevel.Class;
+        })) {
+            continue;
+        }
+        const config: IExecutionConfig | undefined = await loadRunConfig(itemsPerProject, workspaceFolder);
+        runConfigs.set(projectName, config);
+        if (config?.junitPlatformLauncher) {
+            // the tests are passed to the JUnit Platform launcher by the client, which runs one project at a time
+            continue;
+        }
+        const context: ILaunchArgumentContext = { projectName, kind: kinds[0], testItems: itemsPerProject };
+        const group: IMergeGroup | undefined = groups.find((g: IMergeGroup) => {
+            return g.workspaceFolder === workspaceFolder && _.isEqual(g.config, config);
+        });
+        if (group) {
+            group.contexts.push(context);
+        } else {
+            groups.push({ workspaceFolder, config, contexts: [context] });
+        }
+    }
+
+    const merged: Map<string, TestItem[]> = new Map(testProjectMapping);
+    const mergedContexts: ILaunchArgumentContext[][] = await Promise.all(groups.map((group: IMergeGroup) => {
+        return mergeLaunchArguments(group.contexts, group.config?.workingDirectory);
+    }));
+    for (const context of _.flatten(mergedContexts)) {
+        for (const item of context.testItems) {
+            const projectName: string | undefined = dataCache.get(item)?.projectName;
+            if (projectName && projectName !== context.projectName) {
+                merged.delete(projectName);
+            }
+        }
+        merged.set(context.projectName, context.testItems);
+    }
+    sendInfo('', { mergedRun: `${testProjectMapping.size}->${merged.size}` });
+    return merged;
+}
+
 function mapTestItemsByKind(items: TestItem[]): Map<TestKind, TestItem[]> {
     const map: Map<TestKind, TestItem[]> = new Map<TestKind, TestItem[]>();
     for (const item of items) {
@@ -745,9 +825,10 @@ function mapTestItemsByKind(items: TestItem[]): Map<TestKind, TestItem[]> {
 function getRunnerByContext(testContext: IRunTestContext): BaseRunner | undefined {
     switch (testContext.kind) {
         case TestKind.JUnit:
+            return new JUnitRunner(testContext);
         case TestKind.JUnit5:
         case TestKind.JUnit6:
-            return new JUnitRunner(testContext);
+            return testContext.testConfig?.junitPlatformLauncher ? new JUnitPlatformRunner(testContext) : new JUnitRunner(testContext);
         case TestKind.TestNG:
             return new TestNGRunner(testContext);
         default:
@@ -7,8 +7,8 @@ import * as fse from 'fs-extra';
 import { performance } from 'perf_hooks';
 import { CancellationToken, commands, Range, TestItem, Uri, workspace, WorkspaceFolder } from 'vscode';
 import { sendError } from 'vscode-extension-telemetry-wrapper';
-import { JavaTestRunnerDelegateCommands } from '../constants';
-import { IJavaTestItem, ProjectType } from '../types';
+import { JavaTestRunnerCommands, JavaTestRunnerDelegateCommands } from '../constants';
+import { IJavaTestItem, IJavaTestItemsResult, ProjectType } from '../types';
 import { executeJavaLanguageServerCommand } from '../utils/commandUtils';
 import { getRequestDelay, lruCache, MovingAverage } from './debouncing';
 import { runnableTag, testController } from './testController';
@@ -125,7 +125,10 @@ export function updateOrCreateTestItem(parent: TestItem, childData: IJavaTestIte
 }
 
 function updateTestItem(testItem: TestItem, metaInfo: IJavaTestItem): void {
-    testItem.range = asRange(metaInfo.range);
+    // the class items found in a whole project are lightweight, keep the range resolved before
+    if (metaInfo.range || metaInfo.testLevel !== TestLevel.Class) {
+        testItem.range = asRange(metaInfo.range);
+    }
     testItem.label = metaInfo.label;
     dataCache.set(testItem, {
         jdtHandler: metaInfo.jdtHandler,
@@ -136,6 +139,38 @@ function updateTestItem(testItem: TestItem, metaInfo: IJavaTestItem): void {
     });
 }
 
+/**
+ * Resolve the ranges of the class items under the given item which are discovered without them, with one batch
+ * request, so the sources of the classes are only read after the test explorer is populated.
+ */
+export async function resolveClassRanges(parent: TestItem): Promise<void> {
+    const classItems: TestItem[] = [];
+    const collect: (item: TestItem) => void = (item: TestItem): void => {
+        item.children.forEach((child: TestItem) => {
+            const testLevel: TestLevel | undefined = dataCache.get(child)?.testLevel;
+            if (testLevel === TestLevel.Class && !child.range) {
+                classItems.push(child);
+            }
+            if (testLevel !== undefined && testLevel <= TestLevel.Class) {
+                collect(child);
+            }
+        });
+    };
+    collect(parent);
+    if (classItems.length === 0) {
+        return;
+    }
+
+    const locations: any[] | undefined = await executeJavaLanguageServerCommand<any[]>(
+        JavaTestRunnerCommands.FIND_TEST_LOCATIONS, classItems.map((item: TestItem) => item.id));
+    classItems.forEach((item: TestItem, index: number) => {
+        const location: any | undefined = locations?.[index];
+        if (location && !item.range) {
+            item.range = asRange(location.range);
+        }
+    });
+}
+
 /**
  * Create test item which will be shown in the test explorer
  * @param metaInfo The data from the server side of the test item.
@@ -172,6 +207,12 @@ export function createTestItem(metaInfo: IJavaTestItem, parent?: TestItem): Test
     return item;
 }
 
+/**
+ * The maximum time in milliseconds the language server waits for the pending document changes before it answers
+ * the editor driven refreshes with the last known test items.
+ */
+const DOCUMENT_CHANGES_TIMEOUT: number = 200;
+
 let updateNodeForDocumentTimeout: NodeJS.Timer;
 /**
  * Update test item in a document with adaptive debounce enabled.
@@ -186,7 +227,17 @@ export async function updateItemForDocumentWithDebounce(uri: Uri, testTypes?: IJ
     return new Promise<TestItem[]>((resolve: (items: TestItem[]) => void): void => {
         updateNodeForDocumentTimeout = setTimeout(async () => {
             const startTime: number = performance.now();
+            let stale: boolean = false;
+            if (!testTypes) {
+                const testItemsResult: IJavaTestItemsResult = await findTestTypesAndMethodsWithTimeout(uri.toString(),
+                    DOCUMENT_CHANGES_TIMEOUT);
+                testTypes = testItemsResult.items;
+                stale = testItemsResult.stale;
+            }
             const result: TestItem[] = await updateItemForDocument(uri, testTypes);
+            if (stale) {
+                refreshStaleDocument(uri);
+            }
             const executionTime: number = performance.now() - startTime;
             const movingAverage: MovingAverage = lruCache.get(uri) || new MovingAverage();
             movingAverage.update(executionTime);
@@ -196,6 +247,34 @@ export async function updateItemForDocumentWithDebounce(uri: Uri, testTypes?: IJ
     });
 }
 
+/**
+ * Uri of the documents whose refresh is in progress -> whether another refresh is requested meanwhile
+ */
+const staleDocumentRefreshes: Map<string, boolean> = new Map<string, boolean>();
+
+/**
+ * Refresh the test items of a document once the pending changes are applied. At most one refresh of a document
+ * waits for the changes at a time, the refreshes requested meanwhile are merged into one follow-up refresh.
+ */
+function refreshStaleDocument(uri: Uri): void {
+    const key: string = uri.toString();
+    if (staleDocumentRefreshes.has(key)) {
+        staleDocumentRefreshes.set(key, true);
+        return;
+    }
+    staleDocumentRefreshes.set(key, false);
+    updateItemForDocument(uri).catch((e: Error) => {
+        sendError(e);
+        return [];
+    }).then(() => {
+        const requested: boolean | undefined = staleDocumentRefreshes.get(key);
+        staleDocumentRefreshes.delete(key);
+        if (requested) {
+            refreshStaleDocument(uri);
+        }
+    });
+}
+
 /**
  * Update test item in a document immediately.
  * @param uri uri of the document
@@ -332,6 +411,15 @@ export async function findTestTypesAndMethods(uri: string, token?: CancellationT
         JavaTestRunnerDelegateCommands.FIND_TEST_TYPES_AND_METHODS, uri, token) || [];
 }
 
+/**
+ * Get the test types and methods in the file. If the language server cannot apply the pending changes of the
+ * documents within the timeout, the last known test items of the file are returned and marked stale.
+ */
+export async function findTestTypesAndMethodsWithTimeout(uri: string, timeout: number, token?: CancellationToken): Promise<IJavaTestItemsResult> {
+    return await executeJavaLanguageServerCommand<IJavaTestItemsResult>(
+        JavaTestRunnerDelegateCommands.FIND_TEST_TYPES_AND_METHODS, uri, timeout, token) || { items: [], stale: false };
+}
+
 export async function resolvePath(uri: string): Promise<IJavaTestItem[]> {
     return await executeJavaLanguageServerCommand<IJavaTestItem[]>(
         JavaTestRunnerDelegateCommands.RESOLVE_PATH, uri) || [];
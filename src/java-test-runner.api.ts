@@ -361,8 +361,39 @@ export interface IExecutionConfig {
          * @since 0.43.2
          */
         excludes?: string[];
+
+        /**
+         * Whether the coverage of each test is recorded, so that the tests covering
+         * a given line can be queried afterwards. Only supported by TestNG and the JUnit
+         * Platform launcher for now.
+         * @since 0.46.0
+         */
+        perTest?: boolean;
     }
 
+    /**
+     * Whether the JUnit 5 and JUnit 6 tests are run by the JUnit Platform launcher of the
+     * test runner instead of the Eclipse JUnit runner, so the parallel execution of JUnit
+     * Jupiter can be configured in `args`.
+     * @since 0.46.0
+     */
+    junitPlatformLauncher?: boolean;
+
+    /**
+     * The number of invocations of each test, e.g. of a data-driven test, which are reported
+     * in full. The further invocations are counted and reported as summaries, except for the
+     * failed ones. Only supported by TestNG and the JUnit Platform launcher for now.
+     * @since 0.46.0
+     */
+    invocationLimit?: number;
+
+    /**
+     * The minimum interval in milliseconds between two summaries of the invocations of a test
+     * beyond the `invocationLimit`. Defaults to 1000.
+     * @since 0.46.0
+     */
+    invocationSummaryInterval?: number;
+
     /**
      * The when clause for matching tests by to determine if the configuration should be run with.
      * @since 0.41.0
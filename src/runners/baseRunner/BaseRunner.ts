@@ -106,6 +106,7 @@ export abstract class BaseRunner implements ITestRunnerInternal {
                             if (data.length > 0) {
                                 this.runnerResultAnalyzer.analyzeData(data);
                             }
+                            this.runnerResultAnalyzer.dispose();
                             return resolve();
                         }
                     }),
@@ -189,6 +190,7 @@ export interface IJUnitLaunchArguments {
     modulepath: string[];
     vmArguments: string[];
     programArguments: string[];
+    projectNames?: string[];
 }
 
 export interface Response<T> {
@@ -1,9 +1,10 @@
 // Copyright (c) Microsoft Corporation. All rights reserved.
 // Licensed under the MIT license.
 
+import { randomUUID } from 'crypto';
 import { Location, MarkdownString, TestItem } from 'vscode';
 import { IRunTestContext } from '../../java-test-runner.api';
-import { processStackTraceLine } from '../utils';
+import { disposeTestLocations, processStackTraceLine } from '../utils';
 
 export abstract class RunnerResultAnalyzer {
     constructor(protected testContext: IRunTestContext) { }
@@ -12,6 +13,18 @@ export abstract class RunnerResultAnalyzer {
     public abstract processData(data: string): void;
     protected testMessageLocation: Location | undefined;
 
+    /**
+     * The id of the run, by which the locations of its results are resolved, see `findTestLocation`.
+     */
+    protected readonly runId: string = randomUUID();
+
+    /**
+     * Release the resources kept for the run when all its output is analyzed.
+     */
+    public dispose(): void {
+        disposeTestLocations(this.runId);
+    }
+
     /**
      * Return a string array which contains the stacktraces that need to be filtered.
      * All the stacktraces which include the element in the return array will be removed.
@@ -0,0 +1,47 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+import { TestItem } from 'vscode';
+import { dataCache, ITestItemData } from '../../controller/testItemDataCache';
+import { BaseRunner } from '../baseRunner/BaseRunner';
+import { RunnerResultAnalyzer } from '../baseRunner/RunnerResultAnalyzer';
+import { JUnitPlatformRunnerResultAnalyzer } from './JUnitPlatformRunnerResultAnalyzer';
+import { TestLevel } from '../../java-test-runner.api';
+
+/**
+ * Runs the JUnit 5 and JUnit 6 tests with the JUnit Platform launcher of the bundled test runner, which is
+ * enabled by the `junitPlatformLauncher` setting of the test configuration.
+ */
+export class JUnitPlatformRunner extends BaseRunner {
+
+    public getRunnerCommandParams(): string[] {
+        const testNames: Set<string> = new Set();
+        const queue: TestItem[] = [...this.testContext.testItems];
+        while (queue.length) {
+            const item: TestItem = queue.shift()!;
+            const data: ITestItemData | undefined = dataCache.get(item);
+            if (data?.testLevel === undefined) {
+                continue;
+            }
+            if (data.testLevel === TestLevel.Class || data.testLevel === TestLevel.Method) {
+                testNames.add(data.fullName);
+            } else if (data.testLevel === TestLevel.Invocation) {
+                // a single invocation cannot be selected by its name, so the whole test method is run
+                const parentName: string | undefined = item.parent ? dataCache.get(item.parent)?.fullName : undefined;
+                if (parentName) {
+                    testNames.add(parentName);
+                }
+            } else {
+                item.children.forEach((child: TestItem) => {
+                    queue.push(child);
+                });
+            }
+        }
+
+        return ['junit-platform', ...testNames];
+    }
+
+    protected getAnalyzer(): RunnerResultAnalyzer {
+        return new JUnitPlatformRunnerResultAnalyzer(this.testContext);
+    }
+}
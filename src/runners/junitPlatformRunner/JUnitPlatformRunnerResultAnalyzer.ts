@@ -0,0 +1,27 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+import { TestNGRunnerResultAnalyzer } from '../testngRunner/TestNGRunnerResultAnalyzer';
+
+/**
+ * The JUnit Platform launcher of the bundled test runner reports the results with the same protocol as TestNG.
+ */
+export class JUnitPlatformRunnerResultAnalyzer extends TestNGRunnerResultAnalyzer {
+
+    protected getRunnerErrorMessage(): string {
+        return 'Failed to run JUnit tests.';
+    }
+
+    protected getStacktraceFilter(): string[] {
+        return [
+            'com.microsoft.java.test.runner.',
+            'org.junit.platform.',
+            'org.junit.jupiter.engine.',
+            'org.junit.jupiter.api.Assert',
+            'org.opentest4j.',
+            'java.lang.reflect.Method.invoke',
+            'sun.reflect.',
+            'jdk.internal.reflect.',
+        ];
+    }
+}
@@ -16,6 +16,10 @@ export class JUnitRunnerResultAnalyzer extends RunnerResultAnalyzer {
     private testOutputMapping: Map<string, ITestInfo> = new Map();
     private triggeredTestsMapping: Map<string, TestItem> = new Map();
     private projectName: string;
+    /**
+     * Class full name -> the project of the class, a merged run contains the classes of several projects.
+     */
+    private classProjects: Map<string, string> = new Map();
     private incompleteTestSuite: ITestInfo[] = [];
     private enqueuedTests: Set<TestItem> = new Set();
     private suiteItems: Set<TestItem> = new Set();
@@ -49,6 +53,12 @@ export class JUnitRunnerResultAnalyzer extends RunnerResultAnalyzer {
             }
             this.triggeredTestsMapping.set(item.id, item);
         }
+        for (const item of this.triggeredTestsMapping.values()) {
+            const data: ITestItemData | undefined = dataCache.get(item);
+            if (data?.testLevel === TestLevel.Class || data?.testLevel === TestLevel.Method) {
+                this.classProjects.set(data.fullName.split('#')[0], data.projectName);
+            }
+        }
     }
 
     public analyzeData(data: string): void {
@@ -165,7 +175,8 @@ export class JUnitRunnerResultAnalyzer extends RunnerResultAnalyzer {
                     this.assertionFailure = TestMessage.diff(`Expected [${assertionResults[1]}] but was [${assertionResults[2]}]`, assertionResults[1], assertionResults[2]);
                 }
             }
-            this.processStackTrace(data, this.traces, this.tracingItem, this.projectName);
+            this.processStackTrace(data, this.traces, this.tracingItem,
+                (this.tracingItem && dataCache.get(this.tracingItem)?.projectName) || this.projectName);
         }
     }
 
@@ -273,9 +284,9 @@ export class JUnitRunnerResultAnalyzer extends RunnerResultAnalyzer {
         });
 
         if (className) {
-            return `${this.projectName}@${className}${methodName}${InvocationSuffix}`;
+            return `${this.getProjectName(className)}@${className}${methodName}${InvocationSuffix}`;
         } else {
-            return `${this.projectName}@${message}${InvocationSuffix}`;
+            return `${this.getProjectName(message)}@${message}${InvocationSuffix}`;
         }
     }
 
@@ -290,16 +301,29 @@ export class JUnitRunnerResultAnalyzer extends RunnerResultAnalyzer {
         const regexp: RegExp = /(?:@AssumptionFailure: |@Ignore: )?(.*?)\(([^)]*)\)[^(]*$/;
         const matchResults: RegExpExecArray | null = regexp.exec(message);
         if (matchResults && matchResults.length === 3) {
-            return `${this.projectName}@${matchResults[2]}#${matchResults[1]}`;
+            return `${this.getProjectName(matchResults[2])}@${matchResults[2]}#${matchResults[1]}`;
         }
 
         // In case the output is class level, i.e.: `%ERROR 2,a.class.FullyQualifiedName`
         const indexOfSpliter: number = message.lastIndexOf(',');
         if (indexOfSpliter > -1) {
-            return `${this.projectName}@${message.slice(indexOfSpliter + 1)}`;
+            const className: string = message.slice(indexOfSpliter + 1);
+            return `${this.getProjectName(className)}@${className}`;
         }
 
-        return `${this.projectName}@${message}`;
+        return `${this.getProjectName(message)}@${message}`;
+    }
+
+    /**
+     * Get the project of the class, the nested classes belong to the project of their outermost class.
+     */
+    private getProjectName(className: string): string {
+        const projectName: string | undefined = this.classProjects.get(className);
+        if (projectName) {
+            return projectName;
+        }
+        const index: number = className.lastIndexOf('$');
+        return index < 0 ? this.projectName : this.getProjectName(className.substring(0, index));
     }
 
     protected getJUnit5MethodName(rawName: string): string {
@@ -406,7 +430,7 @@ export class JUnitRunnerResultAnalyzer extends RunnerResultAnalyzer {
                             fullName: testId.substr(testId.indexOf('@') + 1),
                             label: this.getTestMethodName(displayName),
                             id: testId,
-                            projectName: this.projectName,
+                            projectName: testId.substr(0, testId.indexOf('@')),
                             testKind: this.testContext.kind,
                             testLevel: TestLevel.Invocation,
                         };
@@ -485,7 +509,7 @@ export class JUnitRunnerResultAnalyzer extends RunnerResultAnalyzer {
                     id = id.substring(0, id.lastIndexOf('['));
                 }
             }
-            const location: Location | undefined = await findTestLocation(id);
+            const location: Location | undefined = await findTestLocation(id, this.runId);
             testMessage.location = location;
         }
         setTestState(this.testContext.testRun, item, testState, testMessage);
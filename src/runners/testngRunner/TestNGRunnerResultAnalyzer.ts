@@ -10,15 +10,23 @@ import { IRunTestContext, TestLevel, TestResultState } from '../../java-test-run
 const TEST_START: string = 'testStarted';
 const TEST_FAIL: string = 'testFailed';
 const TEST_FINISH: string = 'testFinished';
+const TEST_IGNORED: string = 'testIgnored';
 const TEST_ERROR: string = 'error';
+const TEST_INVOCATION_SUMMARY: string = 'testInvocationSummary';
 
 export class TestNGRunnerResultAnalyzer extends RunnerResultAnalyzer {
 
     private readonly regex: RegExp = /@@<TestRunner-({[\s\S]*?})-TestRunner>/g;
 
     private triggeredTestsMapping: Map<string, TestItem> = new Map();
-    private currentTestState: TestResultState;
-    private currentItem: TestItem | undefined;
+    /**
+     * Id -> the stack trace sent by the runner, the repeated traces are only sent as references to their ids.
+     */
+    private traces: Map<string, string> = new Map();
+    /**
+     * Test item -> its result so far, which is decided by all its invocations
+     */
+    private testStates: Map<TestItem, TestResultState> = new Map();
     private projectName: string;
 
     constructor(protected testContext: IRunTestContext) {
@@ -31,7 +39,12 @@ export class TestNGRunnerResultAnalyzer extends RunnerResultAnalyzer {
             if (testLevel === undefined) {
                 continue;
             }
-            if (testLevel === TestLevel.Method) {
+            if (testLevel === TestLevel.Invocation) {
+                // the runners select the whole test method of an invocation
+                if (item.parent) {
+                    queue.push(item.parent);
+                }
+            } else if (testLevel === TestLevel.Method) {
                 this.triggeredTestsMapping.set(item.id, item);
                 this.testContext.testRun.enqueued(item);
             } else {
@@ -68,31 +81,46 @@ export class TestNGRunnerResultAnalyzer extends RunnerResultAnalyzer {
         }
 
         const id: string = `${this.projectName}@${attributes.name}`;
+        if (outputData.name === TEST_INVOCATION_SUMMARY) {
+            this.processInvocationSummary(id, attributes);
+            return;
+        }
+
+        // the events of the tests running in parallel are interleaved, so each event is matched by its test name
+        const item: TestItem | undefined = this.triggeredTestsMapping.get(id);
+        if (!item) {
+            return;
+        }
         if (outputData.name === TEST_START) {
-            this.initializeCache();
-            const item: TestItem | undefined = this.getTestItem(id);
-            if (!item) {
-                return;
+            // a failed invocation of a data driven test keeps the test failed
+            if (this.testStates.get(item) !== TestResultState.Failed) {
+                this.testStates.set(item, TestResultState.Running);
             }
-            this.currentTestState = TestResultState.Running;
             this.testContext.testRun.started(item);
         } else if (outputData.name === TEST_FAIL) {
-            const item: TestItem | undefined = this.getTestItem(id);
-            if (!item) {
-                return;
-            }
-            this.currentTestState = TestResultState.Failed;
+            this.testStates.set(item, TestResultState.Failed);
             const testMessages: TestMessage[] = [];
 
-            if (attributes.trace) {
+            let trace: string | undefined = attributes.trace;
+            if (trace && attributes.traceId) {
+                this.traces.set(attributes.traceId, trace);
+            } else if (attributes.traceRef) {
+                trace = this.traces.get(attributes.traceRef);
+            }
+            let testMessage: TestMessage | undefined;
+            if (trace) {
                 const markdownTrace: MarkdownString = new MarkdownString();
                 markdownTrace.isTrusted = true;
                 markdownTrace.supportHtml = true;
-                for (const line of attributes.trace.split(/\r?\n/)) {
-                    this.processStackTrace(line, markdownTrace, this.currentItem, this.projectName);
+                for (const line of trace.split(/\r?\n/)) {
+                    this.processStackTrace(line, markdownTrace, item, this.projectName);
                 }
-
-                const testMessage: TestMessage = new TestMessage(markdownTrace);
+                testMessage = new TestMessage(markdownTrace);
+            } else if (attributes.message) {
+                // the referred trace is not received, the failure is still shown with its message
+                testMessage = new TestMessage(attributes.message);
+            }
+            if (testMessage) {
                 if (this.testMessageLocation) {
                     testMessage.location = this.testMessageLocation;
                     this.testMessageLocation = undefined;
@@ -102,36 +130,43 @@ export class TestNGRunnerResultAnalyzer extends RunnerResultAnalyzer {
                 testMessages.push(testMessage);
             }
             const duration: number | undefined = this.parseDuration(attributes.duration);
-            setTestState(this.testContext.testRun, item, this.currentTestState, testMessages, duration);
+            setTestState(this.testContext.testRun, item, TestResultState.Failed, testMessages, duration);
         } else if (outputData.name === TEST_FINISH) {
-            const item: TestItem | undefined = this.getTestItem(id);
-            if (!item) {
-                return;
-            }
-            if (this.currentTestState === TestResultState.Running) {
-                this.currentTestState = TestResultState.Passed;
+            let state: TestResultState | undefined = this.testStates.get(item);
+            if (state === undefined || state === TestResultState.Running) {
+                state = TestResultState.Passed;
+                this.testStates.set(item, state);
             }
             const duration: number | undefined = this.parseDuration(attributes.duration);
-            setTestState(this.testContext.testRun, item, this.currentTestState, undefined, duration);
+            setTestState(this.testContext.testRun, item, state, undefined, duration);
+        } else if (outputData.name === TEST_IGNORED) {
+            // a skipped invocation doesn't override the result of the other invocations
+            const state: TestResultState | undefined = this.testStates.get(item);
+            if (state === undefined || state === TestResultState.Running) {
+                this.testStates.set(item, TestResultState.Skipped);
+                this.testContext.testRun.skipped(item);
+            }
         }
     }
 
-    protected getTestItem(testId: string): TestItem | undefined {
-        if (this.currentItem) {
-            return this.currentItem;
+    /**
+     * The invocations beyond the limit of the runner are only counted, see InvocationAggregator. The counters are
+     * attached to the test item, so they are shown along with the invocations reported in full.
+     */
+    private processInvocationSummary(id: string, attributes: ITestNGAttributes): void {
+        const summary: string = `${attributes.name}: ${attributes.passed} passed, ${attributes.failed} failed, ` +
+            `${attributes.skipped} skipped, ${attributes.duration}ms in total\r\n`;
+        const item: TestItem | undefined = this.triggeredTestsMapping.get(id);
+        if (!item) {
+            this.testContext.testRun.appendOutput(summary);
+            return;
         }
-
-        this.currentItem = this.triggeredTestsMapping.get(testId);
-        return this.currentItem;
-    }
-
-    protected initializeCache(): void {
-        this.currentTestState = TestResultState.Queued;
-        this.currentItem = undefined;
+        const location: Location | undefined = item.uri && item.range ? new Location(item.uri, item.range) : undefined;
+        this.testContext.testRun.appendOutput(summary, location, item);
     }
 
     private processRunnerError(attributes: ITestNGAttributes | undefined): void {
-        let message: string = attributes?.message || 'Failed to run TestNG tests.';
+        let message: string = attributes?.message || this.getRunnerErrorMessage();
         if (attributes?.trace) {
             message += `\n${attributes.trace}`;
         }
@@ -143,6 +178,10 @@ export class TestNGRunnerResultAnalyzer extends RunnerResultAnalyzer {
         }
     }
 
+    protected getRunnerErrorMessage(): string {
+        return 'Failed to run TestNG tests.';
+    }
+
     private parseDuration(duration: string | undefined): number | undefined {
         if (!duration) {
             return undefined;
@@ -178,4 +217,9 @@ interface ITestNGAttributes {
     location?: string;
     message?: string;
     trace?: string;
+    traceId?: string;
+    traceRef?: string;
+    passed?: string;
+    failed?: string;
+    skipped?: string;
 }
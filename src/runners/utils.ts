@@ -8,14 +8,100 @@ import { executeJavaLanguageServerCommand } from '../utils/commandUtils';
 import * as path from 'path';
 import { TestResultState } from '../java-test-runner.api';
 
-export async function findTestLocation(fullName: string): Promise<Location | undefined> {
-    const location: any | undefined = await executeJavaLanguageServerCommand<any>(
-        JavaTestRunnerCommands.FIND_TEST_LOCATION, fullName);
-    if (location) {
-        return new Location(Uri.parse(location.uri), asRange(location.range)!);
+interface ILocationRequest {
+    fullName: string;
+    runId: string | undefined;
+    resolve: (location: Location | undefined) => void;
+    reject: (reason: any) => void;
+}
+
+let pendingLocationRequests: ILocationRequest[] = [];
+
+/**
+ * Run id -> the number of its location requests which are not resolved yet
+ */
+const unresolvedRequestCounts: Map<string, number> = new Map();
+
+/**
+ * The runs which are finished, but whose locations are still being resolved
+ */
+const finishedRuns: Set<string> = new Set();
+
+/**
+ * Find the location of the test item by its full name. The requests made in the same turn of the event loop,
+ * e.g. for all the results parsed from one chunk of the runner output, are resolved together with one command.
+ * The classes resolved for the requests of a run are kept by the server until the run is disposed, see
+ * {@link disposeTestLocations}.
+ */
+export function findTestLocation(fullName: string, runId?: string): Promise<Location | undefined> {
+    return new Promise<Location | undefined>((resolve: (location: Location | undefined) => void, reject: (reason: any) => void) => {
+        pendingLocationRequests.push({ fullName, runId, resolve, reject });
+        if (runId) {
+            unresolvedRequestCounts.set(runId, (unresolvedRequestCounts.get(runId) || 0) + 1);
+        }
+        if (pendingLocationRequests.length === 1) {
+            setImmediate(resolvePendingLocationRequests);
+        }
+    });
+}
+
+/**
+ * Release the locations kept by the server for the run, once all the location requests of the run are resolved.
+ */
+export function disposeTestLocations(runId: string): void {
+    if (unresolvedRequestCounts.has(runId)) {
+        finishedRuns.add(runId);
+        return;
+    }
+    // the failure is reported by the command utils, and the server drops the stale tables by itself anyway
+    executeJavaLanguageServerCommand(JavaTestRunnerCommands.DISPOSE_TEST_LOCATIONS, runId).catch(() => undefined);
+}
+
+async function resolvePendingLocationRequests(): Promise<void> {
+    const requestsByRun: Map<string | undefined, ILocationRequest[]> = new Map();
+    for (const request of pendingLocationRequests) {
+        const requests: ILocationRequest[] | undefined = requestsByRun.get(request.runId);
+        if (requests) {
+            requests.push(request);
+        } else {
+            requestsByRun.set(request.runId, [request]);
+        }
     }
+    pendingLocationRequests = [];
+    await Promise.all([...requestsByRun].map(([runId, requests]: [string | undefined, ILocationRequest[]]) =>
+        resolveLocationRequests(runId, requests)));
+}
 
-    return undefined;
+async function resolveLocationRequests(runId: string | undefined, requests: ILocationRequest[]): Promise<void> {
+    let locations: any[] | undefined;
+    let error: any;
+    try {
+        locations = await executeJavaLanguageServerCommand<any[]>(JavaTestRunnerCommands.FIND_TEST_LOCATIONS,
+            requests.map((request: ILocationRequest) => request.fullName), runId);
+    } catch (e) {
+        error = e;
+    }
+
+    if (runId) {
+        const unresolvedCount: number = (unresolvedRequestCounts.get(runId) || 0) - requests.length;
+        if (unresolvedCount > 0) {
+            unresolvedRequestCounts.set(runId, unresolvedCount);
+        } else {
+            unresolvedRequestCounts.delete(runId);
+            if (finishedRuns.delete(runId)) {
+                disposeTestLocations(runId);
+            }
+        }
+    }
+
+    requests.forEach((request: ILocationRequest, index: number) => {
+        if (error) {
+            request.reject(error);
+            return;
+        }
+        const location: any | undefined = locations?.[index];
+        request.resolve(location ? new Location(Uri.parse(location.uri), asRange(location.range)!) : undefined);
+    });
 }
 
 export function setTestState(testRun: TestRun, item: TestItem, result: TestResultState, message?: TestMessage | TestMessage[], duration?: number): void {
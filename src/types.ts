@@ -31,6 +31,14 @@ export interface IJavaTestItem {
     natureIds?: string[];
 }
 
+export interface IJavaTestItemsResult {
+    items: IJavaTestItem[];
+    /**
+     * Whether the items are found before the pending changes of the document are applied.
+     */
+    stale: boolean;
+}
+
 export enum ProjectType {
     Gradle,
     Maven,
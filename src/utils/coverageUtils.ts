@@ -34,3 +34,7 @@ export function getJacocoReportBasePath(projectName: string): string {
 export function getJacocoDataFilePath(projectName: string): string {
     return path.join(getJacocoReportBasePath(projectName), 'jacoco.exec');
 }
+
+export function getJacocoPerTestDataFilePath(projectName: string): string {
+    return path.join(getJacocoReportBasePath(projectName), 'jacoco-tests.exec');
+}
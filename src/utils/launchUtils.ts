@@ -1,19 +1,23 @@
 // Copyright (c) Microsoft Corporation. All rights reserved.
 // Licensed under the MIT license.
 
+import * as fse from 'fs-extra';
 import * as path from 'path';
 import { DebugConfiguration, TestItem, TestRunProfileKind } from 'vscode';
 import { sendError, sendInfo } from 'vscode-extension-telemetry-wrapper';
 import { JavaTestRunnerDelegateCommands } from '../constants';
-import { dataCache } from '../controller/testItemDataCache';
+import { dataCache, ITestItemData } from '../controller/testItemDataCache';
 import { extensionContext } from '../extension';
 import { BaseRunner, IJUnitLaunchArguments, Response } from '../runners/baseRunner/BaseRunner';
+import { JUnitPlatformRunner } from '../runners/junitPlatformRunner/JUnitPlatformRunner';
 import { executeJavaLanguageServerCommand } from './commandUtils';
-import { getJacocoAgentPath, getJacocoDataFilePath } from './coverageUtils';
+import { getJacocoAgentPath, getJacocoDataFilePath, getJacocoPerTestDataFilePath } from './coverageUtils';
 import { IExecutionConfig, IRunTestContext, TestKind, TestLevel } from '../java-test-runner.api';
 
 export async function resolveLaunchConfigurationForRunner(runner: BaseRunner, testContext: IRunTestContext, config?: IExecutionConfig): Promise<DebugConfiguration> {
-    const launchArguments: IJUnitLaunchArguments = await getLaunchArguments(testContext);
+    const usesTestRunner: boolean = testContext.kind === TestKind.TestNG || runner instanceof JUnitPlatformRunner;
+    const launchArguments: IJUnitLaunchArguments = runner instanceof JUnitPlatformRunner ?
+        await getJUnitPlatformLaunchArguments(testContext) : await getLaunchArguments(testContext);
 
     if (config && config.vmArgs) {
         launchArguments.vmArguments.push(...config.vmArgs.filter(Boolean));
@@ -40,7 +44,7 @@ export async function resolveLaunchConfigurationForRunner(runner: BaseRunner, te
         javaExec: config?.javaExec,
     };
 
-    if (testContext.kind === TestKind.TestNG) {
+    if (usesTestRunner) {
         debugConfiguration = Object.assign(debugConfiguration, {
             mainClass: 'com.microsoft.java.test.runner.Launcher',
             classPaths: [
@@ -50,6 +54,13 @@ export async function resolveLaunchConfigurationForRunner(runner: BaseRunner, te
             ],
             args: runner.getApplicationArgs(config),
         });
+        if (config?.invocationLimit !== undefined) {
+            (debugConfiguration.vmArgs as string[]).push(`-Dcom.microsoft.java.test.runner.invocationLimit=${config.invocationLimit}`);
+            if (config.invocationSummaryInterval !== undefined) {
+                (debugConfiguration.vmArgs as string[]).push(
+                    `-Dcom.microsoft.java.test.runner.invocationSummaryInterval=${config.invocationSummaryInterval}`);
+            }
+        }
     } else {
         debugConfiguration = Object.assign(debugConfiguration, {
             mainClass: launchArguments.mainClass,
@@ -65,17 +76,179 @@ export async function resolveLaunchConfigurationForRunner(runner: BaseRunner, te
     }
 
     if (testContext.profile?.kind === TestRunProfileKind.Coverage) {
-        let agentArg: string = `-javaagent:${getJacocoAgentPath(debugConfiguration)}=destfile=${getJacocoDataFilePath(launchArguments.projectName)}`;
+        const dataFilePath: string = getJacocoDataFilePath(launchArguments.projectName);
+        // per-test coverage is recorded by the bundled test runner only
+        const perTest: boolean = !!config?.coverage?.perTest && usesTestRunner;
+        let agentArg: string = `-javaagent:${getJacocoAgentPath(debugConfiguration)}=destfile=${dataFilePath}`;
         if (config?.coverage?.appendResult === false) {
-            agentArg += ',append=false';
+            if (perTest) {
+                // the runner appends the coverage of the whole run to the data file, which must not be
+                // overwritten by the agent on exit, so the results of the last run are removed beforehand.
+                await fse.remove(dataFilePath);
+                await fse.remove(getJacocoPerTestDataFilePath(launchArguments.projectName));
+            } else {
+                agentArg += ',append=false';
+            }
         }
         (debugConfiguration.vmArgs as string[]).push(agentArg);
+        if (perTest) {
+            (debugConfiguration.vmArgs as string[]).push(
+                `-Dcom.microsoft.java.test.runner.perTestCoverageFile=${getJacocoPerTestDataFilePath(launchArguments.projectName)}`,
+                `-Dcom.microsoft.java.test.runner.coverageDataFile=${dataFilePath}`);
+        }
     }
 
     return debugConfiguration;
 }
 
+/**
+ * The part of the test context which decides the launch arguments.
+ */
+export type ILaunchArgumentContext = Pick<IRunTestContext, 'projectName' | 'kind' | 'testItems'>;
+
+interface ILaunchArgumentRequest {
+    projectName: string;
+    testLevel: TestLevel;
+    testKind: TestKind;
+    testNames: string[];
+    testHandles: string[];
+    uniqueId: string | undefined;
+    workingDirectory?: string;
+    launcher?: string;
+}
+
+/**
+ * Serialized request -> the launch arguments resolved in advance by {@link prefetchLaunchArguments}.
+ */
+const prefetchedLaunchArguments: Map<string, Promise<Response<IJUnitLaunchArguments> | undefined>> = new Map();
+
+/**
+ * Resolve the launch arguments of all the given contexts, usually one per project, in a single request,
+ * so the server resolves them concurrently. The results are consumed when the contexts are launched later.
+ */
+export function prefetchLaunchArguments(testContexts: ILaunchArgumentContext[]): void {
+    const requests: string[] = [];
+    for (const testContext of testContexts) {
+        try {
+            const request: string = JSON.stringify(getLaunchArgumentRequest(testContext));
+            if (!prefetchedLaunchArguments.has(request)) {
+                requests.push(request);
+            }
+        } catch (e) {
+            // the error is reported when the context is launched
+        }
+    }
+    if (requests.length < 2) {
+        return;
+    }
+
+    const responses: Promise<Response<IJUnitLaunchArguments>[] | undefined> = executeJavaLanguageServerCommand<Response<IJUnitLaunchArguments>[]>(
+        JavaTestRunnerDelegateCommands.RESOLVE_JUNIT_ARGUMENTS, `[${requests.join(',')}]`,
+    ).catch(() => undefined);
+    requests.forEach((request: string, index: number) => {
+        prefetchedLaunchArguments.set(request, responses.then((result: Response<IJUnitLaunchArguments>[] | undefined) => result?.[index]));
+    });
+}
+
+/**
+ * Resolve the launch arguments of the given contexts for a merged run, where the JUnit class level contexts
+ * whose classpaths are compatible and which run in the same working directory share one JVM. The resolved
+ * arguments are consumed when the contexts are launched later.
+ * @param workingDirectory the working directory of the launch configuration shared by the contexts, if any
+ * @returns the contexts to launch: the merged contexts, which run the tests of their projects with the
+ * first project, and the contexts which cannot be merged as they are
+ */
+export async function mergeLaunchArguments(testContexts: ILaunchArgumentContext[], workingDirectory?: string): Promise<ILaunchArgumentContext[]> {
+    const contexts: ILaunchArgumentContext[] = [];
+    const requests: ILaunchArgumentRequest[] = [];
+    for (const testContext of testContexts) {
+        try {
+            // only the class level requests can be merged
+            requests.push({
+                ...getLaunchArgumentRequest(testContext, false /*allowContainerLevel*/),
+                workingDirectory,
+            });
+            contexts.push(testContext);
+        } catch (e) {
+            // the error is reported when the context is launched
+        }
+    }
+    if (requests.length < 2) {
+        return testContexts;
+    }
+
+    const responses: Response<IJUnitLaunchArguments>[] | undefined = await executeJavaLanguageServerCommand<Response<IJUnitLaunchArguments>[]>(
+        JavaTestRunnerDelegateCommands.RESOLVE_MERGED_JUNIT_ARGUMENTS, JSON.stringify(requests),
+    );
+    if (!responses) {
+        return testContexts;
+    }
+
+    const result: ILaunchArgumentContext[] = testContexts.filter((testContext: ILaunchArgumentContext) => !contexts.includes(testContext));
+    for (const response of responses) {
+        const projectNames: string[] | undefined = response.body?.projectNames;
+        if (!projectNames?.length) {
+            continue;
+        }
+        const mergedContexts: ILaunchArgumentContext[] = projectNames.map((projectName: string) => {
+            return contexts.find((testContext: ILaunchArgumentContext) => testContext.projectName === projectName);
+        }).filter(Boolean) as ILaunchArgumentContext[];
+        if (mergedContexts.length !== projectNames.length) {
+            continue;
+        }
+        const mergedContext: ILaunchArgumentContext = {
+            projectName: projectNames[0],
+            kind: mergedContexts[0].kind,
+            testItems: mergedContexts.flatMap((testContext: ILaunchArgumentContext) => testContext.testItems),
+        };
+        prefetchedLaunchArguments.set(JSON.stringify(getLaunchArgumentRequest(mergedContext)), Promise.resolve(response));
+        result.push(mergedContext);
+        for (const testContext of mergedContexts) {
+            contexts.splice(contexts.indexOf(testContext), 1);
+        }
+    }
+    // the contexts whose arguments failed to resolve are launched as they are, to report the errors
+    return [...result, ...contexts];
+}
+
+/**
+ * Discard the launch arguments which were prefetched but not used.
+ */
+export function clearPrefetchedLaunchArguments(): void {
+    prefetchedLaunchArguments.clear();
+}
+
 async function getLaunchArguments(testContext: IRunTestContext): Promise<IJUnitLaunchArguments> {
+    const request: ILaunchArgumentRequest = getLaunchArgumentRequest(testContext);
+    if (request.uniqueId) {
+        sendInfo('', { runJunitInvocation: 'true' });
+    }
+
+    return await resolveJUnitLaunchArguments(request);
+}
+
+/**
+ * Get the launch arguments to run the tests with the JUnit Platform launcher of the bundled test runner. Only the
+ * classpath of the project is resolved, the tests are passed by the runner.
+ */
+async function getJUnitPlatformLaunchArguments(testContext: IRunTestContext): Promise<IJUnitLaunchArguments> {
+    return await resolveJUnitLaunchArguments({
+        projectName: testContext.projectName,
+        testLevel: TestLevel.Project,
+        testKind: testContext.kind,
+        testNames: [],
+        testHandles: [],
+        uniqueId: undefined,
+        launcher: 'junit-platform',
+    });
+}
+
+function getLaunchArgumentRequest(testContext: ILaunchArgumentContext, allowContainerLevel: boolean = true): ILaunchArgumentRequest {
+    const containerLevelRequest: ILaunchArgumentRequest | undefined = allowContainerLevel ? getContainerLevelRequest(testContext) : undefined;
+    if (containerLevelRequest) {
+        return containerLevelRequest;
+    }
+
     const testLevel: TestLevel | undefined = dataCache.get(testContext.testItems[0])?.testLevel;
     if (testLevel === undefined) {
         const error: Error = new Error('Failed to get the required metadata to run');
@@ -87,21 +260,75 @@ async function getLaunchArguments(testContext: IRunTestContext): Promise<IJUnitL
     const uniqueId: string | undefined = testContext.testItems.length === 1 ?
         dataCache.get(testContext.testItems[0])?.uniqueId : undefined;
 
-    if (uniqueId) {
-        sendInfo('', { runJunitInvocation: 'true' });
+    return {
+        projectName: testContext.projectName,
+        testLevel,
+        testKind: testContext.kind,
+        testNames: getTestNames(testContext),
+        testHandles: getTestHandles(testContext),
+        uniqueId,
+    };
+}
+
+/**
+ * Get the request to run whole packages, or the whole project, when the test classes of the context cover them,
+ * so the tests are discovered from the package names in the test JVM instead of passing every class name.
+ * The JUnit Platform selects the sub packages of a package as well, so a package is only run as a whole when
+ * all its sub packages are covered too.
+ */
+function getContainerLevelRequest(testContext: ILaunchArgumentContext): ILaunchArgumentRequest | undefined {
+    if (testContext.kind !== TestKind.JUnit5 && testContext.kind !== TestKind.JUnit6) {
+        return undefined;
     }
 
-    return await resolveJUnitLaunchArguments(
-        testContext.projectName,
-        testLevel,
-        testContext.kind,
-        getTestNames(testContext),
-        getTestHandles(testContext),
-        uniqueId
-    );
+    // package item -> number of its classes in the context
+    const coveredPackages: Map<TestItem, number> = new Map();
+    for (const item of testContext.testItems) {
+        const data: ITestItemData | undefined = dataCache.get(item);
+        const packageItem: TestItem | undefined = item.parent;
+        if (data?.testLevel !== TestLevel.Class || data.uniqueId || data.projectName !== testContext.projectName
+            || !packageItem || dataCache.get(packageItem)?.testLevel !== TestLevel.Package) {
+            return undefined;
+        }
+        coveredPackages.set(packageItem, (coveredPackages.get(packageItem) ?? 0) + 1);
+    }
+
+    const projectItem: TestItem | undefined = coveredPackages.keys().next().value?.parent;
+    if (!projectItem) {
+        return undefined;
+    }
+    const packageNames: string[] = [];
+    for (const [packageItem, classCount] of coveredPackages) {
+        const packageName: string | undefined = dataCache.get(packageItem)?.fullName;
+        // the default package cannot be selected without selecting all the packages
+        if (!packageName || packageItem.parent !== projectItem || packageItem.children.size !== classCount) {
+            return undefined;
+        }
+        packageNames.push(packageName);
+    }
+
+    const uncoveredPackageNames: string[] = [];
+    projectItem.children.forEach((packageItem: TestItem) => {
+        if (!coveredPackages.has(packageItem)) {
+            uncoveredPackageNames.push(dataCache.get(packageItem)?.fullName ?? '');
+        }
+    });
+    if (uncoveredPackageNames.some((packageName: string) => packageNames.some((name: string) => packageName.startsWith(`${name}.`)))) {
+        return undefined;
+    }
+    const isWholeProject: boolean = uncoveredPackageNames.length === 0;
+
+    return {
+        projectName: testContext.projectName,
+        testLevel: isWholeProject ? TestLevel.Project : TestLevel.Package,
+        testKind: testContext.kind,
+        testNames: isWholeProject ? [] : packageNames,
+        testHandles: [],
+        uniqueId: undefined,
+    };
 }
 
-function getTestNames(testContext: IRunTestContext): string[] {
+function getTestNames(testContext: ILaunchArgumentContext): string[] {
     if (testContext.kind === TestKind.TestNG) {
         return testContext.testItems.map((item: TestItem) => {
             return dataCache.get(item)?.fullName;
@@ -119,7 +346,7 @@ function getTestNames(testContext: IRunTestContext): string[] {
     }).filter(Boolean) as string[];
 }
 
-function getTestHandles(testContext: IRunTestContext): string[] {
+function getTestHandles(testContext: ILaunchArgumentContext): string[] {
     if (dataCache.get(testContext.testItems[0])?.testLevel !== TestLevel.Class ||
         testContext.testItems.length < 2) {
         return [];
@@ -136,18 +363,16 @@ function getTestHandles(testContext: IRunTestContext): string[] {
     return handles as string[];
 }
 
-async function resolveJUnitLaunchArguments(projectName: string, testLevel: TestLevel, testKind: TestKind,
-    testNames: string[], testHandles: string[], uniqueId: string | undefined): Promise<IJUnitLaunchArguments> {
-    const argument: Response<IJUnitLaunchArguments> | undefined = await executeJavaLanguageServerCommand<Response<IJUnitLaunchArguments>>(
-        JavaTestRunnerDelegateCommands.RESOLVE_JUNIT_ARGUMENT, JSON.stringify({
-            projectName,
-            testLevel,
-            testKind,
-            testNames,
-            testHandles,
-            uniqueId
-        }),
-    );
+async function resolveJUnitLaunchArguments(request: ILaunchArgumentRequest): Promise<IJUnitLaunchArguments> {
+    const serializedRequest: string = JSON.stringify(request);
+    const prefetched: Promise<Response<IJUnitLaunchArguments> | undefined> | undefined = prefetchedLaunchArguments.get(serializedRequest);
+    prefetchedLaunchArguments.delete(serializedRequest);
+    let argument: Response<IJUnitLaunchArguments> | undefined = prefetched ? await prefetched : undefined;
+    if (!argument) {
+        argument = await executeJavaLanguageServerCommand<Response<IJUnitLaunchArguments>>(
+            JavaTestRunnerDelegateCommands.RESOLVE_JUNIT_ARGUMENT, serializedRequest,
+        );
+    }
 
     if (!argument?.body || argument.errorMessage) {
         const error: Error = new Error(argument?.errorMessage || 'Failed to parse the JUnit launch arguments');
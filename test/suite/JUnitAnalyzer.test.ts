@@ -664,4 +664,43 @@ org.opentest4j.TestAbortedException: aborted
         sinon.assert.calledOnceWithExactly(skippedSpy, suiteItem);
     });
 
+    test("test merged run of two projects", () => {
+        const firstItem = generateTestItem(testController, 'projA@junit5.FirstTest#test()', TestKind.JUnit5);
+        const secondItem = generateTestItem(testController, 'projB@junit5.SecondTest#test()', TestKind.JUnit5);
+        const testRunRequest = new TestRunRequest([firstItem, secondItem], []);
+        const testRun = testController.createTestRun(testRunRequest);
+        const passedSpy = sinon.spy(testRun, 'passed');
+        const failedSpy = sinon.spy(testRun, 'failed');
+        const testRunnerOutput = `%TESTC  2 v2
+%TSTTREE2,junit5.FirstTest,true,1,false,1,FirstTest,,[engine:junit-jupiter]/[class:junit5.FirstTest]
+%TSTTREE3,test(junit5.FirstTest),false,1,false,2,test(),,[engine:junit-jupiter]/[class:junit5.FirstTest]/[method:test()]
+%TSTTREE4,junit5.SecondTest,true,1,false,1,SecondTest,,[engine:junit-jupiter]/[class:junit5.SecondTest]
+%TSTTREE5,test(junit5.SecondTest),false,1,false,4,test(),,[engine:junit-jupiter]/[class:junit5.SecondTest]/[method:test()]
+%TESTS  3,test(junit5.FirstTest)
+%TESTE  3,test(junit5.FirstTest)
+%TESTS  5,test(junit5.SecondTest)
+%FAILED 5,test(junit5.SecondTest)
+%TRACES
+java.lang.AssertionError
+        at junit5.SecondTest.test(SecondTest.java:10)
+%TRACEE
+%TESTE  5,test(junit5.SecondTest)
+%RUNTIME20`;
+        // the merged run is named after the first project
+        const runnerContext: IRunTestContext = {
+            isDebug: false,
+            kind: TestKind.JUnit5,
+            projectName: 'projA',
+            testItems: [firstItem, secondItem],
+            testRun: testRun,
+            workspaceFolder: workspace.workspaceFolders?.[0]!,
+        };
+
+        const analyzer = new JUnitRunnerResultAnalyzer(runnerContext);
+        analyzer.analyzeData(testRunnerOutput);
+
+        sinon.assert.calledWith(passedSpy, firstItem, sinon.match.number);
+        sinon.assert.calledWith(failedSpy, secondItem, sinon.match.any);
+    });
+
 });
@@ -5,8 +5,9 @@
 
 import * as assert from 'assert';
 import * as sinon from 'sinon';
-import { TestController, TestMessage, TestRunRequest, tests, workspace } from 'vscode';
+import { Location, TestController, TestMessage, TestRunRequest, tests, workspace } from 'vscode';
 import { TestNGRunnerResultAnalyzer } from '../../src/runners/testngRunner/TestNGRunnerResultAnalyzer';
+import { JUnitPlatformRunner } from '../../src/runners/junitPlatformRunner/JUnitPlatformRunner';
 import { IRunTestContext, TestKind, TestLevel } from '../../src/java-test-runner.api';
 import { generateTestItem } from './utils';
 import { dataCache } from '../../src/controller/testItemDataCache';
@@ -147,4 +148,131 @@ suite('TestNG Runner Analyzer Tests', () => {
         sinon.assert.calledWith(erroredSpy, testItem, sinon.match.instanceOf(TestMessage));
         assert.strictEqual(erroredSpy.calledWith(classItem), false);
     });
+
+    test('shows the message of a failure whose referred trace is not received', () => {
+        const testItem = generateTestItem(testController, 'testng@example.SampleTest#test', TestKind.TestNG);
+        const testRun = testController.createTestRun(new TestRunRequest([testItem], []));
+        const failedSpy = sinon.spy(testRun, 'failed');
+        const runnerContext: IRunTestContext = {
+            isDebug: false,
+            kind: TestKind.TestNG,
+            projectName: 'testng',
+            testItems: [testItem],
+            testRun,
+            workspaceFolder: workspace.workspaceFolders?.[0]!,
+        };
+        const analyzer = new TestNGRunnerResultAnalyzer(runnerContext);
+
+        analyzer.processData(JSON.stringify({
+            name: 'testFailed',
+            attributes: {
+                name: 'example.SampleTest#test',
+                message: 'expected [1] but found [2]',
+                traceRef: 'unknown',
+            },
+        }));
+
+        sinon.assert.calledOnce(failedSpy);
+        const testMessages = failedSpy.firstCall.args[1] as TestMessage[];
+        assert.strictEqual(testMessages.length, 1);
+        assert.strictEqual(testMessages[0].message, 'expected [1] but found [2]');
+    });
+
+    test('attaches invocation summaries to the test item', () => {
+        const testItem = generateTestItem(testController, 'testng@example.SampleTest#test', TestKind.TestNG);
+        const testRun = testController.createTestRun(new TestRunRequest([testItem], []));
+        const appendOutputSpy = sinon.spy(testRun, 'appendOutput');
+        const runnerContext: IRunTestContext = {
+            isDebug: false,
+            kind: TestKind.TestNG,
+            projectName: 'testng',
+            testItems: [testItem],
+            testRun,
+            workspaceFolder: workspace.workspaceFolders?.[0]!,
+        };
+        const analyzer = new TestNGRunnerResultAnalyzer(runnerContext);
+
+        analyzer.processData(JSON.stringify({
+            name: 'testInvocationSummary',
+            attributes: {
+                name: 'example.SampleTest#test',
+                passed: '998',
+                failed: '1',
+                skipped: '1',
+                duration: '42',
+            },
+        }));
+
+        sinon.assert.calledOnce(appendOutputSpy);
+        sinon.assert.calledWith(appendOutputSpy,
+            'example.SampleTest#test: 998 passed, 1 failed, 1 skipped, 42ms in total\r\n',
+            sinon.match.instanceOf(Location), testItem);
+    });
+
+    test('matches the interleaved events of parallel tests by their names', () => {
+        const firstItem = generateTestItem(testController, 'junit@example.SampleTest#first()', TestKind.JUnit5);
+        const secondItem = generateTestItem(testController, 'junit@example.SampleTest#second()', TestKind.JUnit5);
+        const thirdItem = generateTestItem(testController, 'junit@example.SampleTest#third()', TestKind.JUnit5);
+        const testRun = testController.createTestRun(new TestRunRequest([firstItem, secondItem, thirdItem], []));
+        const passedSpy = sinon.spy(testRun, 'passed');
+        const failedSpy = sinon.spy(testRun, 'failed');
+        const skippedSpy = sinon.spy(testRun, 'skipped');
+        const runnerContext: IRunTestContext = {
+            isDebug: false,
+            kind: TestKind.JUnit5,
+            projectName: 'junit',
+            testItems: [firstItem, secondItem, thirdItem],
+            testRun,
+            workspaceFolder: workspace.workspaceFolders?.[0]!,
+        };
+        const analyzer = new TestNGRunnerResultAnalyzer(runnerContext);
+
+        analyzer.analyzeData([
+            '@@<TestRunner-{"name":"testStarted","attributes":{"name":"example.SampleTest#first()"}}-TestRunner>',
+            '@@<TestRunner-{"name":"testStarted","attributes":{"name":"example.SampleTest#second()"}}-TestRunner>',
+            '@@<TestRunner-{"name":"testFailed","attributes":{"name":"example.SampleTest#first()","trace":"java.lang.AssertionError"}}-TestRunner>',
+            '@@<TestRunner-{"name":"testFinished","attributes":{"name":"example.SampleTest#second()","duration":"3"}}-TestRunner>',
+            '@@<TestRunner-{"name":"testFinished","attributes":{"name":"example.SampleTest#first()","duration":"5"}}-TestRunner>',
+            '@@<TestRunner-{"name":"testIgnored","attributes":{"name":"example.SampleTest#third()"}}-TestRunner>',
+        ].join('\n'));
+
+        sinon.assert.calledWith(passedSpy, secondItem);
+        assert.strictEqual(passedSpy.calledWith(firstItem), false);
+        sinon.assert.calledWith(failedSpy, firstItem);
+        sinon.assert.calledOnce(skippedSpy);
+        sinon.assert.calledWith(skippedSpy, thirdItem);
+    });
+
+    test('passes the selected classes and methods to the JUnit Platform launcher', () => {
+        const classItem = testController.createTestItem('junit@example.SampleTest', 'SampleTest');
+        dataCache.set(classItem, {
+            jdtHandler: '',
+            fullName: 'example.SampleTest',
+            projectName: 'junit',
+            testLevel: TestLevel.Class,
+            testKind: TestKind.JUnit5,
+        });
+        const methodItem = generateTestItem(testController, 'junit@example.OtherTest#test()', TestKind.JUnit5);
+        const invocationItem = testController.createTestItem('junit@example.OtherTest#test()[1]', '[1]');
+        dataCache.set(invocationItem, {
+            jdtHandler: '',
+            fullName: 'example.OtherTest#test()[1]',
+            projectName: 'junit',
+            testLevel: TestLevel.Invocation,
+            testKind: TestKind.JUnit5,
+        });
+        methodItem.children.add(invocationItem);
+        const testRun = testController.createTestRun(new TestRunRequest([classItem, methodItem, invocationItem], []));
+        const runner = new JUnitPlatformRunner({
+            isDebug: false,
+            kind: TestKind.JUnit5,
+            projectName: 'junit',
+            testItems: [classItem, methodItem, invocationItem],
+            testRun,
+            workspaceFolder: workspace.workspaceFolders?.[0]!,
+        });
+
+        assert.deepStrictEqual(runner.getRunnerCommandParams(),
+            ['junit-platform', 'example.SampleTest', 'example.OtherTest#test()']);
+    });
 });
@@ -0,0 +1,50 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT license.
+
+'use strict';
+
+import * as assert from 'assert';
+import * as sinon from 'sinon';
+import { commands, Location } from 'vscode';
+import { JavaTestRunnerCommands } from '../../src/constants';
+import { disposeTestLocations, findTestLocation } from '../../src/runners/utils';
+
+const LOCATION: any = {
+    uri: 'file:///project/src/foo/FooTest.java',
+    range: { start: { line: 1, character: 0 }, end: { line: 1, character: 4 } },
+};
+
+suite('Runner Utils Tests', () => {
+
+    let executeCommand: sinon.SinonStub;
+
+    setup(() => {
+        executeCommand = sinon.stub(commands, 'executeCommand').callsFake(async (_command: string, serverCommand: string, fullNames: any) =>
+            serverCommand === JavaTestRunnerCommands.FIND_TEST_LOCATIONS ? fullNames.map(() => LOCATION) : undefined);
+    });
+
+    teardown(() => {
+        executeCommand.restore();
+    });
+
+    test('resolves the locations of each run together and disposes a run after its locations are resolved', async () => {
+        const first: Promise<Location | undefined> = findTestLocation('project@foo.FooTest#a', 'run1');
+        const second: Promise<Location | undefined> = findTestLocation('project@foo.FooTest#b', 'run1');
+        const other: Promise<Location | undefined> = findTestLocation('project@foo.FooTest#a', 'run2');
+        disposeTestLocations('run1');
+        sinon.assert.notCalled(executeCommand);
+
+        const locations: Array<Location | undefined> = await Promise.all([first, second, other]);
+        assert.ok(locations.every((location: Location | undefined) => location?.uri.fsPath.endsWith('FooTest.java')));
+        assert.deepStrictEqual(executeCommand.getCalls().map((call: sinon.SinonSpyCall) => call.args.slice(1)), [
+            [JavaTestRunnerCommands.FIND_TEST_LOCATIONS, ['project@foo.FooTest#a', 'project@foo.FooTest#b'], 'run1'],
+            [JavaTestRunnerCommands.FIND_TEST_LOCATIONS, ['project@foo.FooTest#a'], 'run2'],
+            [JavaTestRunnerCommands.DISPOSE_TEST_LOCATIONS, 'run1'],
+        ]);
+    });
+
+    test('disposes a run without pending locations at once', () => {
+        disposeTestLocations('run3');
+        sinon.assert.calledOnceWithExactly(executeCommand, sinon.match.string, JavaTestRunnerCommands.DISPOSE_TEST_LOCATIONS, 'run3');
+    });
+});